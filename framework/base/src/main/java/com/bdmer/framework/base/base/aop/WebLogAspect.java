@@ -1,6 +1,8 @@
 package com.bdmer.framework.base.base.aop;
 
 import com.alibaba.fastjson.JSON;
+import com.bdmer.framework.base.dto.CommonResponse;
+import com.bdmer.framework.base.dto.ProjectedList;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.Signature;
@@ -9,6 +11,11 @@ import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import java.util.Arrays;
 
 /**
  * Controller日志切面:输出Controller层日志
@@ -34,8 +41,10 @@ public class WebLogAspect {
     @Before(POINT_CUT)
     public void before(JoinPoint joinPoint) {
         try {
-            // 获取目标方法的参数信息
-            Object[] objs = joinPoint.getArgs();
+            // 获取目标方法的参数信息 - 请求、响应对象不能序列化（会读取请求体），不记录
+            Object[] objs = Arrays.stream(joinPoint.getArgs())
+                    .filter(arg -> !(arg instanceof ServletRequest) && !(arg instanceof ServletResponse))
+                    .toArray();
             // 获取调用信息的签名
             Signature signature = joinPoint.getSignature();
             String interfaceName = signature.getDeclaringTypeName() + "." + signature.getName();
@@ -57,6 +66,20 @@ public class WebLogAspect {
             Signature signature = joinPoint.getSignature();
             String interfaceName = signature.getDeclaringTypeName() + "." + signature.getName();
 
+            // 异步接口返回时结果还未完成，不序列化
+            if (result instanceof DeferredResult) {
+                log.info("[WEB拦截器] 结束调用 - 接口 :{}, 异步返回", interfaceName);
+                return;
+            }
+
+            // 按需返回字段的结果只记录行数，序列化会为每一行再构建一次Map
+            if (result instanceof CommonResponse && ((CommonResponse) result).getData() instanceof ProjectedList) {
+                CommonResponse response = (CommonResponse) result;
+                log.info("[WEB拦截器] 结束调用 - 接口 :{}, 返回结果：code:{}, subCode:{}, 行数:{}", interfaceName,
+                        response.getCode(), response.getSubCode(), ((ProjectedList) response.getData()).size());
+                return;
+            }
+
             log.info("[WEB拦截器] 结束调用 - 接口 :{}, 返回结果：{}", interfaceName, JSON.toJSONString(result));
         }catch (Exception e) {
             log.error("[WEB拦截器] WebLoggerAspect - e:", e);
@@ -1,24 +1,33 @@
 package com.bdmer.framework.base.base.config;
 
+import com.bdmer.framework.base.common.util.Util;
 import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.tomcat.jdbc.pool.PoolConfiguration;
+import org.apache.tomcat.jdbc.pool.PoolProperties;
 import org.mybatis.spring.SqlSessionFactoryBean;
 import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceBuilder;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
 
 /**
  * 主库数据源配置（非切库组件）
  * 本类用于设置非切库访问DB时的关联配置
  * spring.datasource是指application.properties文件里的数据源连接配置。
  * classpath:/mapper/base/*Mapper.xml是指非切库DAO类对应的Mapper配置扫描路径。
+ * spring.datasource.replica.urls配置了从库时，dataSource为读写分离数据源，见RoutingDataSource。
  *
  * @author 龚德浪
  * @since 2018年7月16日 下午2:12:37
@@ -33,12 +42,68 @@ public class DataSourceConfiguration {
      *
      * @return 数据源对象
      */
-    @Bean(name = "dataSource")
+    @Bean(name = "primaryDataSource")
     @ConfigurationProperties(prefix = "spring.datasource")
-    public DataSource dataSource() {
+    public DataSource primaryDataSource() {
         return DataSourceBuilder.create().build();
     }
 
+    /**
+     * 从库配置
+     *
+     * @return 从库配置
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.replica")
+    public ReplicaDataSourceProperties replicaDataSourceProperties() {
+        return new ReplicaDataSourceProperties();
+    }
+
+    /**
+     * 数据源 - 配置了从库时为读写分离数据源，否则为主库
+     *
+     * @param primaryDataSource 主库
+     * @param properties        从库配置
+     * @return 数据源对象
+     */
+    @Primary
+    @Bean(name = "dataSource")
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource, ReplicaDataSourceProperties properties) {
+        if (Util.isNull(properties.getUrls())) {
+            return primaryDataSource;
+        }
+
+        List<DataSource> replicaList = new ArrayList<>();
+        for (String url : properties.getUrls()) {
+            replicaList.add(this.replicaDataSource(primaryDataSource, properties, url.trim()));
+        }
+
+        return new RoutingDataSource(primaryDataSource, replicaList, properties.getStickyMillis());
+    }
+
+    /**
+     * 从库连接池，复制主库的连接池参数
+     */
+    private DataSource replicaDataSource(DataSource primaryDataSource, ReplicaDataSourceProperties properties, String url) {
+        if (!(primaryDataSource instanceof org.apache.tomcat.jdbc.pool.DataSource)) {
+            return DataSourceBuilder.create().url(url).username(properties.getUsername()).password(properties.getPassword()).build();
+        }
+
+        PoolConfiguration primaryProperties = ((org.apache.tomcat.jdbc.pool.DataSource) primaryDataSource).getPoolProperties();
+        PoolProperties poolProperties = new PoolProperties();
+        BeanUtils.copyProperties(primaryProperties, poolProperties);
+        poolProperties.setDbProperties(new Properties());
+        poolProperties.getDbProperties().putAll(primaryProperties.getDbProperties());
+        poolProperties.setUrl(url);
+        poolProperties.setName(url);
+        if (Util.isString(properties.getUsername())) {
+            poolProperties.setUsername(properties.getUsername());
+            poolProperties.setPassword(properties.getPassword());
+        }
+
+        return new org.apache.tomcat.jdbc.pool.DataSource(poolProperties);
+    }
+
     /**
      * 设置session工厂
      *
@@ -0,0 +1,31 @@
+package com.bdmer.framework.base.base.config;
+
+import com.bdmer.framework.base.common.constant.MysqlConstant;
+import lombok.Data;
+
+/**
+ * 从库配置 - spring.datasource.replica
+ * 描述：连接池参数、驱动与主库（spring.datasource）一致，只需要配置连接串，用户名、密码不配置时与主库一致
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+@Data
+public class ReplicaDataSourceProperties {
+    /**
+     * 从库连接串，逗号分隔，不配置时不做读写分离
+     */
+    private String[] urls;
+    /**
+     * 从库用户名
+     */
+    private String username;
+    /**
+     * 从库密码
+     */
+    private String password;
+    /**
+     * 写入后使用主库读取的时间（毫秒），0为不保证读到自己的写入
+     */
+    private Long stickyMillis = MysqlConstant.ROUTING_STICKY_MILLIS;
+}
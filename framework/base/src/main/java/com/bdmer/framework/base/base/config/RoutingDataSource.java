@@ -0,0 +1,394 @@
+package com.bdmer.framework.base.base.config;
+
+import com.bdmer.framework.base.common.constant.MysqlConstant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpSession;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 读写分离数据源
+ * 描述：只有在read(...)中获取的连接才会路由到从库，其余（写入、事务、flyway等）都使用主库。
+ * 从库按在途连接数最少的选择，连接数相同时轮询；从库获取连接失败时依次尝试其他从库，最后使用主库。
+ * 同一个会话（有HttpSession时按session，否则按本次请求）在write(...)中写入后stickyMillis内的读取仍使用主库，保证读到自己的写入；
+ * 只有write(...)会记录写入，其余主库连接（事务中的读取、flyway等）不会让会话粘到主库。
+ * DbExecutor中执行的异步方法沿用提交时的sessionId（见withSession），请求结束后写入仍会记录到会话。
+ * 注意：有事务时连接已经绑定到线程上，不会再经过本数据源，事务内的读取一定在主库
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+@Slf4j
+public class RoutingDataSource extends AbstractDataSource {
+
+    /**
+     * 当前线程是否为读取
+     */
+    private static final ThreadLocal<Boolean> READ_HOLDER = new ThreadLocal<>();
+
+    /**
+     * 本次请求最后一次写入时间的request attribute名
+     */
+    private static final String LAST_WRITE_ATTRIBUTE = RoutingDataSource.class.getName() + ".lastWrite";
+
+    /**
+     * 异步任务提交时的sessionId，""表示没有session；未设置时从当前请求获取
+     */
+    private static final ThreadLocal<String> SESSION_HOLDER = new ThreadLocal<>();
+
+    private final DataSource primary;
+
+    private final List<DataSource> replicaList;
+
+    /**
+     * 每个从库的在途连接数
+     */
+    private final AtomicInteger[] outstandingCounts;
+
+    private final long stickyMillis;
+
+    /**
+     * sessionId - 最后一次写入时间，读取时过期的删除；超过ROUTING_SESSION_SIZE时先清理过期的，仍超过再删除最早的
+     */
+    private static final ConcurrentHashMap<String, Long> LAST_WRITE_MAP = new ConcurrentHashMap<>();
+
+    /**
+     * 所有实例中最大的stickyMillis，清理LAST_WRITE_MAP时以此判断过期
+     */
+    private static final AtomicLong MAX_STICKY_MILLIS = new AtomicLong();
+
+    /**
+     * 是否正在清理LAST_WRITE_MAP，同一时间只有一个线程清理
+     */
+    private static final AtomicBoolean EVICTING = new AtomicBoolean();
+
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    private final AtomicLong primaryCount = new AtomicLong();
+    private final AtomicLong replicaCount = new AtomicLong();
+    private final AtomicLong stickyCount = new AtomicLong();
+    private final AtomicLong fallbackCount = new AtomicLong();
+
+    /**
+     * @param primary      主库
+     * @param replicaList  从库
+     * @param stickyMillis 写入后使用主库读取的时间（毫秒）
+     */
+    public RoutingDataSource(DataSource primary, List<DataSource> replicaList, long stickyMillis) {
+        this.primary = Objects.requireNonNull(primary);
+        this.replicaList = new ArrayList<>(replicaList);
+        this.outstandingCounts = new AtomicInteger[this.replicaList.size()];
+        for (int i = 0; i < this.outstandingCounts.length; i++) {
+            this.outstandingCounts[i] = new AtomicInteger();
+        }
+        this.stickyMillis = stickyMillis;
+        MAX_STICKY_MILLIS.accumulateAndGet(stickyMillis, Math::max);
+    }
+
+    /**
+     * 以读取方式执行，其中获取的连接路由到从库
+     *
+     * @param supplier 执行内容
+     * @param <T>      返回类型
+     * @return 执行结果
+     */
+    public static <T> T read(Supplier<T> supplier) {
+        Boolean old = READ_HOLDER.get();
+        READ_HOLDER.set(Boolean.TRUE);
+        try {
+            return supplier.get();
+        } finally {
+            if (Objects.isNull(old)) {
+                READ_HOLDER.remove();
+            } else {
+                READ_HOLDER.set(old);
+            }
+        }
+    }
+
+    /**
+     * 以写入方式执行，结束后记录当前会话的写入时间
+     *
+     * @param supplier 执行内容
+     * @param <T>      返回类型
+     * @return 执行结果
+     */
+    public static <T> T write(Supplier<T> supplier) {
+        try {
+            return supplier.get();
+        } finally {
+            markWrite();
+        }
+    }
+
+    /**
+     * 以指定会话执行，用于异步任务沿用提交时的会话
+     * 描述：请求结束后HttpServletRequest可能已被回收，不能再从中获取session，需要在提交时取得sessionId
+     *
+     * @param sessionId 提交时的sessionId，可以为null
+     * @param supplier  执行内容
+     * @param <T>       返回类型
+     * @return 执行结果
+     */
+    public static <T> T withSession(String sessionId, Supplier<T> supplier) {
+        String old = SESSION_HOLDER.get();
+        SESSION_HOLDER.set(Objects.isNull(sessionId) ? "" : sessionId);
+        try {
+            return supplier.get();
+        } finally {
+            if (Objects.isNull(old)) {
+                SESSION_HOLDER.remove();
+            } else {
+                SESSION_HOLDER.set(old);
+            }
+        }
+    }
+
+    /**
+     * 获取当前会话的sessionId
+     * 描述：在withSession中时返回指定的sessionId，否则从当前请求获取，请求已结束时为null
+     *
+     * @return sessionId，没有session时为null
+     */
+    public static String currentSessionId() {
+        String sessionId = SESSION_HOLDER.get();
+        if (Objects.nonNull(sessionId)) {
+            return sessionId.isEmpty() ? null : sessionId;
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+        try {
+            HttpSession session = ((ServletRequestAttributes) attributes).getRequest().getSession(false);
+            return Objects.isNull(session) ? null : session.getId();
+        } catch (IllegalStateException e) {
+            // 请求已结束
+            return null;
+        }
+    }
+
+    /**
+     * 当前线程是否为读取
+     *
+     * @return 是否为读取
+     */
+    public static boolean isRead() {
+        return Boolean.TRUE.equals(READ_HOLDER.get());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return this.route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return this.route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    public DataSource getPrimary() {
+        return this.primary;
+    }
+
+    public List<DataSource> getReplicaList() {
+        return this.replicaList;
+    }
+
+    /**
+     * 获取路由统计
+     *
+     * @return 统计名 - 值
+     */
+    public Map<String, Object> getStat() {
+        int[] outstanding = new int[this.outstandingCounts.length];
+        for (int i = 0; i < outstanding.length; i++) {
+            outstanding[i] = this.outstandingCounts[i].get();
+        }
+
+        Map<String, Object> stat = new LinkedHashMap<>();
+        stat.put("replicaSize", this.replicaList.size());
+        stat.put("outstanding", outstanding);
+        stat.put("primaryCount", this.primaryCount.get());
+        stat.put("replicaCount", this.replicaCount.get());
+        stat.put("stickyCount", this.stickyCount.get());
+        stat.put("fallbackCount", this.fallbackCount.get());
+        return stat;
+    }
+
+    private Connection route(ConnectionGetter getter) throws SQLException {
+        boolean read = isRead();
+        if (!read || this.replicaList.isEmpty() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            this.primaryCount.incrementAndGet();
+            return getter.get(this.primary);
+        }
+
+        if (this.isSticky()) {
+            this.stickyCount.incrementAndGet();
+            return getter.get(this.primary);
+        }
+
+        // 在途连接数最少的从库优先，失败时依次尝试下一个
+        boolean[] tried = new boolean[this.replicaList.size()];
+        for (int n = 0; n < tried.length; n++) {
+            int index = this.leastOutstanding(tried);
+            tried[index] = true;
+            try {
+                Connection connection = getter.get(this.replicaList.get(index));
+                this.replicaCount.incrementAndGet();
+                return this.track(connection, this.outstandingCounts[index]);
+            } catch (SQLException e) {
+                log.warn("[RoutingDataSource] 从库{}获取连接失败 e:{}", index, e.getMessage());
+            }
+        }
+
+        this.fallbackCount.incrementAndGet();
+        return getter.get(this.primary);
+    }
+
+    /**
+     * 未尝试过的从库中在途连接数最少的，相同时从轮询位置开始取第一个
+     */
+    private int leastOutstanding(boolean[] tried) {
+        int size = this.replicaList.size();
+        int start = Math.floorMod(this.roundRobin.getAndIncrement(), size);
+        int best = -1;
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            if (tried[index]) {
+                continue;
+            }
+            if (best < 0 || this.outstandingCounts[index].get() < this.outstandingCounts[best].get()) {
+                best = index;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * 包装从库连接，关闭时在途连接数减1
+     */
+    private Connection track(Connection connection, AtomicInteger outstanding) {
+        outstanding.incrementAndGet();
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class[]{Connection.class}, (proxy, method, args) -> {
+            if ("close".equals(method.getName()) && closed.compareAndSet(false, true)) {
+                outstanding.decrementAndGet();
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    /**
+     * 记录当前会话的写入时间
+     * 描述：请求已结束时不能再设置request attribute，但仍记录到会话
+     */
+    private static void markWrite() {
+        Long now = System.currentTimeMillis();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (Objects.nonNull(attributes)) {
+            try {
+                attributes.setAttribute(LAST_WRITE_ATTRIBUTE, now, RequestAttributes.SCOPE_REQUEST);
+            } catch (IllegalStateException e) {
+                // 请求已结束，只记录到会话
+            }
+        }
+
+        String sessionId = currentSessionId();
+        if (Objects.isNull(sessionId)) {
+            return;
+        }
+        LAST_WRITE_MAP.put(sessionId, now);
+        if (LAST_WRITE_MAP.size() > MysqlConstant.ROUTING_SESSION_SIZE) {
+            evict(now);
+        }
+    }
+
+    /**
+     * 清理LAST_WRITE_MAP：先删除过期的，仍超过ROUTING_SESSION_SIZE时按写入时间删除最早的十分之一
+     */
+    private static void evict(long now) {
+        if (!EVICTING.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long maxStickyMillis = MAX_STICKY_MILLIS.get();
+            LAST_WRITE_MAP.entrySet().removeIf(entry -> now - entry.getValue() >= maxStickyMillis);
+            if (LAST_WRITE_MAP.size() <= MysqlConstant.ROUTING_SESSION_SIZE) {
+                return;
+            }
+            List<Map.Entry<String, Long>> entryList = new ArrayList<>(LAST_WRITE_MAP.entrySet());
+            entryList.sort(Map.Entry.comparingByValue());
+            int overflow = entryList.size() - MysqlConstant.ROUTING_SESSION_SIZE * 9 / 10;
+            for (int i = 0; i < overflow; i++) {
+                Map.Entry<String, Long> entry = entryList.get(i);
+                LAST_WRITE_MAP.remove(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            EVICTING.set(false);
+        }
+    }
+
+    /**
+     * 当前会话是否在写入后的stickyMillis内
+     */
+    private boolean isSticky() {
+        if (this.stickyMillis <= 0) {
+            return false;
+        }
+
+        Long lastWrite = null;
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (Objects.nonNull(attributes)) {
+            try {
+                lastWrite = (Long) attributes.getAttribute(LAST_WRITE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            } catch (IllegalStateException e) {
+                // 请求已结束，按会话判断
+            }
+        }
+        long now = System.currentTimeMillis();
+        if (Objects.isNull(lastWrite)) {
+            String sessionId = currentSessionId();
+            if (Objects.isNull(sessionId)) {
+                return false;
+            }
+            lastWrite = LAST_WRITE_MAP.get(sessionId);
+            // 过期的删除，期间被重新写入的不删除
+            if (Objects.nonNull(lastWrite) && now - lastWrite >= MAX_STICKY_MILLIS.get()) {
+                LAST_WRITE_MAP.remove(sessionId, lastWrite);
+            }
+        }
+
+        return Objects.nonNull(lastWrite) && now - lastWrite < this.stickyMillis;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionGetter {
+        Connection get(DataSource dataSource) throws SQLException;
+    }
+}
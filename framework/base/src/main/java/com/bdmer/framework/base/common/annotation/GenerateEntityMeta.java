@@ -0,0 +1,21 @@
+package com.bdmer.framework.base.common.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 编译时生成实体元数据
+ * 描述：EntityMetaProcessor为标注的实体在同一个包下生成"实体名Meta"类，实现EntityMeta，
+ * 运行时由EntityMetas按类名加载。实体需要有getter/setter（如lombok的@Data）
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.SOURCE)
+@Documented
+public @interface GenerateEntityMeta {
+}
@@ -0,0 +1,91 @@
+package com.bdmer.framework.base.common.cache;
+
+/**
+ * 访问频率估计（Count-Min Sketch）
+ * 描述：4行计数器，每个计数器最大15，估计值取4行中的最小值；
+ * 累计次数达到采样数后所有计数器减半，使旧的热点逐渐冷却。非线程安全，由调用方加锁
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+class FrequencySketch {
+
+    private static final int DEPTH = 4;
+
+    private static final int MAX_COUNT = 15;
+
+    private static final int[] SEEDS = {0x97CB3127, 0xB0B58F2B, 0x85EBCA6B, 0xC2B2AE35};
+
+    private final byte[] table;
+
+    private final int widthMask;
+
+    private final int sampleSize;
+
+    private int additions;
+
+    FrequencySketch(int maximumSize) {
+        int width = Integer.highestOneBit(Math.max(16, maximumSize) * 2 - 1);
+        this.table = new byte[DEPTH * width];
+        this.widthMask = width - 1;
+        this.sampleSize = Math.max(10, maximumSize * 10);
+    }
+
+    /**
+     * 估计访问次数
+     *
+     * @param key 键
+     * @return 访问次数，最大15
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < DEPTH; i++) {
+            frequency = Math.min(frequency, this.table[this.indexOf(hash, i)]);
+        }
+
+        return frequency;
+    }
+
+    /**
+     * 访问次数加1
+     *
+     * @param key 键
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = this.indexOf(hash, i);
+            if (this.table[index] < MAX_COUNT) {
+                this.table[index]++;
+                added = true;
+            }
+        }
+
+        if (added && ++this.additions >= this.sampleSize) {
+            this.reset();
+        }
+    }
+
+    /**
+     * 所有计数器减半
+     */
+    private void reset() {
+        for (int i = 0; i < this.table.length; i++) {
+            this.table[i] = (byte) (this.table[i] >>> 1);
+        }
+        this.additions /= 2;
+    }
+
+    private int indexOf(int hash, int row) {
+        int h = hash * SEEDS[row];
+        h ^= h >>> 16;
+        return row * (this.widthMask + 1) + (h & this.widthMask);
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
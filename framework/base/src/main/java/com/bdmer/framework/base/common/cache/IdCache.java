@@ -0,0 +1,69 @@
+package com.bdmer.framework.base.common.cache;
+
+/**
+ * 按id缓存实体
+ * 描述：ICommonCore.getIdCache返回的缓存，get、list(ids)先查缓存，写操作后删除对应id。
+ * 为避免“读到旧数据 - 另一个线程更新并删除缓存 - 把旧数据放入缓存”，查询前需要先取stamp，
+ * 期间该id被删除过时不放入。实现需要有过期时间，并且不能让调用方修改到缓存中的实体。
+ * 另外可以记录数据库中不存在的id（isAbsent、putAbsent），默认不记录
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+public interface IdCache<V> {
+
+    /**
+     * 获取
+     *
+     * @param id 实体id
+     * @return 实体，不存在返回null
+     */
+    V get(Long id);
+
+    /**
+     * 获取当前stamp，每次删除后增大
+     *
+     * @return stamp
+     */
+    long getStamp();
+
+    /**
+     * 放入，取stamp之后该id被删除过时不放入
+     *
+     * @param id    实体id
+     * @param value 实体
+     * @param stamp 查询数据库前获取的stamp
+     */
+    void put(Long id, V value, long stamp);
+
+    /**
+     * 是否已知数据库中不存在
+     *
+     * @param id 实体id
+     * @return 是否不存在
+     */
+    default boolean isAbsent(Long id) {
+        return false;
+    }
+
+    /**
+     * 记录数据库中不存在的id，取stamp之后该id被删除过时不记录
+     *
+     * @param id    实体id
+     * @param stamp 查询数据库前获取的stamp
+     */
+    default void putAbsent(Long id, long stamp) {
+    }
+
+    /**
+     * 删除，同时删除不存在的记录
+     *
+     * @param ids 实体ids
+     */
+    void invalidate(Long[] ids);
+
+    /**
+     * 清空
+     */
+    void invalidateAll();
+}
@@ -0,0 +1,179 @@
+package com.bdmer.framework.base.common.cache;
+
+import java.util.Arrays;
+
+/**
+ * 带过期时间的long集合
+ * 描述：开放寻址（线性探测）的两个long数组，不装箱，容量固定为最大数量的2倍以上的2的幂。
+ * 删除时把后面同一探测链上的元素前移，不使用墓碑。满了先清理过期的，仍然满则清空。不是线程安全的
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+class LongExpirySet {
+
+    private final int maximumSize;
+
+    private final long[] keys;
+
+    /**
+     * 过期时间，0为空槽
+     */
+    private final long[] expireAts;
+
+    private final int mask;
+
+    private int size;
+
+    LongExpirySet(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        this.maximumSize = maximumSize;
+        int capacity = Integer.highestOneBit(maximumSize) << 2;
+        this.keys = new long[capacity];
+        this.expireAts = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * 是否存在且未过期，已过期的顺便删除
+     *
+     * @param key 键
+     * @param now 当前时间
+     * @return 是否存在
+     */
+    boolean contains(long key, long now) {
+        int index = this.find(key);
+        if (index < 0) {
+            return false;
+        }
+        if (this.expireAts[index] <= now) {
+            this.removeAt(index);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * 添加，已存在时更新过期时间
+     *
+     * @param key      键
+     * @param now      当前时间
+     * @param expireAt 过期时间，需要大于now
+     */
+    void add(long key, long now, long expireAt) {
+        int index = this.find(key);
+        if (index >= 0) {
+            this.expireAts[index] = expireAt;
+            return;
+        }
+
+        if (this.size >= this.maximumSize) {
+            this.purge(now);
+            if (this.size >= this.maximumSize) {
+                this.clear();
+            }
+        }
+
+        index = this.indexOf(key);
+        while (this.expireAts[index] != 0) {
+            index = (index + 1) & this.mask;
+        }
+        this.keys[index] = key;
+        this.expireAts[index] = expireAt;
+        this.size++;
+    }
+
+    /**
+     * 删除
+     *
+     * @param key 键
+     */
+    void remove(long key) {
+        int index = this.find(key);
+        if (index >= 0) {
+            this.removeAt(index);
+        }
+    }
+
+    void clear() {
+        Arrays.fill(this.expireAts, 0L);
+        this.size = 0;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    private int indexOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & this.mask;
+    }
+
+    private int find(long key) {
+        int index = this.indexOf(key);
+        while (this.expireAts[index] != 0) {
+            if (this.keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & this.mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * 删除并把后面探测链上的元素前移
+     */
+    private void removeAt(int index) {
+        int hole = index;
+        int next = index;
+        while (true) {
+            next = (next + 1) & this.mask;
+            if (this.expireAts[next] == 0) {
+                break;
+            }
+            // 元素的理想位置在(hole, next]之间时不能前移
+            int ideal = this.indexOf(this.keys[next]);
+            boolean between = hole <= next ? (hole < ideal && ideal <= next) : (hole < ideal || ideal <= next);
+            if (between) {
+                continue;
+            }
+            this.keys[hole] = this.keys[next];
+            this.expireAts[hole] = this.expireAts[next];
+            hole = next;
+        }
+
+        this.expireAts[hole] = 0;
+        this.size--;
+    }
+
+    /**
+     * 清理过期的元素，重新插入未过期的
+     */
+    private void purge(long now) {
+        long[] liveKeys = new long[this.size];
+        long[] liveExpireAts = new long[this.size];
+        int live = 0;
+        for (int i = 0; i < this.expireAts.length; i++) {
+            if (this.expireAts[i] > now) {
+                liveKeys[live] = this.keys[i];
+                liveExpireAts[live] = this.expireAts[i];
+                live++;
+            }
+        }
+
+        this.clear();
+        for (int i = 0; i < live; i++) {
+            int index = this.indexOf(liveKeys[i]);
+            while (this.expireAts[index] != 0) {
+                index = (index + 1) & this.mask;
+            }
+            this.keys[index] = liveKeys[i];
+            this.expireAts[index] = liveExpireAts[i];
+        }
+        this.size = live;
+    }
+}
@@ -0,0 +1,195 @@
+package com.bdmer.framework.base.common.cache;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.bdmer.framework.base.common.util.ReflectionUtil;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 查询结果缓存
+ * 描述：以查询类型 + 筛选条件（字段按名称排序，cols排序，null字段忽略）+ 分页信息作为键缓存listByFilter、countByFilter等的结果。
+ * 每张表有一个代数，该表的任何写入使代数加1，之前缓存的结果在读取时发现代数不一致即视为失效，不需要遍历删除。
+ * 另外有过期时间和最大数量（W-TinyLFU淘汰）。
+ * 放入和获取时都拷贝List并浅拷贝其中的实体，调用方修改返回的结果不会影响缓存。
+ * 注意：代数只在本JVM内，多实例部署时其它实例的写入最多在ttlMillis内读到旧结果，
+ * 由core的getQueryCache决定是否使用（默认不使用），只适合能接受该延迟的表
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+public class QueryResultCache {
+
+    /**
+     * 表名 - 代数，同一张表的多个缓存共用
+     */
+    private static final Map<String, AtomicLong> GENERATION_MAP = new ConcurrentHashMap<>();
+
+    private final String tableName;
+
+    private final long ttlMillis;
+
+    private final TinyLfuCache<String, CacheEntry> cache;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong staleCount = new AtomicLong();
+
+    /**
+     * @param tableName   表名，写入该表时缓存失效
+     * @param maximumSize 最大数量
+     * @param ttlMillis   过期时间（毫秒）
+     */
+    public QueryResultCache(String tableName, int maximumSize, long ttlMillis) {
+        this.tableName = Objects.requireNonNull(tableName);
+        this.ttlMillis = ttlMillis;
+        this.cache = new TinyLfuCache<>(maximumSize);
+    }
+
+    /**
+     * 使表的所有查询结果缓存失效
+     *
+     * @param tableName 表名
+     */
+    public static void invalidateTable(String tableName) {
+        generationOf(tableName).incrementAndGet();
+    }
+
+    /**
+     * 使本缓存对应表的所有查询结果失效
+     */
+    public void invalidate() {
+        invalidateTable(this.tableName);
+    }
+
+    /**
+     * 获取缓存的查询结果，没有或已失效时查询并放入缓存
+     *
+     * @param queryType 查询类型，如：listByFilter
+     * @param filter    筛选条件
+     * @param pageInfo  分页信息，没有时为null
+     * @param loader    查询方法
+     * @param <T>       结果类型
+     * @return 查询结果
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String queryType, Object filter, Object pageInfo, Supplier<T> loader) {
+        String key = keyOf(queryType, filter, pageInfo);
+        AtomicLong generation = generationOf(this.tableName);
+
+        CacheEntry entry = this.cache.get(key);
+        if (Objects.nonNull(entry)) {
+            if (entry.generation == generation.get() && entry.expireAt > System.currentTimeMillis()) {
+                this.hitCount.incrementAndGet();
+                return (T) ReflectionUtil.copyResult(entry.value);
+            }
+            this.staleCount.incrementAndGet();
+            this.cache.invalidate(key);
+        }
+        this.missCount.incrementAndGet();
+
+        // 查询前取代数，查询期间有写入时放入的结果立即失效
+        long loadGeneration = generation.get();
+        T value = loader.get();
+        if (Objects.nonNull(value)) {
+            this.cache.put(key, new CacheEntry(ReflectionUtil.copyResult(value), loadGeneration, System.currentTimeMillis() + this.ttlMillis));
+        }
+
+        return value;
+    }
+
+    /**
+     * 获取统计
+     *
+     * @return 统计名 - 值
+     */
+    public Map<String, Object> getStat() {
+        long hit = this.hitCount.get();
+        long total = hit + this.missCount.get();
+        Map<String, Object> stat = new LinkedHashMap<>();
+        stat.put("tableName", this.tableName);
+        stat.put("size", this.cache.size());
+        stat.put("hitCount", hit);
+        stat.put("missCount", this.missCount.get());
+        stat.put("staleCount", this.staleCount.get());
+        stat.put("hitRate", total == 0 ? 0 : (double) hit / total);
+        return stat;
+    }
+
+    /**
+     * 缓存键：与字段顺序无关
+     *
+     * @param queryType 查询类型
+     * @param filter    筛选条件
+     * @param pageInfo  分页信息，没有时为null
+     * @return 缓存键
+     */
+    public static String keyOf(String queryType, Object filter, Object pageInfo) {
+        StringBuilder key = new StringBuilder(queryType);
+        key.append('|').append(canonicalJson(filter));
+        if (Objects.nonNull(pageInfo)) {
+            key.append('|').append(canonicalJson(pageInfo));
+        }
+        return key.toString();
+    }
+
+    private static String canonicalJson(Object object) {
+        if (Objects.isNull(object)) {
+            return "null";
+        }
+
+        Object json = JSON.toJSON(object);
+        if (json instanceof JSONObject) {
+            // cols只决定返回哪些字段，顺序无关
+            Object cols = ((JSONObject) json).get("cols");
+            if (cols instanceof JSONArray) {
+                ((JSONArray) cols).sort((c1, c2) -> String.valueOf(c1).compareTo(String.valueOf(c2)));
+            }
+        }
+
+        return JSON.toJSONString(sortKeys(json));
+    }
+
+    /**
+     * 对象的字段按名称排序
+     */
+    private static Object sortKeys(Object json) {
+        if (json instanceof JSONObject) {
+            Map<String, Object> sorted = new TreeMap<>();
+            ((JSONObject) json).forEach((key, value) -> sorted.put(key, sortKeys(value)));
+            return sorted;
+        }
+        if (json instanceof JSONArray) {
+            List<Object> list = new ArrayList<>();
+            ((JSONArray) json).forEach(value -> list.add(sortKeys(value)));
+            return list;
+        }
+
+        return json;
+    }
+
+    private static AtomicLong generationOf(String tableName) {
+        return GENERATION_MAP.computeIfAbsent(tableName, k -> new AtomicLong());
+    }
+
+    private static class CacheEntry {
+        private final Object value;
+        private final long generation;
+        private final long expireAt;
+
+        private CacheEntry(Object value, long generation, long expireAt) {
+            this.value = value;
+            this.generation = generation;
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.bdmer.framework.base.common.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 有界本地缓存 - W-TinyLFU淘汰
+ * 描述：新数据先进入占总容量1%的窗口区（LRU），从窗口区淘汰的数据与主区试用段中最久未访问的数据比较访问频率，
+ * 频率高的留下。主区分为试用段（20%）和保护段（80%），试用段中再次被访问的数据晋升到保护段。
+ * 这样偶发的大范围扫描不会把热点数据挤出缓存。所有方法加锁，适合读多写少、容量不大的场景
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+public class TinyLfuCache<K, V> {
+
+    private final int maximumSize;
+
+    private final int windowMaximum;
+
+    private final int protectedMaximum;
+
+    /**
+     * 窗口区、试用段、保护段，按访问顺序排列，最前面的为最久未访问
+     */
+    private final LinkedHashMap<K, V> window = new LinkedHashMap<>();
+    private final LinkedHashMap<K, V> probation = new LinkedHashMap<>();
+    private final LinkedHashMap<K, V> protect = new LinkedHashMap<>();
+
+    private final FrequencySketch sketch;
+
+    private long hitCount;
+
+    private long missCount;
+
+    public TinyLfuCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.protectedMaximum = (maximumSize - this.windowMaximum) * 4 / 5;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * 获取
+     *
+     * @param key 键
+     * @return 值，不存在返回null
+     */
+    public synchronized V get(K key) {
+        this.sketch.increment(key);
+
+        V value = this.window.remove(key);
+        if (Objects.nonNull(value)) {
+            this.window.put(key, value);
+        } else if (Objects.nonNull(value = this.probation.remove(key))) {
+            this.promote(key, value);
+        } else if (Objects.nonNull(value = this.protect.remove(key))) {
+            this.protect.put(key, value);
+        }
+
+        if (Objects.isNull(value)) {
+            this.missCount++;
+        } else {
+            this.hitCount++;
+        }
+
+        return value;
+    }
+
+    /**
+     * 放入
+     *
+     * @param key   键
+     * @param value 值，不能为null
+     */
+    public synchronized void put(K key, V value) {
+        Objects.requireNonNull(value);
+
+        // 已存在时更新值并视为一次访问
+        if (this.window.containsKey(key)) {
+            this.window.remove(key);
+            this.window.put(key, value);
+            return;
+        }
+        if (this.probation.remove(key) != null) {
+            this.promote(key, value);
+            return;
+        }
+        if (this.protect.containsKey(key)) {
+            this.protect.remove(key);
+            this.protect.put(key, value);
+            return;
+        }
+
+        this.sketch.increment(key);
+        this.window.put(key, value);
+        if (this.window.size() > this.windowMaximum) {
+            this.evictWindow();
+        }
+    }
+
+    /**
+     * 删除
+     *
+     * @param key 键
+     */
+    public synchronized void invalidate(K key) {
+        if (this.window.remove(key) == null && this.probation.remove(key) == null) {
+            this.protect.remove(key);
+        }
+    }
+
+    /**
+     * 清空
+     */
+    public synchronized void invalidateAll() {
+        this.window.clear();
+        this.probation.clear();
+        this.protect.clear();
+    }
+
+    /**
+     * 当前数量
+     *
+     * @return 数量
+     */
+    public synchronized int size() {
+        return this.window.size() + this.probation.size() + this.protect.size();
+    }
+
+    /**
+     * 最大数量
+     *
+     * @return 最大数量
+     */
+    public int getMaximumSize() {
+        return this.maximumSize;
+    }
+
+    /**
+     * 命中次数
+     *
+     * @return 命中次数
+     */
+    public synchronized long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * 未命中次数
+     *
+     * @return 未命中次数
+     */
+    public synchronized long getMissCount() {
+        return this.missCount;
+    }
+
+    /**
+     * 试用段的数据晋升到保护段，保护段超出时最久未访问的降回试用段
+     */
+    private void promote(K key, V value) {
+        this.protect.put(key, value);
+        if (this.protect.size() > this.protectedMaximum) {
+            Map.Entry<K, V> eldest = eldest(this.protect);
+            this.protect.remove(eldest.getKey());
+            this.probation.put(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    /**
+     * 窗口区淘汰：主区未满时直接进入试用段，否则与试用段最久未访问的数据比较访问频率
+     */
+    private void evictWindow() {
+        Map.Entry<K, V> candidate = eldest(this.window);
+        this.window.remove(candidate.getKey());
+
+        if (this.size() < this.maximumSize) {
+            this.probation.put(candidate.getKey(), candidate.getValue());
+            return;
+        }
+
+        LinkedHashMap<K, V> victimRegion = this.probation.isEmpty() ? this.protect : this.probation;
+        Map.Entry<K, V> victim = eldest(victimRegion);
+        if (this.sketch.frequency(candidate.getKey()) > this.sketch.frequency(victim.getKey())) {
+            victimRegion.remove(victim.getKey());
+            this.probation.put(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    private static <K, V> Map.Entry<K, V> eldest(LinkedHashMap<K, V> map) {
+        return map.entrySet().iterator().next();
+    }
+}
@@ -0,0 +1,209 @@
+package com.bdmer.framework.base.common.cache;
+
+import com.bdmer.framework.base.common.util.ReflectionUtil;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 按id缓存实体 - 本地W-TinyLFU实现
+ * 描述：放入后ttlMillis过期，其它实例的写入最多在该时间内读到旧数据。
+ * 放入和获取时都浅拷贝实体，调用方修改返回的实体不会影响缓存。
+ * stamp按id判断：只有查询期间同一个id被删除过时才不放入，最近删除的id最多记录maximumSize个，更早的按删除过处理。
+ * absentTtlMillis大于0时，数据库中不存在的id在该时间内记录在LongExpirySet中，不再查询数据库；
+ * 本实例中新增该id时删除记录，其他实例新增的要等过期
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+public class TinyLfuIdCache<V> implements IdCache<V> {
+
+    private final TinyLfuCache<Long, CacheEntry<V>> cache;
+
+    private final long ttlMillis;
+
+    /**
+     * 不存在的id，不记录时为null
+     */
+    private final LongExpirySet absentSet;
+
+    private final long absentTtlMillis;
+
+    /**
+     * 最近删除的id - 删除时的stamp，按删除顺序排列
+     */
+    private final LinkedHashMap<Long, Long> invalidatedMap = new LinkedHashMap<>();
+
+    private long stamp;
+
+    /**
+     * 不再记录的删除中最大的stamp，查询前取的stamp小于该值时不放入
+     */
+    private long floorStamp;
+
+    private long absentHitCount;
+
+    /**
+     * @param maximumSize 最大数量
+     * @param ttlMillis   过期时间（毫秒）
+     */
+    public TinyLfuIdCache(int maximumSize, long ttlMillis) {
+        this(maximumSize, ttlMillis, 0L);
+    }
+
+    /**
+     * @param maximumSize     最大数量，不存在的id最多也记录这么多
+     * @param ttlMillis       过期时间（毫秒）
+     * @param absentTtlMillis 不存在的id的记录时间（毫秒），0为不记录
+     */
+    public TinyLfuIdCache(int maximumSize, long ttlMillis, long absentTtlMillis) {
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("ttlMillis must be positive");
+        }
+        this.cache = new TinyLfuCache<>(maximumSize);
+        this.ttlMillis = ttlMillis;
+        this.absentTtlMillis = absentTtlMillis;
+        this.absentSet = absentTtlMillis > 0 ? new LongExpirySet(maximumSize) : null;
+    }
+
+    @Override
+    public V get(Long id) {
+        CacheEntry<V> entry = this.cache.get(id);
+        if (Objects.isNull(entry)) {
+            return null;
+        }
+        if (entry.expireAt <= System.currentTimeMillis()) {
+            this.cache.invalidate(id);
+            return null;
+        }
+
+        return ReflectionUtil.shallowCopy(entry.value);
+    }
+
+    @Override
+    public synchronized long getStamp() {
+        return this.stamp;
+    }
+
+    @Override
+    public void put(Long id, V value, long stamp) {
+        if (Objects.isNull(value)) {
+            return;
+        }
+
+        CacheEntry<V> entry = new CacheEntry<>(ReflectionUtil.shallowCopy(value), System.currentTimeMillis() + this.ttlMillis);
+        synchronized (this) {
+            if (!this.isInvalidatedSince(id, stamp)) {
+                this.cache.put(id, entry);
+            }
+        }
+    }
+
+    @Override
+    public synchronized boolean isAbsent(Long id) {
+        if (Objects.isNull(this.absentSet) || Objects.isNull(id)) {
+            return false;
+        }
+
+        boolean absent = this.absentSet.contains(id, System.currentTimeMillis());
+        if (absent) {
+            this.absentHitCount++;
+        }
+        return absent;
+    }
+
+    @Override
+    public synchronized void putAbsent(Long id, long stamp) {
+        if (Objects.isNull(this.absentSet) || Objects.isNull(id) || this.isInvalidatedSince(id, stamp)) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        this.absentSet.add(id, now, now + this.absentTtlMillis);
+    }
+
+    @Override
+    public synchronized void invalidate(Long[] ids) {
+        this.stamp++;
+        for (Long id : ids) {
+            if (Objects.isNull(id)) {
+                continue;
+            }
+            // 重新放到最后
+            this.invalidatedMap.remove(id);
+            this.invalidatedMap.put(id, this.stamp);
+            if (Objects.nonNull(this.absentSet)) {
+                this.absentSet.remove(id);
+            }
+        }
+        Iterator<Map.Entry<Long, Long>> iterator = this.invalidatedMap.entrySet().iterator();
+        while (this.invalidatedMap.size() > this.cache.getMaximumSize()) {
+            this.floorStamp = iterator.next().getValue();
+            iterator.remove();
+        }
+
+        // 超过容量时逐个删除没有意义
+        if (ids.length >= this.cache.getMaximumSize()) {
+            this.cache.invalidateAll();
+            return;
+        }
+        for (Long id : ids) {
+            if (Objects.nonNull(id)) {
+                this.cache.invalidate(id);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        this.stamp++;
+        this.floorStamp = this.stamp;
+        this.invalidatedMap.clear();
+        this.cache.invalidateAll();
+        if (Objects.nonNull(this.absentSet)) {
+            this.absentSet.clear();
+        }
+    }
+
+    /**
+     * 不存在的id的命中次数
+     *
+     * @return 命中次数
+     */
+    public synchronized long getAbsentHitCount() {
+        return this.absentHitCount;
+    }
+
+    /**
+     * 获取底层缓存，用于查看命中率
+     *
+     * @return 底层缓存
+     */
+    public TinyLfuCache<Long, ?> getCache() {
+        return this.cache;
+    }
+
+    /**
+     * 取stamp之后该id是否被删除过
+     */
+    private boolean isInvalidatedSince(Long id, long stamp) {
+        if (stamp < this.floorStamp) {
+            return true;
+        }
+
+        Long invalidatedStamp = this.invalidatedMap.get(id);
+        return Objects.nonNull(invalidatedStamp) && invalidatedStamp > stamp;
+    }
+
+    private static class CacheEntry<V> {
+        private final V value;
+        private final long expireAt;
+
+        private CacheEntry(V value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -23,6 +23,118 @@ public class MysqlConstant {
      * 最大延时时间
      */
     public static final Integer MAX_SLEEP_TIME = 10;
+    /**
+     * CASE WHEN批量更新的最大列数，超过则认为不是窄列更新
+     */
+    public static final Integer MAX_CASE_WHEN_COLUMNS = 3;
+    /**
+     * 分片最小数量 - 自适应分片写入时分片大小的下限
+     */
+    public static final Integer MIN_CHUNK_NUM = 100;
+    /**
+     * 同时在途的最大分片数
+     */
+    public static final Integer MAX_CHUNK_IN_FLIGHT = 4;
+    /**
+     * 单个分片的目标耗时（毫秒），超过则缩小分片和并发
+     */
+    public static final Long CHUNK_TARGET_MILLIS = 500L;
+    /**
+     * 连接池繁忙比例，活跃连接数占比超过该值时缩小分片和并发
+     */
+    public static final Double POOL_BUSY_RATIO = 0.8;
+    /**
+     * 分片写入失败 - 可重试错误（死锁、锁等待超时等）的最大重试次数
+     */
+    public static final Integer CHUNK_MAX_RETRY = 2;
+    /**
+     * 分片写入失败 - 第一次重试前等待的毫秒数，之后每次翻倍
+     */
+    public static final Long CHUNK_RETRY_BACKOFF_MILLIS = 50L;
+    /**
+     * 流式查询 - 每写入多少行检查一次响应是否写入失败，checkError会flush响应，不能每行检查
+     */
+    public static final Integer STREAM_CHECK_ERROR_ROWS = 1000;
+    /**
+     * 合并提交 - 每批最大数量
+     */
+    public static final Integer GROUP_COMMIT_MAX_NUM = 200;
+    /**
+     * 合并提交 - 等待凑批的时间窗口（毫秒）
+     */
+    public static final Long GROUP_COMMIT_WINDOW_MILLIS = 5L;
+    /**
+     * 合并提交 - 最大排队数，排满后直接拒绝
+     */
+    public static final Integer GROUP_COMMIT_QUEUE_SIZE = 10000;
+    /**
+     * 合并提交 - 等待结果的超时时间（毫秒）
+     */
+    public static final Long GROUP_COMMIT_TIMEOUT_MILLIS = 30000L;
+    /**
+     * 批量添加时超过该行数使用LOAD DATA LOCAL INFILE
+     */
+    public static final Integer BULK_LOAD_THRESHOLD = 50000;
+    /**
+     * LOAD DATA LOCAL INFILE - 每条语句最大行数
+     */
+    public static final Integer MAX_BULK_LOAD_NUM = 100000;
+    /**
+     * 按id缓存实体 - 默认最大数量
+     */
+    public static final Integer ID_CACHE_SIZE = 10000;
+    /**
+     * 按id缓存实体 - 过期时间（毫秒），多实例部署时其它实例的写入最多在该时间内读到旧数据
+     */
+    public static final Long ID_CACHE_TTL_MILLIS = 5000L;
+    /**
+     * 按id缓存实体 - 不存在的id的记录时间（毫秒）
+     */
+    public static final Long ID_CACHE_ABSENT_TTL_MILLIS = 5000L;
+    /**
+     * 查询结果缓存 - 默认最大数量
+     */
+    public static final Integer QUERY_CACHE_SIZE = 1000;
+    /**
+     * 查询结果缓存 - 默认过期时间（毫秒）
+     */
+    public static final Long QUERY_CACHE_TTL_MILLIS = 60000L;
+    /**
+     * 估算统计 - 执行计划估算值低于该值时直接精确统计
+     */
+    public static final Integer APPROXIMATE_COUNT_MIN = 10000;
+    /**
+     * 估算统计 - 统计结果缓存最大数量
+     */
+    public static final Integer COUNT_CACHE_SIZE = 1000;
+    /**
+     * 估算统计 - 统计结果缓存过期时间（毫秒）
+     */
+    public static final Long COUNT_CACHE_TTL_MILLIS = 10000L;
+    /**
+     * 相同查询合并 - 等待超时时间（毫秒）
+     */
+    public static final Long SINGLE_FLIGHT_TIMEOUT_MILLIS = 10000L;
+    /**
+     * 读写分离 - 写入后使用主库读取的默认时间（毫秒）
+     */
+    public static final Long ROUTING_STICKY_MILLIS = 1000L;
+    /**
+     * 读写分离 - 记录写入时间的最大会话数
+     */
+    public static final Integer ROUTING_SESSION_SIZE = 10000;
+    /**
+     * 异步数据库线程池 - 线程数，不宜超过数据库连接池的maxActive
+     */
+    public static final Integer DB_EXECUTOR_THREADS = 32;
+    /**
+     * 异步数据库线程池 - 排队上限，超过后直接拒绝
+     */
+    public static final Integer DB_EXECUTOR_QUEUE_SIZE = 2000;
+    /**
+     * 异步请求超时时间（毫秒）
+     */
+    public static final Long ASYNC_TIMEOUT_MILLIS = 30000L;
     /**
      * 排序方式
      */
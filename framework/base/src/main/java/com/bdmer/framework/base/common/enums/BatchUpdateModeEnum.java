@@ -0,0 +1,34 @@
+package com.bdmer.framework.base.common.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 批量更新方式枚举
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+@Getter
+@AllArgsConstructor
+public enum BatchUpdateModeEnum {
+    /**
+     * Mapper中的batchUpdate：多条update用;拼接成一条SQL，依赖allowMultiQueries=true
+     */
+    MULTI_STATEMENT("多语句拼接"),
+    /**
+     * Mapper中的单条update，通过MyBatis的ExecutorType.BATCH按分片提交
+     */
+    JDBC_BATCH("JDBC批处理"),
+    /**
+     * 窄列更新（非null列数不超过MysqlConstant.MAX_CASE_WHEN_COLUMNS）时使用Mapper中的batchUpdateByCase：
+     * 每个分片一条update ... set col = case id when .. then .. end where id in (...)，否则使用JDBC_BATCH
+     */
+    CASE_WHEN("CASE WHEN单语句"),
+    ;
+
+    /**
+     * 描述
+     */
+    private final String desc;
+}
@@ -0,0 +1,39 @@
+package com.bdmer.framework.base.common.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * LOAD DATA LOCAL INFILE导入方式枚举
+ * 描述：LOCAL方式下MySQL对主键重复、数据错误只产生警告并跳过，STRICT通过行数和警告数检查保持与insert一致
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+@Getter
+@AllArgsConstructor
+public enum BulkLoadModeEnum {
+    /**
+     * 导入行数与数据行数不一致或有警告时回滚并抛出异常，与insert一致
+     */
+    STRICT("严格", ""),
+    /**
+     * 忽略主键重复的行和数据警告，成功数为实际插入的行数
+     */
+    IGNORE("忽略重复", "IGNORE "),
+    /**
+     * 主键重复时替换旧行，成功数为影响行数（替换的行计为2）
+     */
+    REPLACE("替换重复", "REPLACE "),
+    ;
+
+    /**
+     * 描述
+     */
+    private final String desc;
+
+    /**
+     * LOAD DATA语句中的关键字
+     */
+    private final String keyword;
+}
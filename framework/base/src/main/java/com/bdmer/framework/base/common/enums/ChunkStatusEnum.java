@@ -0,0 +1,33 @@
+package com.bdmer.framework.base.common.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 分片写入状态枚举
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+@Getter
+@AllArgsConstructor
+public enum ChunkStatusEnum {
+    /**
+     * 全部写入成功（可能经过重试）
+     */
+    SUCCESS("成功"),
+    /**
+     * 拆分后部分行写入成功，失败的行见failedList
+     */
+    PARTIAL("部分成功"),
+    /**
+     * 全部失败
+     */
+    FAILED("失败"),
+    ;
+
+    /**
+     * 描述
+     */
+    private final String desc;
+}
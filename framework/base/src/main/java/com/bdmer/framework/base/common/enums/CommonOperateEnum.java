@@ -23,5 +23,9 @@ public enum CommonOperateEnum {
     /**
      * 删除操作
      */
-    DELETE;
+    DELETE,
+    /**
+     * 新增或更新操作
+     */
+    UPSERT;
 }
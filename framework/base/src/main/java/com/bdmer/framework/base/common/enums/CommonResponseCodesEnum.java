@@ -31,6 +31,11 @@ public enum CommonResponseCodesEnum implements ResponseCode {
     ERROR_ID_IS_EMPTY(ResultLevelEnum.ERROR_LOW_LEVEL, "0005", "ID为空"),
     ERROR_ID_DATA_IS_EMPTY(ResultLevelEnum.ERROR_LOW_LEVEL, "0006", "ID对应数据为空"),
     ERROR_REFLECTION_FIELD_IS_EMPTY(ResultLevelEnum.ERROR_HIGH_LEVEL, "0007", "反射字段为空"),
+    ERROR_DB_EXECUTOR_BUSY(ResultLevelEnum.ERROR_HIGH_LEVEL, "0008", "数据库繁忙，请稍后重试"),
+    ERROR_ASYNC_TIMEOUT(ResultLevelEnum.ERROR_HIGH_LEVEL, "0009", "请求超时"),
+    ERROR_SINGLE_FLIGHT_TIMEOUT(ResultLevelEnum.ERROR_HIGH_LEVEL, "0010", "等待相同查询结果超时"),
+    ERROR_BULK_LOAD_INCOMPLETE(ResultLevelEnum.ERROR_HIGH_LEVEL, "0011", "批量导入不完整：{0}行数据，导入{1}行，警告{2}条"),
+    ERROR_GROUP_COMMIT_BUSY(ResultLevelEnum.ERROR_HIGH_LEVEL, "0012", "合并提交排队已满，请稍后重试"),
 
     // ---- 紧急信息 ----
     SERIOUS(ResultLevelEnum.SERIOUS_LOW_LEVEL, "0000", "{0}"),
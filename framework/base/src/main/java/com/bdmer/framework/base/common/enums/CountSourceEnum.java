@@ -0,0 +1,33 @@
+package com.bdmer.framework.base.common.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 统计结果来源枚举
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+@Getter
+@AllArgsConstructor
+public enum CountSourceEnum {
+    /**
+     * 执行count(*)
+     */
+    EXACT("精确统计"),
+    /**
+     * 没有筛选条件时取EXPLAIN的rows，来自表的统计信息
+     */
+    EXPLAIN("执行计划估算"),
+    /**
+     * 最近一次精确统计的结果，可能不包含缓存期间的写入
+     */
+    CACHE("统计缓存"),
+    ;
+
+    /**
+     * 描述
+     */
+    private final String desc;
+}
@@ -3,6 +3,10 @@ package com.bdmer.framework.base.common.enums;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * 属性类型枚举
  *
@@ -15,27 +19,40 @@ public enum PropertyTypeEnum {
     /**
      * 数据类型
      */
-    BYTE("java.lang.Byte"),
+    BYTE("java.lang.Byte", (byte) 0),
+
+    INTEGER("java.lang.Integer", 0),
+
+    LONG("java.lang.Long", 0L),
 
-    INTEGER("java.lang.Integer"),
+    DOUBLE("java.lang.Double", 0D),
 
-    LONG("java.lang.Long"),
+    FLOAT("java.lang.Float", 0F),
 
-    DOUBLE("java.lang.Double"),
+    STRING("java.lang.String", ""),
 
-    FLOAT("java.lang.Float"),
+    BIG_DECIMAL("java.math.BigDecimal", BigDecimal.ZERO),
 
-    STRING("java.lang.String"),
+    DATE("java.util.Date", null),;
 
-    BIG_DECIMAL("java.math.BigDecimal"),
+    private static final Map<String, PropertyTypeEnum> NAME_MAP = new HashMap<>(16);
 
-    DATE("java.util.Date"),;
+    static {
+        for (PropertyTypeEnum proper : PropertyTypeEnum.values()) {
+            NAME_MAP.put(proper.getPropertyTypeName(), proper);
+        }
+    }
 
     /**
      * 类型名称
      */
     private final String propertyTypeName;
 
+    /**
+     * Util.checkProperty使用的默认值，null为不设置
+     */
+    private final Object defaultValue;
+
     /**
      * 根据属性类型名获取枚举
      *
@@ -44,18 +61,10 @@ public enum PropertyTypeEnum {
      * @return 属性枚举
      */
     public static PropertyTypeEnum getEnumByName(String propertyTypeName) {
-        PropertyTypeEnum propertyTypeEnum = null;
         if (propertyTypeName == null) {
-            return propertyTypeEnum;
-        }
-        for (PropertyTypeEnum proper : PropertyTypeEnum.values()) {
-            if (!proper.getPropertyTypeName().equals(propertyTypeName)) {
-                continue;
-            }
-            propertyTypeEnum = proper;
-            break;
+            return null;
         }
 
-        return propertyTypeEnum;
+        return NAME_MAP.get(propertyTypeName);
     }
 }
@@ -0,0 +1,79 @@
+package com.bdmer.framework.base.common.meta;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 实体元数据 - 由EntityMetaProcessor在编译时生成实现
+ * 描述：字段访问都是直接调用getter/setter，运行时不需要反射
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+public interface EntityMeta<E> {
+
+    /**
+     * 获取实体类型
+     *
+     * @return 实体类型
+     */
+    Class<E> getEntityClass();
+
+    /**
+     * 获取所有字段名 - 子类在前
+     *
+     * @return 字段名List
+     */
+    List<String> getFieldNames();
+
+    /**
+     * 获取字段名 - 表字段名（驼峰转下划线）
+     *
+     * @return 字段映射
+     */
+    Map<String, String> getColumnMap();
+
+    /**
+     * 获取字段的getter
+     *
+     * @param fieldName 字段名
+     * @return getter，字段不存在返回null
+     */
+    Function<E, Object> getter(String fieldName);
+
+    /**
+     * 获取字段的setter
+     *
+     * @param fieldName 字段名
+     * @return setter，字段不存在返回null
+     */
+    BiConsumer<E, Object> setter(String fieldName);
+
+    /**
+     * 为null的字段设置默认值 - 默认值取自PropertyTypeEnum，与DefaultValueFiller一致
+     *
+     * @param entity 实体
+     * @return 实体
+     */
+    E fillDefaults(E entity);
+
+    /**
+     * 获取有变化的字段 - 新实体中为null的字段不认为是修改，基本类型字段不处理，Date、BigDecimal按值比较
+     *
+     * @param oldEntity 旧实体
+     * @param newEntity 新实体
+     * @return 有变化的字段名
+     */
+    List<String> diff(E oldEntity, E newEntity);
+
+    /**
+     * 按需返回字段
+     *
+     * @param entity 实体
+     * @param cols   需要哪些字段，不存在的忽略
+     * @return 字段名 - 值，按cols的顺序
+     */
+    Map<String, Object> project(E entity, String[] cols);
+}
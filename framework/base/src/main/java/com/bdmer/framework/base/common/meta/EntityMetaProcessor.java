@@ -0,0 +1,351 @@
+package com.bdmer.framework.base.common.meta;
+
+import com.bdmer.framework.base.common.enums.PropertyTypeEnum;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 实体元数据生成
+ * 描述：为@GenerateEntityMeta标注的实体生成"实体名Meta"，包括字段名、getter/setter、字段 - 表字段映射、
+ * 默认值填充（默认值取自PropertyTypeEnum）、diff和按需返回字段。PropertyAccessor、DefaultValueFiller、ColumnProjector、
+ * Util.getChangedEntity在有生成的元数据时都使用它。继承链路上的非static字段都会生成，同名字段子类优先。
+ * getter/setter按lombok的命名调用：类或字段上有lombok的@Data/@Getter/@Setter、或者已经写了同名方法时使用方法，
+ * 否则非private字段直接访问，都不满足时报编译错误
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+@SupportedAnnotationTypes("com.bdmer.framework.base.common.annotation.GenerateEntityMeta")
+public class EntityMetaProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    this.error(element, "@GenerateEntityMeta只能用于类");
+                    continue;
+                }
+                this.generate((TypeElement) element);
+            }
+        }
+
+        return true;
+    }
+
+    private void generate(TypeElement entity) {
+        List<Property> propertyList = new ArrayList<>();
+        if (!this.collect(entity, propertyList)) {
+            return;
+        }
+
+        String packageName = this.processingEnv.getElementUtils().getPackageOf(entity).getQualifiedName().toString();
+        String entityName = entity.getQualifiedName().toString();
+        String simpleName = entity.getSimpleName() + EntityMetas.SUFFIX;
+        String metaName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        if (entity.getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+            this.error(entity, "@GenerateEntityMeta不支持内部类");
+            return;
+        }
+
+        try {
+            JavaFileObject file = this.processingEnv.getFiler().createSourceFile(metaName, entity);
+            try (Writer writer = file.openWriter()) {
+                writer.write(this.render(packageName, entityName, entity.getSimpleName().toString(), simpleName, propertyList));
+            }
+        } catch (IOException e) {
+            this.error(entity, "生成" + metaName + "失败：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 收集继承链路上的字段
+     */
+    private boolean collect(TypeElement entity, List<Property> propertyList) {
+        Map<String, Property> propertyMap = new LinkedHashMap<>();
+        boolean valid = true;
+        TypeElement type = entity;
+        while (type != null && !"java.lang.Object".equals(type.getQualifiedName().toString())) {
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                String name = field.getSimpleName().toString();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT) || propertyMap.containsKey(name)) {
+                    continue;
+                }
+
+                Property property = new Property(this.processingEnv, type, field);
+                if (property.getter == null || property.setter == null) {
+                    this.error(field, "字段" + name + "没有getter/setter且是private，无法生成元数据");
+                    valid = false;
+                }
+                propertyMap.put(name, property);
+            }
+
+            TypeMirror superclass = type.getSuperclass();
+            type = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+
+        propertyList.addAll(propertyMap.values());
+        return valid;
+    }
+
+    private String render(String packageName, String entityName, String entitySimpleName, String simpleName,
+                          List<Property> propertyList) {
+        StringBuilder sb = new StringBuilder(4096);
+        if (!packageName.isEmpty()) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+        sb.append("/**\n * ").append(entitySimpleName).append("元数据 - 由EntityMetaProcessor生成，不要修改\n */\n");
+        sb.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        sb.append("public final class ").append(simpleName)
+                .append(" implements com.bdmer.framework.base.common.meta.EntityMeta<").append(entityName).append("> {\n\n");
+
+        // 字段名
+        sb.append("    private static final java.util.List<String> FIELD_NAMES = java.util.Collections.unmodifiableList(java.util.Arrays.asList(");
+        for (int i = 0; i < propertyList.size(); i++) {
+            sb.append(i == 0 ? "" : ", ").append('"').append(propertyList.get(i).name).append('"');
+        }
+        sb.append("));\n\n");
+
+        // 字段 - 表字段映射，Mapper中可以通过@类名@COLUMN_MAP使用
+        sb.append("    public static final java.util.Map<String, String> COLUMN_MAP;\n\n");
+        sb.append("    static {\n");
+        sb.append("        java.util.Map<String, String> columnMap = new java.util.LinkedHashMap<>(").append(propertyList.size() * 2).append(");\n");
+        for (Property property : propertyList) {
+            sb.append("        columnMap.put(\"").append(property.name).append("\", \"").append(property.column).append("\");\n");
+        }
+        sb.append("        COLUMN_MAP = java.util.Collections.unmodifiableMap(columnMap);\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public Class<").append(entityName).append("> getEntityClass() {\n");
+        sb.append("        return ").append(entityName).append(".class;\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public java.util.List<String> getFieldNames() {\n");
+        sb.append("        return FIELD_NAMES;\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public java.util.Map<String, String> getColumnMap() {\n");
+        sb.append("        return COLUMN_MAP;\n");
+        sb.append("    }\n\n");
+
+        // getter
+        sb.append("    @Override\n");
+        sb.append("    public java.util.function.Function<").append(entityName).append(", Object> getter(String fieldName) {\n");
+        sb.append("        switch (fieldName) {\n");
+        for (Property property : propertyList) {
+            sb.append("            case \"").append(property.name).append("\":\n");
+            sb.append("                return e -> ").append(property.read("e")).append(";\n");
+        }
+        sb.append("            default:\n");
+        sb.append("                return null;\n");
+        sb.append("        }\n");
+        sb.append("    }\n\n");
+
+        // setter - 基本类型的null忽略
+        sb.append("    @Override\n");
+        sb.append("    public java.util.function.BiConsumer<").append(entityName).append(", Object> setter(String fieldName) {\n");
+        sb.append("        switch (fieldName) {\n");
+        for (Property property : propertyList) {
+            sb.append("            case \"").append(property.name).append("\":\n");
+            if (property.primitive) {
+                sb.append("                return (e, v) -> {\n");
+                sb.append("                    if (v != null) {\n");
+                sb.append("                        ").append(property.write("e", "(" + property.castType + ") v")).append(";\n");
+                sb.append("                    }\n");
+                sb.append("                };\n");
+            } else {
+                sb.append("                return (e, v) -> ").append(property.write("e", "(" + property.castType + ") v")).append(";\n");
+            }
+        }
+        sb.append("            default:\n");
+        sb.append("                return null;\n");
+        sb.append("        }\n");
+        sb.append("    }\n\n");
+
+        // 默认值 - 与DefaultValueFiller使用同一个来源PropertyTypeEnum
+        sb.append("    @Override\n");
+        sb.append("    public ").append(entityName).append(" fillDefaults(").append(entityName).append(" entity) {\n");
+        sb.append("        if (entity == null) {\n");
+        sb.append("            return null;\n");
+        sb.append("        }\n");
+        for (Property property : propertyList) {
+            PropertyTypeEnum propertyType = PropertyTypeEnum.getEnumByName(property.castType);
+            if (property.primitive || propertyType == null || propertyType.getDefaultValue() == null) {
+                continue;
+            }
+            String defaultValue = "(" + property.castType + ") " + PropertyTypeEnum.class.getName() + "." + propertyType.name() + ".getDefaultValue()";
+            sb.append("        if (").append(property.read("entity")).append(" == null) {\n");
+            sb.append("            ").append(property.write("entity", defaultValue)).append(";\n");
+            sb.append("        }\n");
+        }
+        sb.append("        return entity;\n");
+        sb.append("    }\n\n");
+
+        // diff - 基本类型不处理，与Util.getChangedEntity一致
+        sb.append("    @Override\n");
+        sb.append("    public java.util.List<String> diff(").append(entityName).append(" oldEntity, ")
+                .append(entityName).append(" newEntity) {\n");
+        sb.append("        java.util.List<String> changed = new java.util.ArrayList<>();\n");
+        sb.append("        if (oldEntity == null || newEntity == null) {\n");
+        sb.append("            return changed;\n");
+        sb.append("        }\n");
+        for (Property property : propertyList) {
+            if (property.primitive) {
+                continue;
+            }
+            sb.append("        if (").append(property.read("newEntity")).append(" != null && !com.bdmer.framework.base.common.meta.EntityMetas.equal(")
+                    .append(property.read("oldEntity")).append(", ").append(property.read("newEntity")).append(")) {\n");
+            sb.append("            changed.add(\"").append(property.name).append("\");\n");
+            sb.append("        }\n");
+        }
+        sb.append("        return changed;\n");
+        sb.append("    }\n\n");
+
+        // 按需返回字段
+        sb.append("    @Override\n");
+        sb.append("    public java.util.Map<String, Object> project(").append(entityName).append(" entity, String[] cols) {\n");
+        sb.append("        java.util.Map<String, Object> result = new java.util.LinkedHashMap<>(cols.length * 2);\n");
+        sb.append("        for (String col : cols) {\n");
+        sb.append("            switch (col) {\n");
+        for (Property property : propertyList) {
+            sb.append("                case \"").append(property.name).append("\":\n");
+            sb.append("                    result.put(col, ").append(property.read("entity")).append(");\n");
+            sb.append("                    break;\n");
+        }
+        sb.append("                default:\n");
+        sb.append("                    break;\n");
+        sb.append("            }\n");
+        sb.append("        }\n");
+        sb.append("        return result;\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+
+        return sb.toString();
+    }
+
+    private void error(Element element, String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * 字段信息
+     */
+    private static class Property {
+        private final String name;
+
+        private final String column;
+
+        private final boolean primitive;
+
+        /**
+         * 强转使用的类型，基本类型为包装类型，泛型擦除
+         */
+        private final String castType;
+
+        /**
+         * getter方法名，直接访问字段时为字段名加"#"
+         */
+        private final String getter;
+
+        private final String setter;
+
+        Property(ProcessingEnvironment env, TypeElement owner, VariableElement field) {
+            this.name = field.getSimpleName().toString();
+            this.column = toColumn(this.name);
+
+            TypeMirror type = field.asType();
+            this.primitive = type.getKind().isPrimitive();
+            this.castType = this.primitive
+                    ? env.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString()
+                    : env.getTypeUtils().erasure(type).toString();
+
+            // lombok命名：boolean字段isXxx的getter为isXxx、setter为setXxx
+            String capitalized = Character.toUpperCase(this.name.charAt(0)) + this.name.substring(1);
+            boolean isPrefixed = type.getKind() == TypeKind.BOOLEAN && this.name.length() > 2 && this.name.startsWith("is")
+                    && Character.isUpperCase(this.name.charAt(2));
+            String getterName = type.getKind() == TypeKind.BOOLEAN ? (isPrefixed ? this.name : "is" + capitalized) : "get" + capitalized;
+            String setterName = "set" + (isPrefixed ? this.name.substring(2) : capitalized);
+
+            boolean direct = !field.getModifiers().contains(Modifier.PRIVATE);
+            this.getter = hasAccessor(owner, field, getterName, "Getter") ? getterName : (direct ? "#" : null);
+            this.setter = hasAccessor(owner, field, setterName, "Setter") ? setterName : (direct ? "#" : null);
+        }
+
+        String read(String target) {
+            return "#".equals(this.getter) ? target + "." + this.name : target + "." + this.getter + "()";
+        }
+
+        String write(String target, String value) {
+            return "#".equals(this.setter) ? target + "." + this.name + " = " + value : target + "." + this.setter + "(" + value + ")";
+        }
+
+        private static boolean hasAccessor(TypeElement owner, VariableElement field, String methodName, String lombokAnnotation) {
+            if (hasLombok(field, lombokAnnotation) || hasLombok(owner, lombokAnnotation) || hasLombok(owner, "Data")) {
+                return true;
+            }
+
+            for (ExecutableElement method : ElementFilter.methodsIn(owner.getEnclosedElements())) {
+                if (method.getSimpleName().contentEquals(methodName) && !method.getModifiers().contains(Modifier.PRIVATE)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private static boolean hasLombok(Element element, String simpleName) {
+            return element.getAnnotationMirrors().stream().anyMatch(mirror -> ((TypeElement) mirror.getAnnotationType().asElement())
+                    .getQualifiedName().contentEquals("lombok." + simpleName));
+        }
+
+        /**
+         * 驼峰转下划线 - 与Util.humpToLine一致
+         */
+        private static String toColumn(String name) {
+            StringBuilder sb = new StringBuilder(name.length() + 4);
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (c >= 'A' && c <= 'Z') {
+                    sb.append('_').append(Character.toLowerCase(c));
+                } else {
+                    sb.append(c);
+                }
+            }
+
+            return sb.toString();
+        }
+    }
+}
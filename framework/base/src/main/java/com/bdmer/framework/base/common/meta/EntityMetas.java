@@ -0,0 +1,85 @@
+package com.bdmer.framework.base.common.meta;
+
+import com.bdmer.framework.base.common.util.DateUtil;
+import com.bdmer.framework.base.common.util.LogUtils;
+import com.bdmer.framework.base.common.util.Util;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 编译时生成的实体元数据查找
+ * 描述：按"实体类名Meta"加载一次并缓存在类上，没有生成的返回null，调用方退回反射
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+public final class EntityMetas {
+
+    /**
+     * 生成类的后缀
+     */
+    public static final String SUFFIX = "Meta";
+
+    private static final ClassValue<Optional<EntityMeta<?>>> REGISTRY = new ClassValue<Optional<EntityMeta<?>>>() {
+        @Override
+        protected Optional<EntityMeta<?>> computeValue(Class<?> type) {
+            return Optional.ofNullable(load(type));
+        }
+    };
+
+    private EntityMetas() {
+    }
+
+    /**
+     * 获取实体的元数据
+     *
+     * @param clazz 实体类型
+     * @param <E>   实体泛型
+     * @return 元数据，没有生成返回null
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> EntityMeta<E> of(Class<E> clazz) {
+        return (EntityMeta<E>) REGISTRY.get(clazz).orElse(null);
+    }
+
+    /**
+     * diff使用的比较 - Date、BigDecimal按值比较
+     *
+     * @param oldValue 旧值
+     * @param newValue 新值
+     * @return 是否相同
+     */
+    public static boolean equal(Object oldValue, Object newValue) {
+        if (newValue instanceof Date && oldValue instanceof Date) {
+            return DateUtil.equalDate((Date) oldValue, (Date) newValue);
+        }
+        if (newValue instanceof BigDecimal && oldValue instanceof BigDecimal) {
+            return Util.equalBigDecimal((BigDecimal) oldValue, (BigDecimal) newValue);
+        }
+
+        return Objects.equals(oldValue, newValue);
+    }
+
+    private static EntityMeta<?> load(Class<?> type) {
+        Class<?> metaClass;
+        try {
+            metaClass = Class.forName(type.getName() + SUFFIX, true, type.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+
+        if (!EntityMeta.class.isAssignableFrom(metaClass)) {
+            return null;
+        }
+        try {
+            EntityMeta<?> meta = (EntityMeta<?>) metaClass.newInstance();
+            return meta.getEntityClass() == type ? meta : null;
+        } catch (ReflectiveOperationException e) {
+            LogUtils.logError("加载实体元数据失败 type:" + type.getName(), e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.bdmer.framework.base.common.util;
+
+import com.bdmer.framework.base.common.annotation.EntityFieldInfo;
+import com.bdmer.framework.base.common.enums.PropertyTypeEnum;
+
+import com.bdmer.framework.base.base.config.ServiceException;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 类的反射元数据
+ * 描述：继承链路上的字段表、字段名索引、字段的PropertyTypeEnum类型和EntityFieldInfo注解，
+ * 通过ClassValue挂在类上，每个类只解析一次，之后的查询不再遍历getDeclaredFields。
+ * 同名字段子类优先，与原来的ReflectionUtil一致。所有表都不可修改。属性访问器、投影和默认值填充在第一次用到时生成。
+ * 注意：字段在解析时已打开私有访问，Field对象被所有线程共享，使用方不要再setAccessible(false)
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+public final class ClassMeta {
+
+    /**
+     * 每个类最多缓存的投影数量 - cols来自请求，超过后不再缓存
+     */
+    private static final int PROJECTOR_CACHE_SIZE = 256;
+
+    private static final ClassValue<ClassMeta> REGISTRY = new ClassValue<ClassMeta>() {
+        @Override
+        protected ClassMeta computeValue(Class<?> type) {
+            return new ClassMeta(type);
+        }
+    };
+
+    private final Class<?> type;
+
+    /**
+     * 所有字段 - 子类在前
+     */
+    private final List<Field> fieldList;
+
+    /**
+     * 非static字段 - 子类在前
+     */
+    private final List<Field> instanceFieldList;
+
+    private final Map<String, Field> fieldMap;
+
+    private final Map<String, PropertyTypeEnum> propertyTypeMap;
+
+    private final Map<String, EntityFieldInfo> fieldInfoMap;
+
+    private final Map<String, PropertyAccessor> accessorMap = new ConcurrentHashMap<>(16);
+
+    private final Map<String, ColumnProjector> projectorMap = new ConcurrentHashMap<>(16);
+
+    private volatile DefaultValueFiller defaultValueFiller;
+
+    private volatile Constructor<?> constructor;
+
+    private ClassMeta(Class<?> type) {
+        this.type = type;
+
+        Map<String, Field> fieldMap = new LinkedHashMap<>();
+        // 当父类为null的时候说明到达了最上层的父类(Object类)
+        for (Class<?> tempClass = type; tempClass != null; tempClass = tempClass.getSuperclass()) {
+            for (Field field : tempClass.getDeclaredFields()) {
+                fieldMap.putIfAbsent(field.getName(), field);
+            }
+        }
+
+        List<Field> instanceFieldList = new ArrayList<>();
+        Map<String, PropertyTypeEnum> propertyTypeMap = new HashMap<>(16);
+        Map<String, EntityFieldInfo> fieldInfoMap = new HashMap<>(16);
+        for (Field field : fieldMap.values()) {
+            field.setAccessible(Boolean.TRUE);
+            if (!Modifier.isStatic(field.getModifiers())) {
+                instanceFieldList.add(field);
+            }
+
+            PropertyTypeEnum propertyType = PropertyTypeEnum.getEnumByName(field.getType().getTypeName());
+            if (propertyType != null) {
+                propertyTypeMap.put(field.getName(), propertyType);
+            }
+            EntityFieldInfo fieldInfo = field.getAnnotation(EntityFieldInfo.class);
+            if (fieldInfo != null) {
+                fieldInfoMap.put(field.getName(), fieldInfo);
+            }
+        }
+
+        this.fieldMap = Collections.unmodifiableMap(fieldMap);
+        this.fieldList = Collections.unmodifiableList(new ArrayList<>(fieldMap.values()));
+        this.instanceFieldList = Collections.unmodifiableList(instanceFieldList);
+        this.propertyTypeMap = Collections.unmodifiableMap(propertyTypeMap);
+        this.fieldInfoMap = Collections.unmodifiableMap(fieldInfoMap);
+    }
+
+    /**
+     * 获取类的元数据，第一次调用时解析
+     *
+     * @param clazz 类类型
+     * @return 元数据
+     */
+    public static ClassMeta of(Class<?> clazz) {
+        return REGISTRY.get(clazz);
+    }
+
+    public Class<?> getType() {
+        return this.type;
+    }
+
+    /**
+     * 获取所有字段
+     *
+     * @return 字段List，含static字段
+     */
+    public List<Field> getFieldList() {
+        return this.fieldList;
+    }
+
+    /**
+     * 获取非static字段
+     *
+     * @return 字段List
+     */
+    public List<Field> getInstanceFieldList() {
+        return this.instanceFieldList;
+    }
+
+    /**
+     * 获取字段名 - 字段
+     *
+     * @return 字段Map，按继承链路顺序
+     */
+    public Map<String, Field> getFieldMap() {
+        return this.fieldMap;
+    }
+
+    /**
+     * 根据名称获取字段
+     *
+     * @param fieldName 字段名
+     * @return 字段，不存在返回null
+     */
+    public Field getField(String fieldName) {
+        return this.fieldMap.get(fieldName);
+    }
+
+    /**
+     * 获取字段类型
+     *
+     * @param fieldName 字段名
+     * @return 类型，不在PropertyTypeEnum中返回null
+     */
+    public PropertyTypeEnum getPropertyType(String fieldName) {
+        return this.propertyTypeMap.get(fieldName);
+    }
+
+    /**
+     * 获取字段的EntityFieldInfo注解
+     *
+     * @param fieldName 字段名
+     * @return 注解，没有返回null
+     */
+    public EntityFieldInfo getFieldInfo(String fieldName) {
+        return this.fieldInfoMap.get(fieldName);
+    }
+
+    /**
+     * 获取属性访问器
+     *
+     * @param fieldName 字段名
+     * @return 访问器，字段不存在返回null
+     */
+    public PropertyAccessor getAccessor(String fieldName) {
+        Field field = this.getField(fieldName);
+        if (field == null) {
+            return null;
+        }
+
+        PropertyAccessor accessor = this.accessorMap.get(fieldName);
+        return accessor != null ? accessor : this.accessorMap.computeIfAbsent(fieldName, k -> PropertyAccessor.of(this.type, field));
+    }
+
+    /**
+     * 获取按需返回字段的投影
+     *
+     * @param cols 需要哪些字段
+     * @return 投影
+     */
+    public ColumnProjector getProjector(String[] cols) {
+        String key = String.join(",", cols);
+        ColumnProjector projector = this.projectorMap.get(key);
+        if (projector != null) {
+            return projector;
+        }
+
+        projector = new ColumnProjector(this, cols);
+        if (this.projectorMap.size() < PROJECTOR_CACHE_SIZE) {
+            this.projectorMap.putIfAbsent(key, projector);
+        }
+        return projector;
+    }
+
+    /**
+     * 获取默认值填充
+     *
+     * @return 默认值填充
+     */
+    public DefaultValueFiller getDefaultValueFiller() {
+        DefaultValueFiller filler = this.defaultValueFiller;
+        if (filler == null) {
+            // 并发时可能重复创建，结果相同
+            filler = new DefaultValueFiller(this);
+            this.defaultValueFiller = filler;
+        }
+
+        return filler;
+    }
+
+    /**
+     * 浅拷贝 - 无参构造新建实例，再复制所有非static字段
+     * 描述：字段值本身不拷贝，Date等可变的字段值仍然共用
+     *
+     * @param source 源对象，需要是本类的实例
+     * @return 拷贝
+     */
+    public Object copy(Object source) {
+        try {
+            Object target = this.newInstance();
+            for (Field field : this.instanceFieldList) {
+                field.set(target, field.get(source));
+            }
+            return target;
+        } catch (ReflectiveOperationException e) {
+            throw new ServiceException("拷贝" + this.type.getName() + "失败", e);
+        }
+    }
+
+    /**
+     * 无参构造新建实例，构造方法只查找一次
+     *
+     * @return 新实例
+     * @throws ReflectiveOperationException 没有无参构造方法或构造失败
+     */
+    public Object newInstance() throws ReflectiveOperationException {
+        Constructor<?> constructor = this.constructor;
+        if (constructor == null) {
+            constructor = this.type.getDeclaredConstructor();
+            constructor.setAccessible(Boolean.TRUE);
+            this.constructor = constructor;
+        }
+
+        return constructor.newInstance();
+    }
+}
@@ -0,0 +1,113 @@
+package com.bdmer.framework.base.common.util;
+
+import com.bdmer.framework.base.common.meta.EntityMeta;
+import com.bdmer.framework.base.common.meta.EntityMetas;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 按需返回字段的投影
+ * 描述：按(类, cols)编译一次，保存命中的字段名和属性访问器，字段顺序与类中的声明顺序一致，
+ * 不存在的字段名忽略。可以投影成Map，也可以直接写到Jackson的JsonGenerator，不创建中间Map。
+ * 实体有编译时生成的EntityMeta时按其字段顺序，投影成Map时调用生成的project
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+public final class ColumnProjector {
+
+    private final String[] names;
+
+    private final PropertyAccessor[] accessors;
+
+    /**
+     * 编译时生成的元数据，没有时为null
+     */
+    private final EntityMeta<Object> entityMeta;
+
+    @SuppressWarnings("unchecked")
+    ColumnProjector(ClassMeta classMeta, String[] cols) {
+        this.entityMeta = (EntityMeta<Object>) EntityMetas.of(classMeta.getType());
+        List<String> fieldNameList = new ArrayList<>();
+        if (this.entityMeta != null) {
+            fieldNameList.addAll(this.entityMeta.getFieldNames());
+        } else {
+            for (Field field : classMeta.getFieldList()) {
+                fieldNameList.add(field.getName());
+            }
+        }
+
+        Set<String> colSet = new HashSet<>(Arrays.asList(cols));
+        List<String> nameList = new ArrayList<>();
+        List<PropertyAccessor> accessorList = new ArrayList<>();
+        for (String fieldName : fieldNameList) {
+            if (colSet.contains(fieldName)) {
+                nameList.add(fieldName);
+                accessorList.add(classMeta.getAccessor(fieldName));
+            }
+        }
+
+        this.names = nameList.toArray(new String[0]);
+        this.accessors = accessorList.toArray(new PropertyAccessor[0]);
+    }
+
+    /**
+     * 获取投影 - 按(类, cols)缓存
+     *
+     * @param clazz 类类型
+     * @param cols  需要哪些字段
+     * @return 投影
+     */
+    public static ColumnProjector of(Class<?> clazz, String[] cols) {
+        return ClassMeta.of(clazz).getProjector(cols);
+    }
+
+    /**
+     * 投影成Map
+     *
+     * @param row 实体
+     * @return 字段名 - 值
+     */
+    public Map<String, Object> project(Object row) {
+        if (this.entityMeta != null) {
+            return this.entityMeta.project(row, this.names);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>(this.names.length * 4 / 3 + 1);
+        for (int i = 0; i < this.names.length; i++) {
+            result.put(this.names[i], this.accessors[i].get(row));
+        }
+
+        return result;
+    }
+
+    /**
+     * 直接写成JSON对象
+     *
+     * @param row       实体
+     * @param generator JsonGenerator
+     * @param provider  SerializerProvider
+     * @throws IOException 写入异常
+     */
+    public void write(Object row, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < this.names.length; i++) {
+            provider.defaultSerializeField(this.names[i], this.accessors[i].get(row), generator);
+        }
+        generator.writeEndObject();
+    }
+
+    public String[] getNames() {
+        return this.names.clone();
+    }
+}
@@ -0,0 +1,87 @@
+package com.bdmer.framework.base.common.util;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * JSON流式解析工具类
+ * 描述：边读边解析，按分片交给调用方处理，内存占用只与分片大小有关，与数据总量无关
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+public class JsonStreamUtil {
+
+    private JsonStreamUtil() {
+        throw new IllegalStateException("JsonStreamUtil class");
+    }
+
+    /**
+     * 按分片读取json数组或NDJSON（每行一个json对象）
+     * 描述：根据第一个非空白字符判断格式，'['为json数组，否则为NDJSON，NDJSON中的空行会被忽略
+     *
+     * @param reader    输入
+     * @param clazz     对象类型
+     * @param chunkSize 分片大小
+     * @param consumer  分片处理
+     * @param <T>       对象类型
+     * @return 读取的对象总数
+     * @throws IOException 读取失败
+     */
+    public static <T> int readChunks(Reader reader, Class<T> clazz, int chunkSize, Consumer<List<T>> consumer) throws IOException {
+        BufferedReader bufferedReader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+
+        // 跳过空白字符，判断格式
+        int c;
+        do {
+            bufferedReader.mark(1);
+            c = bufferedReader.read();
+        } while (c != -1 && Character.isWhitespace(c));
+        if (c == -1) {
+            return 0;
+        }
+        bufferedReader.reset();
+
+        int total = 0;
+        List<T> chunk = new ArrayList<>(chunkSize);
+        if (c == '[') {
+            JSONReader jsonReader = new JSONReader(bufferedReader);
+            jsonReader.startArray();
+            while (jsonReader.hasNext()) {
+                chunk.add(jsonReader.readObject(clazz));
+                total++;
+                if (chunk.size() >= chunkSize) {
+                    consumer.accept(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            jsonReader.endArray();
+        } else {
+            String line;
+            while ((line = bufferedReader.readLine()) != null) {
+                if (Util.isNotString(line)) {
+                    continue;
+                }
+                chunk.add(JSON.parseObject(line, clazz));
+                total++;
+                if (chunk.size() >= chunkSize) {
+                    consumer.accept(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            consumer.accept(chunk);
+        }
+
+        return total;
+    }
+}
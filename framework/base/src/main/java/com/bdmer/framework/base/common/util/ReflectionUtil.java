@@ -4,10 +4,10 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 /**
  * 反射工具类
@@ -19,7 +19,7 @@ import java.util.stream.Collectors;
 public class ReflectionUtil {
 
     /**
-     * 获取字段的反射
+     * 获取字段的反射 - 已打开私有访问，不要关闭
      *
      * @param clazz     类类型
      * @param fieldName 字段名称
@@ -31,41 +31,60 @@ public class ReflectionUtil {
             return null;
         }
 
-        // 获取继承链路上所有字段
-        Map<String, Field> fieldMap;
-        List<Field> fieldList = new ArrayList<>();
-        Class tempClass = clazz;
-        // 当父类为null的时候说明到达了最上层的父类(Object类).
-        while (tempClass != null) {
-            fieldList.addAll(Arrays.asList(tempClass.getDeclaredFields()));
-            // 得到父类,然后赋给自己
-            tempClass = tempClass.getSuperclass();
-        }
-        fieldMap = fieldList.stream().collect(Collectors.toMap(Field::getName, e -> e, (k1, k2) -> k1));
-
-        return fieldMap.get(fieldName);
+        return ClassMeta.of(clazz).getField(fieldName);
     }
 
     /**
-     * 获取所有反射字段
+     * 获取所有反射字段 - 已打开私有访问，不要关闭
      *
      * @param clazz 类类型
      * @param <T>   类泛型
-     * @return 反射字段
+     * @return 反射字段，不可修改
      */
     public static <T> Map<String, Field> listAllField(Class<T> clazz) {
-        // 获取继承链路上所有字段
-        Map<String, Field> fieldMap;
-        List<Field> fieldList = new ArrayList<>();
-        Class tempClass = clazz;
-        // 当父类为null的时候说明到达了最上层的父类(Object类).
-        while (tempClass != null) {
-            fieldList.addAll(Arrays.asList(tempClass.getDeclaredFields()));
-            // 得到父类,然后赋给自己
-            tempClass = tempClass.getSuperclass();
+        return ClassMeta.of(clazz).getFieldMap();
+    }
+
+    /**
+     * 浅拷贝 - 需要有无参构造方法
+     *
+     * @param source 源对象
+     * @param <T>    类泛型
+     * @return 拷贝，source为null时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T shallowCopy(T source) {
+        if (source == null) {
+            return null;
         }
-        fieldMap = fieldList.stream().collect(Collectors.toMap(Field::getName, e -> e, (k1, k2) -> k1));
 
-        return fieldMap;
+        return (T) ClassMeta.of(source.getClass()).copy(source);
+    }
+
+    /**
+     * 拷贝查询结果：List拷贝一份，其中的实体浅拷贝，Map元素拷贝；数量等不可变的值原样返回
+     * 描述：查询缓存、相同查询合并把同一份结果交给多个调用时使用，调用方修改结果互不影响
+     *
+     * @param value 查询结果
+     * @param <T>   结果类型
+     * @return 拷贝
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T copyResult(T value) {
+        if (!(value instanceof List)) {
+            return value;
+        }
+
+        List<Object> copyList = new ArrayList<>(((List<?>) value).size());
+        for (Object element : (List<?>) value) {
+            if (element instanceof Map) {
+                copyList.add(new LinkedHashMap<>((Map<?, ?>) element));
+            } else if (Objects.isNull(element) || element instanceof CharSequence || element instanceof Number) {
+                copyList.add(element);
+            } else {
+                copyList.add(shallowCopy(element));
+            }
+        }
+        return (T) copyList;
     }
 }
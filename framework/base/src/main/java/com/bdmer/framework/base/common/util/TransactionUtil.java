@@ -0,0 +1,40 @@
+package com.bdmer.framework.base.common.util;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 编程式事务工具类
+ * 描述：接口默认方法中的this调用和其它线程中的调用都不会经过@Transactional代理，需要事务时使用该类
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+public class TransactionUtil {
+
+    private TransactionUtil() {
+        throw new IllegalStateException("TransactionUtil class");
+    }
+
+    /**
+     * 在事务中执行，当前线程已有事务时加入该事务
+     * 注意：没有Spring上下文（如单元测试）时直接执行
+     *
+     * @param supplier 执行内容
+     * @param <T>      返回类型
+     * @return 执行结果
+     */
+    public static <T> T execute(Supplier<T> supplier) {
+        ApplicationContext applicationContext = SpringContextHolder.getApplicationContext();
+        if (Objects.isNull(applicationContext)) {
+            return supplier.get();
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(applicationContext.getBean(PlatformTransactionManager.class));
+        return transactionTemplate.execute(status -> supplier.get());
+    }
+}
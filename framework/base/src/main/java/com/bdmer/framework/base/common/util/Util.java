@@ -1,9 +1,12 @@
 package com.bdmer.framework.base.common.util;
 
 import com.alibaba.fastjson.JSON;
+import com.bdmer.framework.base.base.config.ServiceException;
 import com.bdmer.framework.base.common.annotation.EntityFieldInfo;
 import com.bdmer.framework.base.common.constant.BaseConstant;
 import com.bdmer.framework.base.common.enums.PropertyTypeEnum;
+import com.bdmer.framework.base.common.meta.EntityMeta;
+import com.bdmer.framework.base.common.meta.EntityMetas;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
@@ -16,9 +19,12 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
@@ -518,66 +524,12 @@ public class Util {
         if (target == null) {
             return target;
         }
-        try {
-
-            List<Field> fieldList = new ArrayList<>();
-
-            Class<?> clazz = target.getClass();
-            // 获取所有属性
-            while (clazz != null) {
-                fieldList.addAll(Arrays.asList(clazz.getDeclaredFields()));
-                //得到父类,然后赋给自己
-                clazz = clazz.getSuperclass();
-            }
 
-            Field[] fields = fieldList.toArray(new Field[0]);
-            if (fields.length == 0) {
-                return target;
-            }
-
-            // 遍历所有的属性
-            for (Field field : fields) {
-                // 得到属性
-                // 打开私有访问
-                field.setAccessible(true);
-                // 获取属性值
-                Object value = field.get(target);
-                // 获取属性类型
-                String type = field.getType().getTypeName();
-                PropertyTypeEnum propertyTypeEnum = PropertyTypeEnum.getEnumByName(type);
-                if (propertyTypeEnum == null) {
-                    continue;
-                }
-                switch (propertyTypeEnum) {
-                    case BYTE:
-                        value = value == null ? Byte.valueOf((byte) 0) : value;
-                        break;
-                    case INTEGER:
-                        value = value == null ? 0 : value;
-                        break;
-                    case LONG:
-                        value = value == null ? 0L : value;
-                        break;
-                    case FLOAT:
-                        value = value == null ? Float.valueOf(0) : value;
-                        break;
-                    case DOUBLE:
-                        value = value == null ? Double.valueOf(0) : value;
-                        break;
-                    case STRING:
-                        value = value == null ? "" : value;
-                        break;
-                    case BIG_DECIMAL:
-                        value = value == null ? BigDecimal.ZERO : value;
-                        break;
-                    default:
-                        break;
-                }
-                // 重新设置属性值
-                field.set(target, value);
-            }
+        // 按类编译好的默认值填充，有编译时生成的元数据时访问器使用生成的getter/setter
+        try {
+            DefaultValueFiller.of(target.getClass()).fill(target);
         } catch (Exception e) {
-            log.info("【实体属性校验失败】target:{},异常信息:{}", JSON.toJSONString(target), JSON.toJSONString(e));
+            log.info("【实体属性校验失败】class:{},异常信息:{}", target.getClass().getName(), e.getMessage());
         }
 
         return target;
@@ -594,74 +546,14 @@ public class Util {
             return;
         }
 
-        // 开始设置默认值
+        // 按类编译好的默认值填充，一次遍历
         try {
-
-            List<Field> fieldList = new ArrayList<>();
-            Class<?> clazz = targetList.get(0).getClass();
-
-            // 获取所有属性
-            while (clazz != null) {
-                fieldList.addAll(Arrays.asList(clazz.getDeclaredFields()));
-                //得到父类,然后赋给自己
-                clazz = clazz.getSuperclass();
-            }
-
-            // 遍历所有的属性
-            for (Field field : fieldList) {
-                // 打开私有访问
-                field.setAccessible(true);
-                // 获取属性类型
-                String type = field.getType().getTypeName();
-                PropertyTypeEnum propertyTypeEnum = PropertyTypeEnum.getEnumByName(type);
-                if (Objects.isNull(propertyTypeEnum)) {
-                    continue;
-                }
-
-                // 给所有对象设置默认值
-                for (T target : targetList) {
-                    // 获取属性值
-                    Object value = field.get(target);
-
-                    // 重新设置属性值
-                    switch (propertyTypeEnum) {
-                        case BYTE:
-                            value = Objects.isNull(value) ? Byte.valueOf((byte) 0) : value;
-                            break;
-                        case INTEGER:
-                            value = Objects.isNull(value) ? 0 : value;
-                            break;
-                        case LONG:
-                            value = Objects.isNull(value) ? 0L : value;
-                            break;
-                        case FLOAT:
-                            value = Objects.isNull(value) ? Float.valueOf(0) : value;
-                            break;
-                        case DOUBLE:
-                            value = Objects.isNull(value) ? Double.valueOf(0) : value;
-                            break;
-                        case STRING:
-                            value = Objects.isNull(value) ? "" : value;
-                            break;
-                        case BIG_DECIMAL:
-                            value = Objects.isNull(value) ? BigDecimal.ZERO : value;
-                            break;
-                        default:
-                            break;
-                    }
-
-                    // 重新设置属性值
-                    field.set(target, value);
-                }
-
-                // 关闭私有访问
-                field.setAccessible(false);
-            }
+            DefaultValueFiller.of(targetList.get(0).getClass()).fillAll(targetList);
         } catch (Exception e) {
-            log.info("【批量设置实体属性默认值】targetList:{},异常信息:{}", JSON.toJSONString(targetList), JSON.toJSONString(e));
+            log.info("【批量设置实体属性默认值】class:{},异常信息:{}", targetList.get(0).getClass().getName(), e.getMessage());
         }
     }
-    
+
     /**
      * ListEntity转List - eg: idList
      *
@@ -678,39 +570,23 @@ public class Util {
             return result;
         }
 
-        // 获取字段对应的映射
-        Field field = ReflectionUtil.getFiledByName(entityList.get(0).getClass(), fieldName);
-        if (Objects.isNull(field)) {
+        // 获取字段对应的访问器
+        PropertyAccessor accessor = Util.getAccessor(entityList, fieldName);
+        if (Objects.isNull(accessor)) {
             return result;
         }
 
         // 使用Java Stream转化为Map
-        field.setAccessible(Boolean.TRUE);
-
         try {
-            result = entityList.stream().filter(e -> {
-                try {
-                    return Objects.nonNull(e) && Objects.nonNull(field.get(e));
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError("Util List转List失败, ex", ex);
-                    return false;
-                }
-            }).map(e -> {
-                V value = null;
-                try {
-                    value = (V) field.get(e);
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError("Util List转List失败, ex", ex);
-                }
-                return value;
-            }).distinct().collect(Collectors.toList());
+            result = entityList.stream()
+                    .filter(e -> Objects.nonNull(e) && Objects.nonNull(accessor.get(e)))
+                    .map(e -> (V) accessor.get(e))
+                    .distinct().collect(Collectors.toList());
 
         } catch (Exception e) {
             LogUtils.logError("Util List转List失败, e", e);
         }
 
-        field.setAccessible(Boolean.FALSE);
-
         return result;
     }
 
@@ -751,39 +627,22 @@ public class Util {
             return result;
         }
 
-        // 获取字段对应的映射
-        Field field = ReflectionUtil.getFiledByName(entityList.get(0).getClass(), key);
-        if (Objects.isNull(field)) {
+        // 获取字段对应的访问器
+        PropertyAccessor accessor = Util.getAccessor(entityList, key);
+        if (Objects.isNull(accessor)) {
             return result;
         }
 
         // 使用Java Stream转化为Map
-        field.setAccessible(Boolean.TRUE);
-
         try {
-            result = entityList.stream().filter(e -> {
-                try {
-                    return Objects.nonNull(e) && Objects.nonNull(field.get(e));
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError("Util List转Map失败, ex", ex);
-                    return false;
-                }
-            }).collect(Collectors.toMap(e -> {
-                K keyV = null;
-                try {
-                    keyV = (K) field.get(e);
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError("Util List转Map失败, ex", ex);
-                }
-                return keyV;
-            }, e -> e, (k1, k2) -> k1));
+            result = entityList.stream()
+                    .filter(e -> Objects.nonNull(e) && Objects.nonNull(accessor.get(e)))
+                    .collect(Collectors.toMap(e -> (K) accessor.get(e), e -> e, (k1, k2) -> k1));
 
         } catch (Exception e) {
             LogUtils.logError("Util List转Map失败, e", e);
         }
 
-        field.setAccessible(Boolean.FALSE);
-
         return result;
     }
 
@@ -806,51 +665,24 @@ public class Util {
             return result;
         }
 
-        // 获取字段对应的映射
-        Field field1 = ReflectionUtil.getFiledByName(entityList.get(0).getClass(), key1);
-        Field field2 = ReflectionUtil.getFiledByName(entityList.get(0).getClass(), key2);
-        if (Objects.isNull(field1) || Objects.isNull(field2)) {
+        // 获取字段对应的访问器
+        PropertyAccessor accessor1 = Util.getAccessor(entityList, key1);
+        PropertyAccessor accessor2 = Util.getAccessor(entityList, key2);
+        if (Objects.isNull(accessor1) || Objects.isNull(accessor2)) {
             return result;
         }
 
         // 使用Java Stream转化为Map
-        field1.setAccessible(Boolean.TRUE);
-        field2.setAccessible(Boolean.TRUE);
-
         String errorMsg = "Util List转Map1失败, ex";
         try {
-            result = entityList.stream().filter(e -> {
-                try {
-                    return Objects.nonNull(e) && Objects.nonNull(field1.get(e)) && Objects.nonNull(field2.get(e));
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError(errorMsg, ex);
-                    return false;
-                }
-            }).collect(Collectors.toMap(e -> {
-                K1 key1V = null;
-                try {
-                    key1V = (K1) field1.get(e);
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError(errorMsg, ex);
-                }
-                return key1V;
-            }, e -> {
-                K2 key2V = null;
-                try {
-                    key2V = (K2) field2.get(e);
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError(errorMsg, ex);
-                }
-                return key2V;
-            }, (k1, k2) -> k1));
+            result = entityList.stream()
+                    .filter(e -> Objects.nonNull(e) && Objects.nonNull(accessor1.get(e)) && Objects.nonNull(accessor2.get(e)))
+                    .collect(Collectors.toMap(e -> (K1) accessor1.get(e), e -> (K2) accessor2.get(e), (k1, k2) -> k1));
 
         } catch (Exception e) {
             LogUtils.logError(errorMsg, e);
         }
 
-        field1.setAccessible(Boolean.FALSE);
-        field2.setAccessible(Boolean.FALSE);
-
         return result;
     }
 
@@ -873,51 +705,25 @@ public class Util {
             return result;
         }
 
-        // 获取字段对应的映射
-        Field field1 = ReflectionUtil.getFiledByName(entityList.get(0).getClass(), key1);
-        Field field2 = ReflectionUtil.getFiledByName(entityList.get(0).getClass(), key2);
-        if (Objects.isNull(field1) || Objects.isNull(field2)) {
+        // 获取字段对应的访问器
+        PropertyAccessor accessor1 = Util.getAccessor(entityList, key1);
+        PropertyAccessor accessor2 = Util.getAccessor(entityList, key2);
+        if (Objects.isNull(accessor1) || Objects.isNull(accessor2)) {
             return result;
         }
 
         // 使用Java Stream转化为Map
-        field1.setAccessible(Boolean.TRUE);
-        field2.setAccessible(Boolean.TRUE);
-
         String errorMsg = "Util List转MapMap失败, ex";
         try {
-            result = entityList.stream().filter(e -> {
-                try {
-                    return Objects.nonNull(e) && Objects.nonNull(field1.get(e)) && Objects.nonNull(field2.get(e));
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError(errorMsg, ex);
-                    return false;
-                }
-            }).collect(Collectors.groupingBy(e -> {
-                K1 key1V = null;
-                try {
-                    key1V = (K1) field1.get(e);
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError(errorMsg, ex);
-                }
-                return key1V;
-            }, Collectors.toMap(e -> {
-                K2 key2V = null;
-                try {
-                    key2V = (K2) field2.get(e);
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError(errorMsg, ex);
-                }
-                return key2V;
-            }, e -> e, (k1, k2) -> k1)));
+            result = entityList.stream()
+                    .filter(e -> Objects.nonNull(e) && Objects.nonNull(accessor1.get(e)) && Objects.nonNull(accessor2.get(e)))
+                    .collect(Collectors.groupingBy(e -> (K1) accessor1.get(e),
+                            Collectors.toMap(e -> (K2) accessor2.get(e), e -> e, (k1, k2) -> k1)));
 
         } catch (Exception e) {
             LogUtils.logError(errorMsg, e);
         }
 
-        field1.setAccessible(Boolean.FALSE);
-        field2.setAccessible(Boolean.FALSE);
-
         return result;
     }
 
@@ -938,39 +744,22 @@ public class Util {
             return result;
         }
 
-        // 获取字段对应的映射
-        Field field = ReflectionUtil.getFiledByName(entityList.get(0).getClass(), key);
-        if (Objects.isNull(field)) {
+        // 获取字段对应的访问器
+        PropertyAccessor accessor = Util.getAccessor(entityList, key);
+        if (Objects.isNull(accessor)) {
             return result;
         }
 
         // 使用Java Stream转化为Map
-        field.setAccessible(Boolean.TRUE);
-
         try {
-            result = entityList.stream().filter(e -> {
-                try {
-                    return Objects.nonNull(e) && Objects.nonNull(field.get(e));
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError("Util List转GroupMap失败, ex", ex);
-                    return false;
-                }
-            }).collect(Collectors.groupingBy(e -> {
-                K keyV = null;
-                try {
-                    keyV = (K) field.get(e);
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError("Util List转GroupMap失败, ex", ex);
-                }
-                return keyV;
-            }));
+            result = entityList.stream()
+                    .filter(e -> Objects.nonNull(e) && Objects.nonNull(accessor.get(e)))
+                    .collect(Collectors.groupingBy(e -> (K) accessor.get(e)));
 
         } catch (Exception e) {
             LogUtils.logError("Util List转GroupMap失败, e", e);
         }
 
-        field.setAccessible(Boolean.FALSE);
-
         return result;
     }
 
@@ -993,51 +782,25 @@ public class Util {
             return result;
         }
 
-        // 获取字段对应的映射
-        Field field1 = ReflectionUtil.getFiledByName(entityList.get(0).getClass(), key1);
-        Field field2 = ReflectionUtil.getFiledByName(entityList.get(0).getClass(), key2);
-        if (Objects.isNull(field1) || Objects.isNull(field2)) {
+        // 获取字段对应的访问器
+        PropertyAccessor accessor1 = Util.getAccessor(entityList, key1);
+        PropertyAccessor accessor2 = Util.getAccessor(entityList, key2);
+        if (Objects.isNull(accessor1) || Objects.isNull(accessor2)) {
             return result;
         }
 
         // 使用Java Stream转化为Map
-        field1.setAccessible(Boolean.TRUE);
-        field2.setAccessible(Boolean.TRUE);
-
         String errorMsg = "Util List转MapGroupMap失败, ex";
         try {
-            result = entityList.stream().filter(e -> {
-                try {
-                    return Objects.nonNull(e) && Objects.nonNull(field1.get(e)) && Objects.nonNull(field2.get(e));
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError(errorMsg, ex);
-                    return false;
-                }
-            }).collect(Collectors.groupingBy(e -> {
-                K1 key1V = null;
-                try {
-                    key1V = (K1) field1.get(e);
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError(errorMsg, ex);
-                }
-                return key1V;
-            }, Collectors.groupingBy(e -> {
-                K2 key2V = null;
-                try {
-                    key2V = (K2) field2.get(e);
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError(errorMsg, ex);
-                }
-                return key2V;
-            })));
+            result = entityList.stream()
+                    .filter(e -> Objects.nonNull(e) && Objects.nonNull(accessor1.get(e)) && Objects.nonNull(accessor2.get(e)))
+                    .collect(Collectors.groupingBy(e -> (K1) accessor1.get(e),
+                            Collectors.groupingBy(e -> (K2) accessor2.get(e))));
 
         } catch (Exception e) {
             LogUtils.logError(errorMsg, e);
         }
 
-        field1.setAccessible(Boolean.FALSE);
-        field2.setAccessible(Boolean.FALSE);
-
         return result;
     }
 
@@ -1056,33 +819,19 @@ public class Util {
             return result;
         }
 
-        // 获取字段对应的映射
-        Field field = ReflectionUtil.getFiledByName(entityList.get(0).getClass(), key);
-        if (Objects.isNull(field)) {
+        // 获取字段对应的访问器
+        PropertyAccessor accessor = Util.getAccessor(entityList, key);
+        if (Objects.isNull(accessor)) {
             return result;
         }
 
-        // 使用Java Stream转化为Map
-        field.setAccessible(Boolean.TRUE);
-
         try {
-            result = entityList.stream().filter(
-                    distinctByKey(e -> {
-                        try {
-                            return field.get(e);
-                        } catch (IllegalAccessException ex) {
-                            LogUtils.logError("Util List根据字段去重失败, ex", ex);
-                            return false;
-                        }
-                    })
-            ).collect(Collectors.toList());
+            result = entityList.stream().filter(distinctByKey(accessor::get)).collect(Collectors.toList());
 
         } catch (Exception e) {
             LogUtils.logError("Util List根据字段去重失败, e", e);
         }
 
-        field.setAccessible(Boolean.FALSE);
-
         return result;
     }
 
@@ -1101,17 +850,15 @@ public class Util {
             return result;
         }
 
-        // 获取字段对应的映射
-        Map<String, Field> fields = ReflectionUtil.listAllField(entityList.get(0).getClass());
-        List<Field> fieldList = new ArrayList<>();
+        // 获取字段对应的访问器
+        List<PropertyAccessor> accessorList = new ArrayList<>();
         for (String key : keys) {
-            Field field = fields.get(key);
-            if (Objects.nonNull(field)) {
-                field.setAccessible(Boolean.TRUE);
-                fieldList.add(field);
+            PropertyAccessor accessor = Util.getAccessor(entityList, key);
+            if (Objects.nonNull(accessor)) {
+                accessorList.add(accessor);
             }
         }
-        if (Util.isNull(fieldList)) {
+        if (Util.isNull(accessorList)) {
             return result;
         }
 
@@ -1119,16 +866,11 @@ public class Util {
         try {
             result = entityList.stream().filter(
                     distinctByKey(e -> {
-                        try {
-                            StringBuilder distinctKey = new StringBuilder();
-                            for (Field field : fieldList) {
-                                distinctKey.append(field.get(e));
-                            }
-                            return distinctKey.toString();
-                        } catch (IllegalAccessException ex) {
-                            LogUtils.logError("Util List根据多字段去重失败, ex", ex);
-                            return false;
+                        StringBuilder distinctKey = new StringBuilder();
+                        for (PropertyAccessor accessor : accessorList) {
+                            distinctKey.append(accessor.get(e));
                         }
+                        return distinctKey.toString();
                     })
             ).collect(Collectors.toList());
 
@@ -1136,10 +878,6 @@ public class Util {
             LogUtils.logError("Util List根据多字段去重失败, e", e);
         }
 
-        // 关闭访问权限
-        fieldList.forEach(field -> field.setAccessible(Boolean.FALSE));
-
-
         return result;
     }
 
@@ -1155,6 +893,22 @@ public class Util {
         return t -> map.putIfAbsent(keyExtractor.apply(t), Boolean.TRUE) == null;
     }
 
+    /**
+     * 获取第一个实体的类上的属性访问器
+     * 注意：有getter/setter时通过getter/setter读写，不再直接读写字段
+     *
+     * @param entityList list数据
+     * @param fieldName  字段名称
+     * @return 访问器，字段不存在返回null
+     */
+    private static PropertyAccessor getAccessor(List<?> entityList, String fieldName) {
+        if (!Util.isString(fieldName)) {
+            return null;
+        }
+
+        return ClassMeta.of(entityList.get(0).getClass()).getAccessor(fieldName);
+    }
+
     /**
      * List根据某个字段求和
      *
@@ -1169,41 +923,23 @@ public class Util {
             return result;
         }
 
-        // 获取字段对应的映射
-        Field field = ReflectionUtil.getFiledByName(entityList.get(0).getClass(), key);
-        if (Objects.isNull(field)) {
+        // 获取字段对应的访问器
+        PropertyAccessor accessor = Util.getAccessor(entityList, key);
+        if (Objects.isNull(accessor)) {
             return result;
         }
 
-        // 开始权限
-        field.setAccessible(Boolean.TRUE);
-
-        // 使用Java Stream转化为Map
+        // 使用Java Stream求和
         try {
-            result = entityList.stream().filter(e -> {
-                try {
-                    return Objects.nonNull(e) && Objects.nonNull(field.get(e));
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError("Util List根据某个字段求和, ex", ex);
-                    return false;
-                }
-            }).map(e -> {
-                BigDecimal keyV = BigDecimal.ZERO;
-                try {
-                    keyV = (BigDecimal) field.get(e);
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError("Util List根据某个字段求和, ex", ex);
-                }
-                return keyV;
-            }).reduce(BigDecimal.ZERO, BigDecimal::add);
+            result = entityList.stream()
+                    .filter(e -> Objects.nonNull(e) && Objects.nonNull(accessor.get(e)))
+                    .map(e -> (BigDecimal) accessor.get(e))
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         } catch (Exception e) {
             LogUtils.logError("Util List根据某个字段求和, e", e);
         }
 
-        // 关闭权限
-        field.setAccessible(Boolean.FALSE);
-
         return result;
     }
 
@@ -1221,41 +957,23 @@ public class Util {
             return result;
         }
 
-        // 获取字段对应的映射
-        Field field = ReflectionUtil.getFiledByName(entityList.get(0).getClass(), key);
-        if (Objects.isNull(field)) {
+        // 获取字段对应的访问器
+        PropertyAccessor accessor = Util.getAccessor(entityList, key);
+        if (Objects.isNull(accessor)) {
             return result;
         }
 
-        // 开始权限
-        field.setAccessible(Boolean.TRUE);
-
-        // 使用Java Stream转化为Map
+        // 使用Java Stream求和
         try {
-            result = entityList.stream().filter(e -> {
-                try {
-                    return Objects.nonNull(e) && Objects.nonNull(field.get(e));
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError("Util List根据某个字段品均值, ex", ex);
-                    return false;
-                }
-            }).map(e -> {
-                BigDecimal keyV = BigDecimal.ZERO;
-                try {
-                    keyV = (BigDecimal) field.get(e);
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError("Util List根据某个字段品均值, ex", ex);
-                }
-                return keyV;
-            }).reduce(BigDecimal.ZERO, BigDecimal::add);
+            result = entityList.stream()
+                    .filter(e -> Objects.nonNull(e) && Objects.nonNull(accessor.get(e)))
+                    .map(e -> (BigDecimal) accessor.get(e))
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         } catch (Exception e) {
             LogUtils.logError("Util List根据某个字段品均值, e", e);
         }
 
-        // 关闭权限
-        field.setAccessible(Boolean.FALSE);
-
         return result.divide(BigDecimal.valueOf(entityList.size()), 6, RoundingMode.HALF_UP);
     }
 
@@ -1277,53 +995,25 @@ public class Util {
             return result;
         }
 
-        // 获取字段对应的映射
-        Field field1 = ReflectionUtil.getFiledByName(entityList.get(0).getClass(), key1);
-        Field field2 = ReflectionUtil.getFiledByName(entityList.get(0).getClass(), key2);
-        if (Objects.isNull(field1) || Objects.isNull(field2)) {
+        // 获取字段对应的访问器
+        PropertyAccessor accessor1 = Util.getAccessor(entityList, key1);
+        PropertyAccessor accessor2 = Util.getAccessor(entityList, key2);
+        if (Objects.isNull(accessor1) || Objects.isNull(accessor2)) {
             return result;
         }
 
-        // 开始权限
-        field1.setAccessible(Boolean.TRUE);
-        field2.setAccessible(Boolean.TRUE);
-
         // 使用Java Stream分类求和
         String errorMsg = "Util List归类求和, ex";
         try {
-            result = entityList.stream().filter(e -> {
-                try {
-                    return Objects.nonNull(e) && Objects.nonNull(field1.get(e)) && Objects.nonNull(field2.get(e));
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError(errorMsg, ex);
-                    return false;
-                }
-            }).collect(Collectors.groupingBy(e -> {
-                K1 key1V = null;
-                try {
-                    key1V = (K1) field1.get(e);
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError(errorMsg, ex);
-                }
-                return key1V;
-            }, Collectors.reducing(BigDecimal.ZERO, e -> {
-                BigDecimal key2V = BigDecimal.ZERO;
-                try {
-                    key2V = (BigDecimal) field2.get(e);
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError(errorMsg, ex);
-                }
-                return key2V;
-            }, BigDecimal::add)));
+            result = entityList.stream()
+                    .filter(e -> Objects.nonNull(e) && Objects.nonNull(accessor1.get(e)) && Objects.nonNull(accessor2.get(e)))
+                    .collect(Collectors.groupingBy(e -> (K1) accessor1.get(e),
+                            Collectors.reducing(BigDecimal.ZERO, e -> (BigDecimal) accessor2.get(e), BigDecimal::add)));
 
         } catch (Exception e) {
             LogUtils.logError(errorMsg, e);
         }
 
-        // 关闭权限
-        field1.setAccessible(Boolean.FALSE);
-        field2.setAccessible(Boolean.FALSE);
-
         return result;
     }
 
@@ -1345,70 +1035,29 @@ public class Util {
             return result;
         }
 
-        // 获取字段对应的映射
-        Field field1 = ReflectionUtil.getFiledByName(entityList.get(0).getClass(), key1);
-        Field field2 = ReflectionUtil.getFiledByName(entityList.get(0).getClass(), key2);
-        if (Objects.isNull(field1) || Objects.isNull(field2)) {
+        // 获取字段对应的访问器
+        PropertyAccessor accessor1 = Util.getAccessor(entityList, key1);
+        PropertyAccessor accessor2 = Util.getAccessor(entityList, key2);
+        if (Objects.isNull(accessor1) || Objects.isNull(accessor2)) {
             return result;
         }
 
-        // 开始权限
-        field1.setAccessible(Boolean.TRUE);
-        field2.setAccessible(Boolean.TRUE);
-
         // 使用Java Stream分类求和
         String errorMsg = "Util List归类平均, ex";
         try {
-            result = entityList.stream().filter(e -> {
-                try {
-                    return Objects.nonNull(e) && Objects.nonNull(field1.get(e)) && Objects.nonNull(field2.get(e));
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError(errorMsg, ex);
-                    return false;
-                }
-            }).collect(Collectors.groupingBy(e -> {
-                K1 key1V = null;
-                try {
-                    key1V = (K1) field1.get(e);
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError(errorMsg, ex);
-                }
-                return key1V;
-            }, Collectors.reducing(BigDecimal.ZERO, e -> {
-                BigDecimal key2V = BigDecimal.ZERO;
-                try {
-                    key2V = (BigDecimal) field2.get(e);
-                } catch (IllegalAccessException ex) {
-                    LogUtils.logError(errorMsg, ex);
-                }
-                return key2V;
-            }, BigDecimal::add)));
+            result = entityList.stream()
+                    .filter(e -> Objects.nonNull(e) && Objects.nonNull(accessor1.get(e)) && Objects.nonNull(accessor2.get(e)))
+                    .collect(Collectors.groupingBy(e -> (K1) accessor1.get(e),
+                            Collectors.reducing(BigDecimal.ZERO, e -> (BigDecimal) accessor2.get(e), BigDecimal::add)));
 
         } catch (Exception e) {
             LogUtils.logError(errorMsg, e);
         }
 
-        // 关闭权限
-        field1.setAccessible(Boolean.FALSE);
-        field2.setAccessible(Boolean.FALSE);
-
         // 归类获取总数
-        Map<K1, Long> resultCountGroupMap = entityList.stream().filter(e -> {
-            try {
-                return Objects.nonNull(e) && Objects.nonNull(field1.get(e)) && Objects.nonNull(field2.get(e));
-            } catch (IllegalAccessException ex) {
-                LogUtils.logError(errorMsg, ex);
-                return false;
-            }
-        }).collect(Collectors.groupingBy(e -> {
-            K1 key1V = null;
-            try {
-                key1V = (K1) field1.get(e);
-            } catch (IllegalAccessException ex) {
-                LogUtils.logError(errorMsg, ex);
-            }
-            return key1V;
-        }, Collectors.counting()));
+        Map<K1, Long> resultCountGroupMap = entityList.stream()
+                .filter(e -> Objects.nonNull(e) && Objects.nonNull(accessor1.get(e)) && Objects.nonNull(accessor2.get(e)))
+                .collect(Collectors.groupingBy(e -> (K1) accessor1.get(e), Collectors.counting()));
 
         // 计算平均值
         for (Map.Entry<K1, BigDecimal> entry : result.entrySet()) {
@@ -1485,6 +1134,29 @@ public class Util {
         return result;
     }
 
+    /**
+     * 按需获取字段时补上必须的字段
+     * 描述：cols为空时表示获取全部字段，原样返回；否则把不在cols中的requiredCols加到最后
+     *
+     * @param cols         需要字段
+     * @param requiredCols 必须的字段，为null的忽略
+     * @return 补充后的字段
+     */
+    public static String[] withCols(String[] cols, String... requiredCols) {
+        if (Util.isNull(cols) || Util.isNull(requiredCols)) {
+            return cols;
+        }
+
+        List<String> colList = new ArrayList<>(Arrays.asList(cols));
+        for (String col : requiredCols) {
+            if (Util.isString(col) && !colList.contains(col)) {
+                colList.add(col);
+            }
+        }
+
+        return colList.size() == cols.length ? cols : colList.toArray(new String[0]);
+    }
+
     /**
      * 格式化cols - 兼容架构的cols:["id","name"...]类型的传参。把[、]、"等符号去掉
      *
@@ -1529,41 +1201,36 @@ public class Util {
 
         // 返回字符准备
         StringBuilder stringBuilder = new StringBuilder();
-        // 反射MAP准备
-        Map<String, Field> fieldMap;
+        // 反射元数据准备
+        ClassMeta classMeta;
 
         String modifiedMsg = "\"修改为\"";
         int maxModifyLength = 20;
         try {
             // 获取全部的反射字段
-            fieldMap = ReflectionUtil.listAllField(newEntity.getClass());
+            classMeta = ClassMeta.of(newEntity.getClass());
 
             // 开始遍历字段，添加变化的信息
-            for (Map.Entry<String, Field> entry : fieldMap.entrySet()) {
+            for (Map.Entry<String, Field> entry : classMeta.getFieldMap().entrySet()) {
                 String fieldName = entry.getKey();
                 Field field = entry.getValue();
 
                 // 获取属性类型 - 只判断在PropertyTypeEnum类型中的类型字段
-                String type = field.getType().getTypeName();
-                PropertyTypeEnum propertyTypeEnum = PropertyTypeEnum.getEnumByName(type);
+                PropertyTypeEnum propertyTypeEnum = classMeta.getPropertyType(fieldName);
                 if (propertyTypeEnum == null) {
                     continue;
                 }
 
                 // 获取字段注解信息
-                EntityFieldInfo fieldInfo = field.getAnnotation(EntityFieldInfo.class);
+                EntityFieldInfo fieldInfo = classMeta.getFieldInfo(fieldName);
                 if (Objects.isNull(fieldInfo)) {
                     continue;
                 }
 
-                // 打开私有访问
-                field.setAccessible(Boolean.TRUE);
                 // 获取属性值
                 Object newValue = field.get(newEntity);
                 // 获取属性值
                 Object oldValue = field.get(oldEntity);
-                // 关闭私有访问
-                field.setAccessible(Boolean.FALSE);
 
                 switch (propertyTypeEnum) {
                     case BYTE:
@@ -1663,4 +1330,178 @@ public class Util {
 
         return stringBuilder.length() > 0 ? stringBuilder.deleteCharAt(stringBuilder.length() - 1).toString() : stringBuilder.toString();
     }
+
+    /**
+     * 获取List中所有实体非null的字段名（并集）
+     * 注意：用于判断批量更新实际涉及的列，不包含static字段和excludeNames中的字段
+     *
+     * @param entityList   实体List
+     * @param excludeNames 排除的字段名，如：id
+     * @param <T>          泛型
+     * @return 非null的字段名
+     */
+    public static <T> Set<String> listNonNullFieldNames(List<T> entityList, String... excludeNames) {
+        Set<String> result = new HashSet<>();
+        if (Util.isNull(entityList)) {
+            return result;
+        }
+
+        // 访问器在有编译时生成的元数据时使用生成的getter
+        List<String> excludeList = Arrays.asList(excludeNames);
+        ClassMeta meta = ClassMeta.of(entityList.get(0).getClass());
+        for (Field field : meta.getInstanceFieldList()) {
+            if (excludeList.contains(field.getName())) {
+                continue;
+            }
+
+            PropertyAccessor accessor = meta.getAccessor(field.getName());
+            for (T entity : entityList) {
+                if (Objects.nonNull(entity) && Objects.nonNull(accessor.get(entity))) {
+                    result.add(field.getName());
+                    break;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * 按id合并List中重复的实体
+     * 注意：用于单条语句的批量更新（如CASE WHEN），同一个id出现多次时语句只会取第一个值。
+     * 合并结果与按顺序逐条更新一致：后面的实体中非null的字段覆盖前面的；合并时使用副本，不修改原实体。
+     * 没有重复时直接返回原List
+     *
+     * @param entityList 实体List
+     * @param idName     id字段名
+     * @param <T>        泛型
+     * @return 每个id只有一个实体的List，按id第一次出现的顺序
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> mergeById(List<T> entityList, String idName) {
+        if (Util.isNull(entityList)) {
+            return entityList;
+        }
+
+        ClassMeta meta = ClassMeta.of(entityList.get(0).getClass());
+        PropertyAccessor idAccessor = meta.getAccessor(idName);
+        if (Objects.isNull(idAccessor)) {
+            return entityList;
+        }
+
+        Map<Object, T> entityMap = new LinkedHashMap<>();
+        boolean repeated = false;
+        for (T entity : entityList) {
+            T existing = entityMap.putIfAbsent(idAccessor.get(entity), entity);
+            if (Objects.nonNull(existing)) {
+                repeated = true;
+                break;
+            }
+        }
+        if (!repeated) {
+            return entityList;
+        }
+
+        entityMap.clear();
+        Set<Object> copiedIdSet = new HashSet<>();
+        try {
+            for (T entity : entityList) {
+                Object id = idAccessor.get(entity);
+                T merged = entityMap.get(id);
+                if (Objects.isNull(merged)) {
+                    entityMap.put(id, entity);
+                    continue;
+                }
+                // 第一次合并时创建副本
+                if (copiedIdSet.add(id)) {
+                    merged = (T) meta.copy(merged);
+                    entityMap.put(id, merged);
+                }
+                for (Field field : meta.getInstanceFieldList()) {
+                    Object value = field.get(entity);
+                    if (Objects.nonNull(value)) {
+                        field.set(merged, value);
+                    }
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new ServiceException("合并" + meta.getType().getName() + "失败", e);
+        }
+
+        return new ArrayList<>(entityMap.values());
+    }
+
+    /**
+     * 获取只包含变化字段的实体副本
+     * 注意：用于更新前的脏检查。新实体中为null的字段不认为是修改；static字段、基本类型字段不处理；
+     * keepNames中的字段（如：id）总是保留。没有任何变化或者副本创建失败时分别返回null、原实体
+     *
+     * @param oldEntity 旧实体，可以是新实体的父类
+     * @param newEntity 新实体
+     * @param keepNames 总是保留的字段名
+     * @param <T>       泛型
+     * @return 只包含变化字段的副本，没有变化返回null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T getChangedEntity(Object oldEntity, T newEntity, String... keepNames) {
+        if (Objects.isNull(oldEntity) || Objects.isNull(newEntity)) {
+            return newEntity;
+        }
+
+        List<String> keepList = Arrays.asList(keepNames);
+        ClassMeta newMeta = ClassMeta.of(newEntity.getClass());
+        T changedEntity;
+        try {
+            changedEntity = (T) newMeta.newInstance();
+        } catch (ReflectiveOperationException e) {
+            LogUtils.logError("获取变化字段失败 e:", e);
+            return newEntity;
+        }
+
+        // 同一个类且有编译时生成的元数据时使用生成的diff
+        EntityMeta<T> entityMeta = oldEntity.getClass() == newEntity.getClass() ? EntityMetas.of((Class<T>) newEntity.getClass()) : null;
+        if (Objects.nonNull(entityMeta)) {
+            List<String> changedNames = entityMeta.diff((T) oldEntity, newEntity);
+            if (changedNames.isEmpty()) {
+                return null;
+            }
+            for (String name : changedNames) {
+                entityMeta.setter(name).accept(changedEntity, entityMeta.getter(name).apply(newEntity));
+            }
+            for (String name : keepList) {
+                Function<T, Object> getter = entityMeta.getter(name);
+                if (Objects.nonNull(getter) && Objects.nonNull(getter.apply(newEntity))) {
+                    entityMeta.setter(name).accept(changedEntity, getter.apply(newEntity));
+                }
+            }
+            return changedEntity;
+        }
+
+        ClassMeta oldMeta = ClassMeta.of(oldEntity.getClass());
+        boolean changed = false;
+        for (Field field : newMeta.getInstanceFieldList()) {
+            if (field.getType().isPrimitive()) {
+                continue;
+            }
+
+            PropertyAccessor accessor = newMeta.getAccessor(field.getName());
+            Object newValue = accessor.get(newEntity);
+            if (Objects.isNull(newValue)) {
+                continue;
+            }
+            if (keepList.contains(field.getName())) {
+                accessor.set(changedEntity, newValue);
+                continue;
+            }
+
+            // 旧实体没有该字段时认为有变化
+            PropertyAccessor oldAccessor = oldMeta.getAccessor(field.getName());
+            if (Objects.isNull(oldAccessor) || !EntityMetas.equal(oldAccessor.get(oldEntity), newValue)) {
+                accessor.set(changedEntity, newValue);
+                changed = true;
+            }
+        }
+
+        return changed ? changedEntity : null;
+    }
 }
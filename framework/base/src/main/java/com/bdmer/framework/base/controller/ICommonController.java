@@ -1,23 +1,43 @@
 package com.bdmer.framework.base.controller;
 
 import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.SerializeFilter;
+import com.alibaba.fastjson.serializer.SimplePropertyPreFilter;
 import com.bdmer.framework.base.base.config.ServiceException;
 import com.bdmer.framework.base.common.annotation.MethodTrackLog;
+import com.bdmer.framework.base.common.constant.MysqlConstant;
+import com.bdmer.framework.base.common.enums.ChunkStatusEnum;
 import com.bdmer.framework.base.common.enums.CommonResponseCodesEnum;
+import com.bdmer.framework.base.common.util.JsonStreamUtil;
 import com.bdmer.framework.base.common.util.LogUtils;
 import com.bdmer.framework.base.common.util.ReflectionUtil;
 import com.bdmer.framework.base.common.util.Util;
+import com.bdmer.framework.base.dto.BatchResult;
+import com.bdmer.framework.base.dto.ChunkStat;
 import com.bdmer.framework.base.dto.CommonResponse;
+import com.bdmer.framework.base.dto.CountResult;
+import com.bdmer.framework.base.dto.ImportProgress;
 import com.bdmer.framework.base.dto.PageInfo;
+import com.bdmer.framework.base.dto.PageResult;
 import com.bdmer.framework.base.dto.R;
 import com.bdmer.framework.base.service.ICommonService;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
-
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Reader;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * 公共基本路由
@@ -54,8 +74,20 @@ public interface ICommonController<F, D> {
      * @param filter 待解析的查询json串
      */
     default String[] checkF(F filter, String[] cols) {
+        return this.checkF(filter, cols, new String[0]);
+    }
+
+    /**
+     * 过滤条件参数校验
+     * 描述：按需获取字段时，cols和filter的cols都补上requiredCols，如游标分页需要的id和排序字段
+     *
+     * @param filter       待解析的查询json串
+     * @param cols         需要字段
+     * @param requiredCols 必须的字段
+     */
+    default String[] checkF(F filter, String[] cols, String... requiredCols) {
         // 开始格式化参数
-        cols = Util.formatCols(cols);
+        cols = Util.withCols(Util.formatCols(cols), requiredCols);
 
         if (Objects.isNull(filter)) {
             return cols;
@@ -77,7 +109,7 @@ public interface ICommonController<F, D> {
         }
 
         // 开始格式化参数
-        filterCols = Util.formatCols(filterCols);
+        filterCols = Util.withCols(Util.formatCols(filterCols), requiredCols);
 
         String[] newFilterCols;
         if (Util.isNull(filterCols)) {
@@ -92,8 +124,6 @@ public interface ICommonController<F, D> {
             LogUtils.logError("过滤条件参数校验失败：e", e);
         }
 
-        colsField.setAccessible(Boolean.FALSE);
-
         return cols;
     }
 
@@ -113,6 +143,11 @@ public interface ICommonController<F, D> {
         // 数据校验
         this.checkD(data);
 
+        // 合并提交
+        if (this.getCommonService().isGroupCommit()) {
+            return this.getCommonService().groupAdd(data);
+        }
+
         return this.getCommonService().add(data);
     }
 
@@ -134,6 +169,95 @@ public interface ICommonController<F, D> {
         return this.getCommonService().batchAdd(data);
     }
 
+    /**
+     * 批量添加数据 - 允许部分失败
+     * 描述：返回每个分片的状态、错误码和失败的行范围（下标对应dataJson中的位置），客户端只需要重传失败的行
+     *
+     * @param dataJson 待添加数据json串
+     * @param bisect   重试后仍失败时是否拆分找出出错的行，默认拆分
+     * @return 写入结果
+     */
+    @PostMapping(value = "/batchAdd/partial")
+    default CommonResponse<Object> batchAddPartial(String dataJson, Boolean bisect, D entity) {
+        List<D> data = (List<D>) JSON.parseArray(dataJson, entity.getClass());
+
+        // 数据校验
+        for (D e : data) {
+            this.checkD(e);
+        }
+
+        return this.getCommonService().batchAddPartial(data, !Boolean.FALSE.equals(bisect));
+    }
+
+    /**
+     * 流式导入数据
+     * 描述：请求体为NDJSON（每行一个json对象）或json数组，边解析边按MysqlConstant.MAX_INSERT_NUM分片批量添加，
+     * 内存占用与导入数据量无关。响应为NDJSON：每个分片写入后输出一条进度，最后输出一条汇总。
+     * 每个分片单独提交，某个分片失败不影响其它分片，分片内出错的行会被拆分出来，可根据进度中的失败行范围只重传失败的部分
+     *
+     * @param entity   数据类型
+     * @param request  请求
+     * @param response 响应
+     * @throws IOException 读写失败
+     */
+    @PostMapping(value = "/import")
+    default void importData(D entity, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson;charset=utf-8");
+        PrintWriter writer = response.getWriter();
+        ImportProgress progress = new ImportProgress();
+        int[] chunkIndex = {0};
+
+        try {
+            Reader reader = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8);
+            JsonStreamUtil.readChunks(reader, (Class<D>) entity.getClass(), MysqlConstant.MAX_INSERT_NUM, chunk -> {
+                ChunkStat stat = new ChunkStat();
+                stat.setIndex(chunkIndex[0]++);
+                stat.setFromIndex(progress.getProcessed());
+                stat.setToIndex(progress.getProcessed() + chunk.size());
+                stat.setSuccessCount(0);
+                progress.setChunk(stat);
+                progress.setErrorMsg(null);
+
+                long begin = System.currentTimeMillis();
+                try {
+                    // 数据校验
+                    for (D e : chunk) {
+                        this.checkD(e);
+                    }
+                    // 允许部分失败，失败的行范围换算为在整个请求体中的位置
+                    BatchResult result = (BatchResult) this.getCommonService().batchAddPartial(chunk, true).getData();
+                    for (ChunkStat failed : result.getFailedList()) {
+                        failed.setFromIndex(stat.getFromIndex() + failed.getFromIndex());
+                        failed.setToIndex(stat.getFromIndex() + failed.getToIndex());
+                    }
+                    stat.setSuccessCount(result.getSuccessCount());
+                    stat.setStatus(result.getFailedCount() == 0 ? ChunkStatusEnum.SUCCESS
+                            : result.getSuccessCount() > 0 ? ChunkStatusEnum.PARTIAL : ChunkStatusEnum.FAILED);
+                    stat.setFailedList(result.getFailedList().isEmpty() ? null : result.getFailedList());
+                } catch (Exception e) {
+                    LogUtils.logError("流式导入分片失败：e", e);
+                    stat.setStatus(ChunkStatusEnum.FAILED);
+                    progress.setErrorMsg(e.getMessage());
+                }
+                stat.setCostMillis(System.currentTimeMillis() - begin);
+
+                progress.setProcessed(stat.getToIndex());
+                progress.setSuccessCount(progress.getSuccessCount() + stat.getSuccessCount());
+                writer.println(JSON.toJSONString(progress));
+                writer.flush();
+            });
+        } catch (Exception e) {
+            // 解析失败，后面的数据无法继续导入
+            LogUtils.logError("流式导入解析失败：e", e);
+            progress.setErrorMsg(e.getMessage());
+        }
+
+        progress.setChunk(null);
+        progress.setFinished(Boolean.TRUE);
+        writer.println(JSON.toJSONString(progress));
+        writer.flush();
+    }
+
     /**
      * 更新数据
      *
@@ -150,6 +274,11 @@ public interface ICommonController<F, D> {
         // 数据校验
         this.checkD(data);
 
+        // 合并提交
+        if (this.getCommonService().isGroupCommit()) {
+            return this.getCommonService().groupUpdate(data);
+        }
+
         return this.getCommonService().update(data);
     }
 
@@ -171,6 +300,43 @@ public interface ICommonController<F, D> {
         return this.getCommonService().batchUpdate(data);
     }
 
+    /**
+     * 批量更新数据 - 允许部分失败
+     *
+     * @param dataJson 待更新数据json串
+     * @param bisect   重试后仍失败时是否拆分找出出错的行，默认拆分
+     * @return 写入结果
+     */
+    @PostMapping(value = "/batchUpdate/partial")
+    default CommonResponse<Object> batchUpdatePartial(String dataJson, Boolean bisect, D entity) {
+        List<D> data = (List<D>) JSON.parseArray(dataJson, entity.getClass());
+
+        // 数据校验
+        for (D e : data) {
+            this.checkD(e);
+        }
+
+        return this.getCommonService().batchUpdatePartial(data, !Boolean.FALSE.equals(bisect));
+    }
+
+    /**
+     * 批量新增或更新数据
+     *
+     * @param dataJson 待新增或更新数据json串
+     * @return 新增、更新数
+     */
+    @PostMapping(value = "/batchUpsert")
+    default CommonResponse<Object> batchUpsert(String dataJson, D entity) {
+        List<D> data = (List<D>) JSON.parseArray(dataJson, entity.getClass());
+
+        // 数据校验
+        for (D e : data) {
+            this.checkD(e);
+        }
+
+        return this.getCommonService().batchUpsert(data);
+    }
+
     /**
      * 删除数据 - 逻辑删除
      *
@@ -228,6 +394,22 @@ public interface ICommonController<F, D> {
         cols = this.checkF(filter, cols);
 
         // 为filter添加pageInfo
+        this.checkPageInfo(filter, pageInfo);
+
+        // 返回数据
+        List result = (List) this.getCommonService().listByFilter(filter).getData();
+
+        return R.success(result, cols);
+    }
+
+    /**
+     * 为filter添加pageInfo
+     * 描述：filter有pageIndex、pageSize字段且未设置时，使用pageInfo中的分页信息
+     *
+     * @param filter   查询DTO信息
+     * @param pageInfo 分页信息
+     */
+    default void checkPageInfo(F filter, PageInfo pageInfo) {
         try {
             Map<String, Field> fieldMap = ReflectionUtil.listAllField(filter.getClass());
             Field pageIndexField = fieldMap.get("pageIndex");
@@ -242,19 +424,45 @@ public interface ICommonController<F, D> {
                     pageIndexField.set(filter, pageInfo.getPageIndex());
                     pageSizeField.set(filter, pageInfo.getPageSize());
                 }
-
-                pageIndexField.setAccessible(Boolean.FALSE);
-                pageSizeField.setAccessible(Boolean.FALSE);
             }
 
         } catch (Exception e) {
             LogUtils.logError("给Filter添加分页信息失败：e", e);
         }
+    }
 
-        // 返回数据
-        List result = (List) this.getCommonService().listByFilter(filter).getData();
+    /**
+     * 查询(导出) - 流式
+     * 描述：不分页，数据库逐行读取，每行按cols过滤字段后直接写入响应，每行一个json对象（NDJSON），
+     * 内存占用与数据总量无关。开始写入后出错只能中断响应，客户端会收到不完整的内容；写入响应失败时停止读取并抛出IOException
+     *
+     * @param filter     查询DTO信息
+     * @param filterJson 查询DTO的json字符串
+     * @param cols       需要字段
+     * @param response   响应
+     * @throws IOException 写入失败
+     */
+    @PostMapping(value = "/listByFilter/stream")
+    default void streamByFilter(F filter, String filterJson, String[] cols, HttpServletResponse response) throws IOException {
+        if (Util.isString(filterJson)) {
+            filter = (F) JSON.parseObject(filterJson, filter.getClass());
+        }
 
-        return R.success(result, cols);
+        // 筛选校验
+        cols = this.checkF(filter, cols);
+        SerializeFilter[] serializeFilters = Util.isNull(cols)
+                ? new SerializeFilter[0] : new SerializeFilter[]{new SimplePropertyPreFilter(cols)};
+
+        response.setContentType("application/x-ndjson;charset=utf-8");
+        PrintWriter writer = response.getWriter();
+        // PrintWriter不抛出IOException，写入失败（客户端已断开）时通过checkError停止读取数据库
+        int[] rows = {0};
+        this.getCommonService().streamByFilter(filter, row -> writer.println(JSON.toJSONString(row, serializeFilters)),
+                () -> ++rows[0] % MysqlConstant.STREAM_CHECK_ERROR_ROWS == 0 && writer.checkError());
+        writer.flush();
+        if (writer.checkError()) {
+            throw new IOException("流式查询写入响应失败，客户端可能已断开");
+        }
     }
 
     /**
@@ -275,6 +483,24 @@ public interface ICommonController<F, D> {
         return this.getCommonService().countByFilter(filter);
     }
 
+    /**
+     * 查询统计(弹框) - 允许估算
+     * 描述：没有筛选条件时按执行计划估算，有筛选条件时使用几秒内的统计缓存，exact为true时精确统计
+     *
+     * @param filter     查询DTO信息
+     * @param filterJson 查询DTO的json字符串
+     * @param exact      是否需要精确统计，默认false
+     * @return 统计结果
+     */
+    @PostMapping(value = "/countByFilter/approximate")
+    default CommonResponse<CountResult> approximateCountByFilter(F filter, String filterJson, Boolean exact) {
+        if (Util.isString(filterJson)) {
+            filter = (F) JSON.parseObject(filterJson, filter.getClass());
+        }
+
+        return this.getCommonService().countByFilter(filter, Boolean.TRUE.equals(exact));
+    }
+
     /**
      * 主页面查询
      * 描述：不会获取删除的数据
@@ -301,6 +527,99 @@ public interface ICommonController<F, D> {
 
     }
 
+    /**
+     * 主页面查询 - 附带总条数
+     * 描述：代替/list + /list/count两次请求，返回list和total
+     *
+     * @param filter     查询DTO信息
+     * @param filterJson 查询DTO的json字符串
+     * @param pageInfo   分页信息
+     * @param cols       需要字段
+     * @return 分页结果
+     */
+    @MethodTrackLog
+    @PostMapping(value = "/list/withTotal")
+    default CommonResponse<PageResult> listWithTotal(F filter, String filterJson, PageInfo pageInfo, String[] cols) {
+        if (Util.isString(filterJson)) {
+            filter = (F) JSON.parseObject(filterJson, filter.getClass());
+        }
+
+        // 筛选校验
+        cols = this.checkF(filter, cols);
+
+        // 返回数据
+        PageResult result = (PageResult) this.getCommonService().listMainWithTotal(filter, pageInfo).getData();
+        result.setList((List) R.success(result.getList(), cols).getData());
+
+        return R.success(result);
+    }
+
+    /**
+     * 主页面查询 - 游标分页
+     * 描述：第一页不传cursor，之后传上一页返回的nextCursor，深翻页时每一页的代价不变。
+     * 按需获取字段时自动补上id和排序字段，用于生成下一页的游标
+     *
+     * @param filter     查询DTO信息
+     * @param filterJson 查询DTO的json字符串
+     * @param pageInfo   分页信息
+     * @param cols       需要字段
+     * @return 分页结果
+     */
+    @PostMapping(value = "/list/cursor")
+    default CommonResponse<PageResult> listByCursor(F filter, String filterJson, PageInfo pageInfo, String[] cols) {
+        if (Util.isString(filterJson)) {
+            filter = (F) JSON.parseObject(filterJson, filter.getClass());
+        }
+
+        // 筛选校验
+        cols = this.checkF(filter, cols, "id", Objects.isNull(pageInfo) ? null : pageInfo.getSortField());
+
+        // 返回数据
+        PageResult result = (PageResult) this.getCommonService().listMainByCursor(filter, pageInfo).getData();
+        result.setList((List) R.success(result.getList(), cols).getData());
+
+        return R.success(result);
+    }
+
+    /**
+     * 查询(弹框) - 游标分页
+     * 描述：filter中传cursor、pageSize，第一页不传cursor，之后传上一页返回的nextCursor。
+     * 按需获取字段时自动补上id和排序字段（sortFields的第一个）
+     *
+     * @param filter     查询DTO信息
+     * @param filterJson 查询DTO的json字符串
+     * @param cols       需要字段
+     * @return 分页结果
+     */
+    @PostMapping(value = "/listByFilter/cursor")
+    default CommonResponse<PageResult> listByFilterByCursor(F filter, String filterJson, String[] cols) {
+        if (Util.isString(filterJson)) {
+            filter = (F) JSON.parseObject(filterJson, filter.getClass());
+        }
+
+        // 游标分页的排序字段
+        String sortField = null;
+        Field sortFieldsField = Objects.isNull(filter) ? null : ReflectionUtil.getFiledByName(filter.getClass(), "sortFields");
+        if (Objects.nonNull(sortFieldsField)) {
+            sortFieldsField.setAccessible(Boolean.TRUE);
+            try {
+                String[] sortFields = (String[]) sortFieldsField.get(filter);
+                sortField = Util.isNull(sortFields) ? null : sortFields[0];
+            } catch (IllegalAccessException e) {
+                LogUtils.logError("获取排序字段失败：e", e);
+            }
+        }
+
+        // 筛选校验
+        cols = this.checkF(filter, cols, "id", sortField);
+
+        // 返回数据
+        PageResult result = (PageResult) this.getCommonService().listByFilterByCursor(filter).getData();
+        result.setList((List) R.success(result.getList(), cols).getData());
+
+        return R.success(result);
+    }
+
     /**
      * 主页面查询统计
      *
@@ -317,6 +636,23 @@ public interface ICommonController<F, D> {
         return this.getCommonService().listCount(filter);
     }
 
+    /**
+     * 主页面查询统计 - 允许估算
+     *
+     * @param filter     查询DTO信息
+     * @param filterJson 查询DTO的json字符串
+     * @param exact      是否需要精确统计，默认false
+     * @return 统计结果
+     */
+    @PostMapping(value = "/list/count/approximate")
+    default CommonResponse<CountResult> approximateListCount(F filter, String filterJson, Boolean exact) {
+        if (Util.isString(filterJson)) {
+            filter = (F) JSON.parseObject(filterJson, filter.getClass());
+        }
+
+        return this.getCommonService().listCount(filter, Boolean.TRUE.equals(exact));
+    }
+
     /**
      * 统计字段的数量
      * 描述：不会统计删除的数据
@@ -332,4 +668,235 @@ public interface ICommonController<F, D> {
 
         return this.getCommonService().listFieldCount(field);
     }
+
+    /**
+     * 异步结果转为DeferredResult
+     * 描述：Tomcat工作线程在返回DeferredResult后即释放，结果在DbExecutor中完成后再写回；
+     * 异常交给全局异常处理，超过MysqlConstant.ASYNC_TIMEOUT_MILLIS未完成按超时返回。
+     * 超时后取消future，还在DbExecutor中排队的任务不再执行；已经在执行的不能中止，写入仍可能完成
+     *
+     * @param future 异步结果
+     * @param <T>    返回类型
+     * @return DeferredResult
+     */
+    default <T> DeferredResult<T> toDeferredResult(CompletableFuture<T> future) {
+        DeferredResult<T> deferredResult = new DeferredResult<>(MysqlConstant.ASYNC_TIMEOUT_MILLIS);
+        deferredResult.onTimeout(() -> {
+            future.cancel(false);
+            deferredResult.setErrorResult(new ServiceException(CommonResponseCodesEnum.ERROR_ASYNC_TIMEOUT));
+        });
+        future.whenComplete((result, e) -> {
+            if (Objects.isNull(e)) {
+                deferredResult.setResult(result);
+                return;
+            }
+            deferredResult.setErrorResult(e instanceof CompletionException && Objects.nonNull(e.getCause()) ? e.getCause() : e);
+        });
+
+        return deferredResult;
+    }
+
+    /**
+     * 添加数据 - 异步
+     *
+     * @param data     带添加数据
+     * @param dataJson 待添加数据json串
+     * @return 成功数
+     */
+    @PostMapping(value = "/async/add")
+    default DeferredResult<CommonResponse<Object>> addAsync(D data, String dataJson) {
+        if (Util.isString(dataJson)) {
+            data = (D) JSON.parseObject(dataJson, data.getClass());
+        }
+
+        // 数据校验
+        this.checkD(data);
+
+        return this.toDeferredResult(this.getCommonService().addAsync(data));
+    }
+
+    /**
+     * 批量添加数据 - 异步
+     *
+     * @param dataJson 待添加数据json串
+     * @return 成功数
+     */
+    @PostMapping(value = "/async/batchAdd")
+    default DeferredResult<CommonResponse<Object>> batchAddAsync(String dataJson, D entity) {
+        List<D> data = (List<D>) JSON.parseArray(dataJson, entity.getClass());
+
+        // 数据校验
+        for (D e : data) {
+            this.checkD(e);
+        }
+
+        return this.toDeferredResult(this.getCommonService().batchAddAsync(data));
+    }
+
+    /**
+     * 更新数据 - 异步
+     *
+     * @param data     数据
+     * @param dataJson 待更新数据json串
+     * @return 成功数
+     */
+    @PostMapping(value = "/async/update")
+    default DeferredResult<CommonResponse<Object>> updateAsync(D data, String dataJson) {
+        if (Util.isString(dataJson)) {
+            data = (D) JSON.parseObject(dataJson, data.getClass());
+        }
+
+        // 数据校验
+        this.checkD(data);
+
+        return this.toDeferredResult(this.getCommonService().updateAsync(data));
+    }
+
+    /**
+     * 批量更新数据 - 异步
+     *
+     * @param dataJson 待更新数据json串
+     * @return 成功数
+     */
+    @PostMapping(value = "/async/batchUpdate")
+    default DeferredResult<CommonResponse<Object>> batchUpdateAsync(String dataJson, D entity) {
+        List<D> data = (List<D>) JSON.parseArray(dataJson, entity.getClass());
+
+        // 数据校验
+        for (D e : data) {
+            this.checkD(e);
+        }
+
+        return this.toDeferredResult(this.getCommonService().batchUpdateAsync(data));
+    }
+
+    /**
+     * 删除数据 - 逻辑删除 - 异步
+     *
+     * @param ids 待删除ids数组
+     * @return 成功数
+     */
+    @PostMapping(value = "/async/batchDelete")
+    default DeferredResult<CommonResponse<Object>> batchDeleteAsync(Long[] ids) {
+        if (Util.isNull(ids)) {
+            throw new ServiceException(CommonResponseCodesEnum.WARN_PARAM_IS_EMPTY);
+        }
+
+        return this.toDeferredResult(this.getCommonService().batchDeleteAsync(ids));
+    }
+
+    /**
+     * 查询主表 - 异步
+     *
+     * @param id   主表id
+     * @param cols 需要字段
+     * @return 主表数据
+     */
+    @GetMapping(value = "/async/get")
+    default DeferredResult<CommonResponse<Object>> getAsync(Long id, String[] cols) {
+        if (Objects.isNull(id)) {
+            throw new ServiceException(CommonResponseCodesEnum.WARN_PARAM_IS_EMPTY);
+        }
+
+        CompletableFuture<CommonResponse<Object>> future = this.getCommonService().getAsync(id);
+        return this.toDeferredResult(future.thenApply(response -> {
+            Object result = response.getData();
+            return Objects.isNull(result) ? response : R.success(result, result.getClass(), cols);
+        }));
+    }
+
+    /**
+     * 查询(弹框) - 异步
+     * 描述：可以根据cols按需获取字段，也可以通过withDeleted来获取逻辑删除的数据，默认不查询删除的
+     *
+     * @param filter     查询DTO信息
+     * @param filterJson 查询DTO的json字符串
+     * @param cols       需要字段
+     * @param pageInfo   分页信息
+     * @return 主表数据
+     */
+    @PostMapping(value = "/async/listByFilter")
+    default DeferredResult<CommonResponse<Object>> listByFilterAsync(F filter, String filterJson, String[] cols, PageInfo pageInfo) {
+        if (Util.isString(filterJson)) {
+            filter = (F) JSON.parseObject(filterJson, filter.getClass());
+        }
+
+        // 筛选校验
+        String[] checkedCols = this.checkF(filter, cols);
+
+        // 为filter添加pageInfo
+        this.checkPageInfo(filter, pageInfo);
+
+        CompletableFuture<CommonResponse<List>> future = this.getCommonService().listByFilterAsync(filter);
+        return this.toDeferredResult(future.thenApply(response -> R.success((List) response.getData(), checkedCols)));
+    }
+
+    /**
+     * 查询统计(弹框) - 异步
+     *
+     * @param filter     查询DTO信息
+     * @param filterJson 查询DTO的json字符串
+     * @return 主表数据全部数量
+     */
+    @PostMapping(value = "/async/countByFilter")
+    default DeferredResult<CommonResponse<Integer>> countByFilterAsync(F filter, String filterJson) {
+        if (Util.isString(filterJson)) {
+            filter = (F) JSON.parseObject(filterJson, filter.getClass());
+        }
+
+        return this.toDeferredResult(this.getCommonService().countByFilterAsync(filter));
+    }
+
+    /**
+     * 主页面查询 - 异步
+     *
+     * @param filter     查询DTO信息
+     * @param filterJson 查询DTO的json字符串
+     * @param pageInfo   分页信息
+     * @return 主页面数据
+     */
+    @PostMapping(value = "/async/list")
+    default DeferredResult<CommonResponse<Object>> listAsync(F filter, String filterJson, PageInfo pageInfo, String[] cols) {
+        if (Util.isString(filterJson)) {
+            filter = (F) JSON.parseObject(filterJson, filter.getClass());
+        }
+
+        // 筛选校验
+        String[] checkedCols = this.checkF(filter, cols);
+
+        CompletableFuture<CommonResponse<List>> future = this.getCommonService().listMainAsync(filter, pageInfo);
+        return this.toDeferredResult(future.thenApply(response -> R.success((List) response.getData(), checkedCols)));
+    }
+
+    /**
+     * 主页面查询统计 - 异步
+     *
+     * @param filter     查询DTO信息
+     * @param filterJson 查询DTO的json字符串
+     * @return 主页面数据数量
+     */
+    @PostMapping(value = "/async/list/count")
+    default DeferredResult<CommonResponse<Integer>> listCountAsync(F filter, String filterJson) {
+        if (Util.isString(filterJson)) {
+            filter = (F) JSON.parseObject(filterJson, filter.getClass());
+        }
+
+        return this.toDeferredResult(this.getCommonService().listCountAsync(filter));
+    }
+
+    /**
+     * 统计字段的数量 - 异步
+     * 描述：不会统计删除的数据
+     *
+     * @param field 对应归类字段
+     * @return 字段的数量
+     */
+    @GetMapping(value = "/async/listFieldCount")
+    default DeferredResult<CommonResponse<List>> listFieldCountAsync(String field) {
+        if (Util.isNotString(field)) {
+            throw new ServiceException(CommonResponseCodesEnum.WARN_PARAM_IS_EMPTY);
+        }
+
+        return this.toDeferredResult(this.getCommonService().listFieldCountAsync(field));
+    }
 }
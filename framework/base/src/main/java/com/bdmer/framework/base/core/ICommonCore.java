@@ -1,18 +1,49 @@
 package com.bdmer.framework.base.core;
 
 
+import com.bdmer.framework.base.base.config.RoutingDataSource;
 import com.bdmer.framework.base.base.config.ServiceException;
+import com.bdmer.framework.base.common.cache.IdCache;
+import com.bdmer.framework.base.common.cache.QueryResultCache;
 import com.bdmer.framework.base.common.constant.MysqlConstant;
+import com.bdmer.framework.base.common.enums.BatchUpdateModeEnum;
+import com.bdmer.framework.base.common.enums.BulkLoadModeEnum;
 import com.bdmer.framework.base.common.enums.CommonResponseCodesEnum;
-import com.bdmer.framework.base.common.util.LogUtils;
+import com.bdmer.framework.base.common.enums.CountSourceEnum;
+import com.bdmer.framework.base.common.util.ReflectionUtil;
 import com.bdmer.framework.base.common.util.Util;
+import com.bdmer.framework.base.core.support.AdaptiveChunkWriter;
+import com.bdmer.framework.base.core.support.BulkLoader;
+import com.bdmer.framework.base.core.support.CountEstimator;
+import com.bdmer.framework.base.core.support.DataLoader;
+import com.bdmer.framework.base.core.support.DbExecutor;
+import com.bdmer.framework.base.core.support.JdbcBatchExecutor;
+import com.bdmer.framework.base.core.support.SingleFlight;
 import com.bdmer.framework.base.dao.ICommonDao;
+import com.bdmer.framework.base.dto.BatchResult;
+import com.bdmer.framework.base.dto.CountResult;
 import com.bdmer.framework.base.dto.PageInfo;
-import org.apache.commons.collections4.ListUtils;
+import com.bdmer.framework.base.dto.PageResult;
+import com.bdmer.framework.base.dto.UpsertResult;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * 公共core层方法
@@ -32,6 +63,176 @@ public interface ICommonCore<F, D, R> {
      */
     ICommonDao getCommonDao();
 
+    /**
+     * 批量更新方式
+     * 描述：默认使用Mapper中的batchUpdate。若使用JDBC_BATCH，Mapper需要实现单条update；
+     * 若使用CASE_WHEN，Mapper需要实现batchUpdateByCase和单条update
+     *
+     * @return 批量更新方式
+     */
+    default BatchUpdateModeEnum getBatchUpdateMode() {
+        return BatchUpdateModeEnum.MULTI_STATEMENT;
+    }
+
+    /**
+     * 按id缓存实体
+     * 描述：返回null时不使用缓存，默认不使用。get、list(ids)先查缓存，只有缓存中没有的id才查询数据库；
+     * 本core的添加、更新、删除会删除对应id的缓存，存在事务时在事务结束后再删除一次。当前线程存在事务时不使用缓存。
+     * 注意：缓存为本实例内的，其它实例的写入不会删除本实例的缓存，多实例部署的表需要确认能接受过期时间内的旧数据
+     *
+     * @return 缓存，需要由实现类持有同一个实例
+     */
+    default IdCache<D> getIdCache() {
+        return null;
+    }
+
+    /**
+     * 查询结果缓存
+     * 描述：返回null时不使用缓存，默认不使用。listByFilter、countByFilter、listMain、listCount的结果按筛选条件缓存，
+     * 本core的任何写入使该表的所有查询结果失效。当前线程存在事务时不使用缓存。
+     * 注意：与getIdCache一样只在本实例内失效，其它实例的写入最多在缓存过期时间内读不到，只对能接受该延迟的表开启
+     *
+     * @return 缓存，需要由实现类持有同一个实例
+     */
+    default QueryResultCache getQueryCache() {
+        return null;
+    }
+
+    /**
+     * 相同查询合并
+     * 描述：返回null时不合并，默认不合并。list、listByFilter、countByFilter、listMain、listCount同时有多个相同的查询时只查询一次数据库。
+     * 当前线程存在事务时不合并
+     *
+     * @return 相同查询合并，需要由实现类持有同一个实例
+     */
+    default SingleFlight getSingleFlight() {
+        return null;
+    }
+
+    /**
+     * 合并相同查询
+     *
+     * @param keySupplier 查询键，合并时才会获取
+     * @param loader      查询方法
+     * @param <T>         结果类型
+     * @return 查询结果
+     */
+    default <T> T singleFlight(Supplier<String> keySupplier, Supplier<T> loader) {
+        SingleFlight singleFlight = this.getSingleFlight();
+        if (Objects.isNull(singleFlight) || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+
+        return singleFlight.execute(keySupplier.get(), loader);
+    }
+
+    /**
+     * 写入并使缓存失效
+     * 描述：写入前后各失效一次，有事务时第二次在事务结束后执行，避免并发读取把旧数据放回缓存；
+     * 写入在RoutingDataSource.write(...)中执行，之后本会话的读取在stickyMillis内使用主库
+     *
+     * @param entityList 待写入实体List，用于获取id
+     * @param writer     写入方法
+     * @param <T>        返回类型
+     * @return 写入结果
+     */
+    default <T> T evictCache(List<D> entityList, Supplier<T> writer) {
+        Long[] ids = null;
+        if (Objects.nonNull(this.getIdCache())) {
+            List<Long> idList = Util.listEntityToList(entityList, "id");
+            ids = idList.toArray(new Long[0]);
+        }
+
+        return this.evictCache(ids, writer);
+    }
+
+    /**
+     * 写入并使缓存失效
+     *
+     * @param ids    待写入实体的id，没有按id缓存时可以为null
+     * @param writer 写入方法
+     * @param <T>    返回类型
+     * @return 写入结果
+     */
+    default <T> T evictCache(Long[] ids, Supplier<T> writer) {
+        // 本次请求中DataLoader已加载的数据
+        DataLoader.clear(this);
+
+        IdCache<D> idCache = Util.isNull(ids) ? null : this.getIdCache();
+        QueryResultCache queryCache = this.getQueryCache();
+        SingleFlight singleFlight = this.getSingleFlight();
+        if (Objects.isNull(idCache) && Objects.isNull(queryCache) && Objects.isNull(singleFlight)) {
+            return RoutingDataSource.write(writer);
+        }
+
+        Runnable evict = () -> {
+            if (Objects.nonNull(singleFlight)) {
+                singleFlight.forgetAll();
+            }
+            if (Objects.nonNull(idCache)) {
+                idCache.invalidate(ids);
+            }
+            if (Objects.nonNull(queryCache)) {
+                queryCache.invalidate();
+            }
+        };
+
+        evict.run();
+        try {
+            return RoutingDataSource.write(writer);
+        } finally {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        evict.run();
+                    }
+                });
+            } else {
+                evict.run();
+            }
+        }
+    }
+
+    /**
+     * LOAD DATA LOCAL INFILE导入的表名
+     * 描述：返回null时不使用LOAD DATA，默认不使用
+     *
+     * @return 表名
+     */
+    default String getBulkLoadTable() {
+        return null;
+    }
+
+    /**
+     * LOAD DATA LOCAL INFILE导入的实体字段名，按驼峰转下划线对应表字段
+     * 描述：一般与Mapper中batchAdd插入的字段一致
+     *
+     * @return 实体字段名
+     */
+    default String[] getBulkLoadFields() {
+        return new String[0];
+    }
+
+    /**
+     * LOAD DATA LOCAL INFILE导入方式
+     * 描述：默认STRICT，行数不一致或有警告时回滚并抛出异常，与insert一致；需要忽略或替换重复的行时重写
+     *
+     * @return 导入方式
+     */
+    default BulkLoadModeEnum getBulkLoadMode() {
+        return BulkLoadModeEnum.STRICT;
+    }
+
+    /**
+     * 批量添加行数达到该值时自动使用LOAD DATA LOCAL INFILE
+     *
+     * @return 行数阈值
+     */
+    default int getBulkLoadThreshold() {
+        return MysqlConstant.BULK_LOAD_THRESHOLD;
+    }
+
     /**
      * 检查过滤条件
      * 注意：不仅仅对Filter作NPE过滤，也可以通过业务代码实现关联查询，因此若有关联查询，建议重写该接口
@@ -65,6 +266,19 @@ public interface ICommonCore<F, D, R> {
         }
     }
 
+    /**
+     * 新增或更新操作 - 批量数据校验
+     * 描述：不能调用checkDataForAdd，添加时填充的默认值会在更新已存在的行时覆盖原有数据，
+     * Mapper中的batchUpsert也应只更新非null字段（如name = ifnull(values(name), name)）
+     *
+     * @param entityList 实体List
+     */
+    default void checkDataForUpsert(List<D> entityList) {
+        if (Util.isNull(entityList)) {
+            throw new ServiceException(CommonResponseCodesEnum.ERROR_PARAM_IS_EMPTY);
+        }
+    }
+
     /**
      * 添加
      *
@@ -80,6 +294,7 @@ public interface ICommonCore<F, D, R> {
 
     /**
      * 批量添加
+     * 描述：设置了getBulkLoadTable且行数达到getBulkLoadThreshold时使用LOAD DATA LOCAL INFILE，否则使用Mapper中的batchAdd
      *
      * @param entityList 实体List
      * @return 成功数
@@ -88,23 +303,55 @@ public interface ICommonCore<F, D, R> {
         // 数据校验
         this.checkDataForAdd(entityList);
 
-        // 分批次添加
-        Integer successCount = 0;
-        List<List<D>> tempListList = ListUtils.partition(entityList, MysqlConstant.MAX_INSERT_NUM);
-        for (List<D> tempList : tempListList) {
-            // 不是第一次插入需要延时10毫秒
-            if (successCount > 0) {
-                try {
-                    Thread.sleep(MysqlConstant.MAX_SLEEP_TIME);
-                } catch (Exception e) {
-                    LogUtils.logError("批量添加数据延时", e);
-                }
+        return this.evictCache(entityList, () -> {
+            // 超大批量使用LOAD DATA LOCAL INFILE
+            String bulkLoadTable = this.getBulkLoadTable();
+            if (Objects.nonNull(bulkLoadTable) && entityList.size() >= this.getBulkLoadThreshold()) {
+                String[] fieldNames = this.getBulkLoadFields();
+                BulkLoadModeEnum mode = this.getBulkLoadMode();
+                return AdaptiveChunkWriter.get().write(this.getClass().getName() + ".bulkLoad", entityList,
+                        MysqlConstant.MAX_BULK_LOAD_NUM, tempList -> BulkLoader.load(bulkLoadTable, fieldNames, tempList, mode)).getSuccessCount();
             }
 
-            successCount += this.getCommonDao().batchAdd(tempList);
-        }
+            // 自适应分片添加
+            return AdaptiveChunkWriter.get().write(this.getClass().getName() + ".batchAdd", entityList,
+                    MysqlConstant.MAX_INSERT_NUM, tempList -> this.getCommonDao().batchAdd(tempList)).getSuccessCount();
+        });
+    }
 
-        return successCount;
+    /**
+     * 批量添加 - 允许部分失败
+     * 描述：分片失败不抛出异常，可重试的错误按退避重试，仍失败时可以拆分找出出错的行，结果中包含失败的行范围。
+     * 当前线程存在事务时遇错即抛出
+     *
+     * @param entityList 实体List
+     * @param bisect     重试后仍失败时是否拆分
+     * @return 写入结果
+     */
+    default BatchResult batchAddPartial(List<D> entityList, boolean bisect) {
+        // 数据校验
+        this.checkDataForAdd(entityList);
+
+        return this.evictCache(entityList, () -> AdaptiveChunkWriter.get().writePartial(this.getClass().getName() + ".batchAdd",
+                entityList, MysqlConstant.MAX_INSERT_NUM, tempList -> this.getCommonDao().batchAdd(tempList), bisect));
+    }
+
+    /**
+     * 批量新增或更新
+     * 描述：insert ... on duplicate key update，不需要事先查询哪些数据已存在
+     *
+     * @param entityList 实体List
+     * @return 新增、更新数
+     */
+    default UpsertResult batchUpsert(List<D> entityList) {
+        // 数据校验
+        this.checkDataForUpsert(entityList);
+
+        // 自适应分片新增或更新
+        Integer affectedRows = this.evictCache(entityList, () -> AdaptiveChunkWriter.get().write(this.getClass().getName() + ".batchUpsert",
+                entityList, MysqlConstant.MAX_INSERT_NUM, tempList -> this.getCommonDao().batchUpsert(tempList)).getSuccessCount());
+
+        return UpsertResult.of(entityList.size(), affectedRows);
     }
 
     /**
@@ -130,23 +377,54 @@ public interface ICommonCore<F, D, R> {
         // 数据校验
         this.checkDataForUpdate(entityList);
 
-        // 分批次更新
-        Integer successCount = 0;
-        List<List<D>> tempListList = ListUtils.partition(entityList, MysqlConstant.MAX_UPDATE_NUM);
-        for (List<D> tempList : tempListList) {
-            // 不是第一次插入需要延时10毫秒
-            if (successCount > 0) {
-                try {
-                    Thread.sleep(MysqlConstant.MAX_SLEEP_TIME);
-                } catch (Exception e) {
-                    LogUtils.logError("批量更新数据延时", e);
-                }
-            }
+        // 自适应分片更新
+        return this.evictCache(entityList, () -> AdaptiveChunkWriter.get().write(this.getClass().getName() + ".batchUpdate",
+                entityList, MysqlConstant.MAX_UPDATE_NUM, this::batchUpdateChunk).getSuccessCount());
+    }
 
-            successCount += this.getCommonDao().batchUpdate(tempList);
-        }
+    /**
+     * 批量更新 - 允许部分失败
+     * 描述：与batchAddPartial一致
+     *
+     * @param entityList 实体List
+     * @param bisect     重试后仍失败时是否拆分
+     * @return 写入结果
+     */
+    default BatchResult batchUpdatePartial(List<D> entityList, boolean bisect) {
+        // 数据校验
+        this.checkDataForUpdate(entityList);
 
-        return successCount;
+        return this.evictCache(entityList, () -> AdaptiveChunkWriter.get().writePartial(this.getClass().getName() + ".batchUpdate",
+                entityList, MysqlConstant.MAX_UPDATE_NUM, this::batchUpdateChunk, bisect));
+    }
+
+    /**
+     * 更新一个分片 - 根据批量更新方式选择对应的语句
+     * 描述：CASE WHEN单语句中同一个id只取第一个值，先按id合并，结果与逐条更新一致
+     *
+     * @param entityList 实体List，一个分片
+     * @return 成功数
+     */
+    default Integer batchUpdateChunk(List<D> entityList) {
+        switch (this.getBatchUpdateMode()) {
+            case CASE_WHEN:
+                entityList = Util.mergeById(entityList, "id");
+                Set<String> columnSet = Util.listNonNullFieldNames(entityList, "id");
+                // 没有需要更新的字段
+                if (columnSet.isEmpty()) {
+                    return 0;
+                }
+                // 窄列更新使用CASE WHEN，否则使用JDBC批处理
+                if (columnSet.size() <= MysqlConstant.MAX_CASE_WHEN_COLUMNS) {
+                    return this.getCommonDao().batchUpdateByCase(entityList);
+                }
+                return JdbcBatchExecutor.update(this.getCommonDao(), entityList);
+            case JDBC_BATCH:
+                return JdbcBatchExecutor.update(this.getCommonDao(), entityList);
+            case MULTI_STATEMENT:
+            default:
+                return this.getCommonDao().batchUpdate(entityList);
+        }
     }
 
     /**
@@ -176,7 +454,7 @@ public interface ICommonCore<F, D, R> {
             return 0;
         }
 
-        return this.getCommonDao().batchLogicDelete(ids);
+        return this.evictCache(ids, () -> this.getCommonDao().batchLogicDelete(ids));
     }
 
     /**
@@ -206,7 +484,7 @@ public interface ICommonCore<F, D, R> {
             return 0;
         }
 
-        return this.getCommonDao().batchDelete(ids);
+        return this.evictCache(ids, () -> this.getCommonDao().batchDelete(ids));
     }
 
     /**
@@ -230,8 +508,21 @@ public interface ICommonCore<F, D, R> {
         return result.get(0);
     }
 
+    /**
+     * 当前请求的DataLoader
+     * 描述：循环中需要按id获取关联数据时，先对每个id调用load(id)，再统一get()，合并为一次list(ids)，
+     * 结果在本次请求内复用，本core写入后清空。DbExecutor中或请求结束后每次都是新的实例
+     *
+     * @return DataLoader
+     */
+    default DataLoader<D> getDataLoader() {
+        return DataLoader.of(this);
+    }
+
     /**
      * 批量获取实体
+     * 描述：设置了getIdCache时只查询缓存中没有的id，结果按ids的顺序返回（重复的id只返回一次）。
+     * 没有按id缓存时路由到从库，填充缓存的查询使用主库
      *
      * @param ids 实体Id数组
      * @return 实体List
@@ -242,9 +533,100 @@ public interface ICommonCore<F, D, R> {
             return new ArrayList<>();
         }
 
+        // 事务中可能读到本事务未提交的数据，不使用缓存
+        IdCache<D> idCache = this.getIdCache();
+        if (Objects.isNull(idCache) || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return this.singleFlight(() -> "list|" + Arrays.toString(ids),
+                    () -> RoutingDataSource.read(() -> this.getCommonDao().list(ids)));
+        }
+
+        // 先查缓存
+        Set<Long> idSet = new LinkedHashSet<>();
+        Map<Long, D> entityMap = new HashMap<>(ids.length * 2);
+        List<Long> missList = new ArrayList<>();
+        for (Long id : ids) {
+            if (Objects.isNull(id) || !idSet.add(id)) {
+                continue;
+            }
+            D entity = idCache.get(id);
+            if (Objects.isNull(entity)) {
+                // 已知不存在的id不再查询
+                if (!idCache.isAbsent(id)) {
+                    missList.add(id);
+                }
+            } else {
+                entityMap.put(id, entity);
+            }
+        }
+
+        // 缓存中没有的查询数据库并放入缓存
+        if (!missList.isEmpty()) {
+            long stamp = idCache.getStamp();
+            Long[] missIds = Util.listToArray(missList);
+            Map<Long, D> loadMap = Util.listToMap(this.singleFlight(() -> "list|" + Arrays.toString(missIds),
+                    () -> this.getCommonDao().list(missIds)), "id");
+            loadMap.forEach((id, entity) -> idCache.put(id, entity, stamp));
+            for (Long id : missIds) {
+                if (!loadMap.containsKey(id)) {
+                    idCache.putAbsent(id, stamp);
+                }
+            }
+            entityMap.putAll(loadMap);
+        }
+
+        // 按请求顺序合并
+        List<D> result = new ArrayList<>(entityMap.size());
+        for (Long id : idSet) {
+            D entity = entityMap.get(id);
+            if (Objects.nonNull(entity)) {
+                result.add(entity);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * 批量获取实体 - 更新前的旧实体
+     * 描述：直接查询主库，不经过按id缓存和相同查询合并，避免缓存中的旧数据让有效的更新被当作没有变化。
+     * 当前线程有事务时使用Mapper中的listForUpdate加锁读取，直到事务结束其它事务都不能修改这些行
+     *
+     * @param ids 实体Id数组
+     * @return 实体List
+     */
+    default List<D> listForUpdate(Long[] ids) {
+        // 数据校验
+        if (Util.isNull(ids)) {
+            return new ArrayList<>();
+        }
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return this.getCommonDao().listForUpdate(ids);
+        }
         return this.getCommonDao().list(ids);
     }
 
+    /**
+     * 查询 - 设置了getQueryCache且当前线程没有事务时使用缓存
+     * 描述：不使用缓存时路由到从库（配置了读写分离时）；填充缓存的查询使用主库，避免把从库延迟的旧数据放入缓存
+     *
+     * @param queryType 查询类型
+     * @param filter    筛选条件
+     * @param pageInfo  分页信息，没有时为null
+     * @param loader    查询方法
+     * @param <T>       结果类型
+     * @return 查询结果
+     */
+    default <T> T cachedQuery(String queryType, F filter, PageInfo pageInfo, Supplier<T> loader) {
+        QueryResultCache queryCache = this.getQueryCache();
+        Supplier<String> keySupplier = () -> QueryResultCache.keyOf(queryType, filter, pageInfo);
+        if (Objects.isNull(queryCache) || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return this.singleFlight(keySupplier, () -> RoutingDataSource.read(loader));
+        }
+
+        return queryCache.get(queryType, filter, pageInfo, () -> this.singleFlight(keySupplier, loader));
+    }
+
     /**
      * 根据条件查询
      * 描述：可以根据cols按需获取字段，也可以通过withDeleted来获取逻辑删除的数据，默认不查询删除的
@@ -253,9 +635,89 @@ public interface ICommonCore<F, D, R> {
      * @return 实体List
      */
     default List<D> listByFilter(F filter) {
-        filter = this.checkFilter(filter);
+        F checkedFilter = this.checkFilter(filter);
+
+        return this.cachedQuery("listByFilter", checkedFilter, null, () -> this.getCommonDao().listByFilter(checkedFilter));
+    }
+
+    /**
+     * 根据条件流式查询
+     * 描述：不分页、不使用查询结果缓存，逐行交给consumer处理，用于导出等数据量大的场景
+     *
+     * @param filter   过滤条件
+     * @param consumer 行处理
+     * @return 行数
+     */
+    default int streamByFilter(F filter, Consumer<D> consumer) {
+        return this.streamByFilter(filter, consumer, () -> false);
+    }
+
+    /**
+     * 根据条件流式查询 - 可以中途停止
+     * 描述：每处理一行后检查stopped，为true时停止读取（如客户端已断开），剩余的行不再处理
+     *
+     * @param filter   过滤条件
+     * @param consumer 行处理
+     * @param stopped  是否停止
+     * @return 已处理的行数
+     */
+    default int streamByFilter(F filter, Consumer<D> consumer, BooleanSupplier stopped) {
+        F checkedFilter = this.checkFilter(filter);
+
+        int[] count = {0};
+        RoutingDataSource.read(() -> {
+            this.getCommonDao().streamByFilter(checkedFilter, context -> {
+                consumer.accept((D) context.getResultObject());
+                count[0]++;
+                if (stopped.getAsBoolean()) {
+                    context.stop();
+                }
+            });
+            return null;
+        });
 
-        return this.getCommonDao().listByFilter(filter);
+        return count[0];
+    }
+
+    /**
+     * 根据条件查询 - 游标分页
+     * 描述：filter需要有cursor、pageSize字段，按sortFields的第一个字段、id排序，规则与listMainByCursor一致
+     *
+     * @param filter 过滤条件
+     * @return 分页结果
+     */
+    default PageResult<D> listByFilterByCursor(F filter) {
+        Map<String, Field> fieldMap = ReflectionUtil.listAllField(filter.getClass());
+        Field cursorField = fieldMap.get("cursor");
+        Field pageSizeField = fieldMap.get("pageSize");
+        if (Objects.isNull(cursorField) || Objects.isNull(pageSizeField)) {
+            throw new ServiceException(CommonResponseCodesEnum.ERROR_REFLECTION_FIELD_IS_EMPTY);
+        }
+
+        int pageSize;
+        String sortField = null;
+        try {
+            cursorField.setAccessible(Boolean.TRUE);
+            pageSizeField.setAccessible(Boolean.TRUE);
+            if (Objects.isNull(cursorField.get(filter))) {
+                cursorField.set(filter, "");
+            }
+            if (Objects.isNull(pageSizeField.get(filter))) {
+                pageSizeField.set(filter, new PageInfo().getPageSize());
+            }
+            pageSize = (Integer) pageSizeField.get(filter);
+
+            Field sortFieldsField = fieldMap.get("sortFields");
+            if (Objects.nonNull(sortFieldsField)) {
+                sortFieldsField.setAccessible(Boolean.TRUE);
+                String[] sortFields = (String[]) sortFieldsField.get(filter);
+                sortField = Util.isNull(sortFields) ? null : sortFields[0];
+            }
+        } catch (IllegalAccessException e) {
+            throw new ServiceException(CommonResponseCodesEnum.ERROR_REFLECTION_FIELD_IS_EMPTY, e);
+        }
+
+        return PageResult.of(this.listByFilter(filter), pageSize, sortField);
     }
 
     /**
@@ -266,9 +728,24 @@ public interface ICommonCore<F, D, R> {
      * @return 数量
      */
     default Integer countByFilter(F filter) {
-        filter = this.checkFilter(filter);
+        F checkedFilter = this.checkFilter(filter);
 
-        return this.getCommonDao().countByFilter(filter);
+        return this.cachedQuery("countByFilter", checkedFilter, null, () -> this.getCommonDao().countByFilter(checkedFilter));
+    }
+
+    /**
+     * 根据条件统计 - 允许估算
+     * 描述：规则见approximateCount，精确统计直接查询Mapper，不再重复checkFilter
+     *
+     * @param filter 过滤条件
+     * @param exact  是否需要精确统计
+     * @return 统计结果
+     */
+    default CountResult countByFilter(F filter, boolean exact) {
+        F checkedFilter = this.checkFilter(filter);
+
+        return this.approximateCount("countByFilter", checkedFilter, exact,
+                () -> this.cachedQuery("countByFilter", checkedFilter, null, () -> this.getCommonDao().countByFilter(checkedFilter)));
     }
 
     /**
@@ -284,9 +761,94 @@ public interface ICommonCore<F, D, R> {
             pageInfo = new PageInfo();
         }
 
-        filter = this.checkFilter(filter);
+        F checkedFilter = this.checkFilter(filter);
+        PageInfo checkedPageInfo = pageInfo;
+
+        return this.cachedQuery("listMain", checkedFilter, checkedPageInfo, () -> this.getCommonDao().listMain(checkedFilter, checkedPageInfo));
+    }
+
+    /**
+     * 获取主页面信息和总条数
+     * 描述：listCount提交到DbExecutor，与当前线程的listMain同时执行，各用一个连接。
+     * 当前页不满pageSize时总条数可以直接算出，不再等待（还在排队的listCount会被取消）。
+     * 当前线程有事务或DbExecutor排满时顺序执行。
+     * listCount使用filter的浅拷贝，checkFilter修改filter的字段时两个线程互不影响
+     *
+     * @param filter   过滤条件
+     * @param pageInfo 分页信息
+     * @return 分页结果
+     */
+    default PageResult<R> listMainWithTotal(F filter, PageInfo pageInfo) {
+        PageInfo checkedPageInfo = Util.isNull(pageInfo) ? new PageInfo() : pageInfo;
+
+        CompletableFuture<Integer> countFuture = null;
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            F countFilter = ReflectionUtil.shallowCopy(filter);
+            countFuture = DbExecutor.get().supply(this.getClass().getSimpleName() + ".listCount", () -> this.listCount(countFilter));
+            // 提交被拒绝时future已经失败
+            if (countFuture.isCompletedExceptionally()) {
+                countFuture = null;
+            }
+        }
+
+        List<R> list;
+        try {
+            list = this.listMain(filter, checkedPageInfo);
+        } catch (RuntimeException e) {
+            if (Objects.nonNull(countFuture)) {
+                countFuture.cancel(false);
+            }
+            throw e;
+        }
 
-        return this.getCommonDao().listMain(filter, pageInfo);
+        // 不满一页：总条数 = offset + 当前页条数。超出最后一页的空页无法判断
+        int size = Objects.isNull(list) ? 0 : list.size();
+        if (size < checkedPageInfo.getPageSize() && (size > 0 || checkedPageInfo.getOffset() == 0)) {
+            if (Objects.nonNull(countFuture)) {
+                countFuture.cancel(false);
+            }
+            return PageResult.withTotal(list, checkedPageInfo.getOffset() + size);
+        }
+
+        if (Objects.isNull(countFuture)) {
+            return PageResult.withTotal(list, this.listCount(filter));
+        }
+
+        try {
+            return PageResult.withTotal(list, countFuture.get(MysqlConstant.ASYNC_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ServiceException(e.getCause());
+        } catch (TimeoutException e) {
+            countFuture.cancel(false);
+            throw new ServiceException(CommonResponseCodesEnum.ERROR_ASYNC_TIMEOUT, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException(e);
+        }
+    }
+
+    /**
+     * 获取主页面信息 - 游标分页
+     * 描述：按pageInfo.sortField、id排序，从游标位置往后取pageSize行，每一页的代价与页码无关。
+     * 第一页pageInfo.cursor为null或空字符串，之后传上一页返回的nextCursor。
+     * 注意：排序字段为null的行在升序时排在最前、降序时排在最后；按需获取字段时需要包含id和排序字段
+     *
+     * @param filter   过滤条件
+     * @param pageInfo 分页信息
+     * @return 分页结果
+     */
+    default PageResult<R> listMainByCursor(F filter, PageInfo pageInfo) {
+        if (Util.isNull(pageInfo)) {
+            pageInfo = new PageInfo();
+        }
+        if (Objects.isNull(pageInfo.getCursor())) {
+            pageInfo.setCursor("");
+        }
+
+        return PageResult.of(this.listMain(filter, pageInfo), pageInfo.getPageSize(), pageInfo.getSortField());
     }
 
     /**
@@ -296,9 +858,56 @@ public interface ICommonCore<F, D, R> {
      * @return 主页面结果数量
      */
     default Integer listCount(F filter) {
-        filter = this.checkFilter(filter);
+        F checkedFilter = this.checkFilter(filter);
+
+        return this.cachedQuery("listCount", checkedFilter, null, () -> this.getCommonDao().listCount(checkedFilter));
+    }
+
+    /**
+     * 查询主页面数量 - 允许估算
+     * 描述：规则见approximateCount，精确统计直接查询Mapper，不再重复checkFilter
+     *
+     * @param filter 过滤条件
+     * @param exact  是否需要精确统计
+     * @return 统计结果
+     */
+    default CountResult listCount(F filter, boolean exact) {
+        F checkedFilter = this.checkFilter(filter);
+
+        return this.approximateCount("listCount", checkedFilter, exact,
+                () -> this.cachedQuery("listCount", checkedFilter, null, () -> this.getCommonDao().listCount(checkedFilter)));
+    }
+
+    /**
+     * 估算统计
+     * 描述：1、exact为true或当前线程有事务时精确统计；
+     * 2、没有筛选条件时取执行计划的估算行数，估算值小于APPROXIMATE_COUNT_MIN时精确统计；
+     * 3、有筛选条件时使用几秒内相同条件的统计结果，没有则精确统计并缓存
+     *
+     * @param statement    Mapper中的统计语句id
+     * @param filter       已校验的过滤条件
+     * @param exact        是否需要精确统计
+     * @param exactCounter 精确统计
+     * @return 统计结果
+     */
+    default CountResult approximateCount(String statement, F filter, boolean exact, Supplier<Integer> exactCounter) {
+        if (exact || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return CountResult.of(exactCounter.get(), CountSourceEnum.EXACT);
+        }
+
+        Long estimate = CountEstimator.explain(this.getCommonDao(), statement, filter);
+        if (Objects.nonNull(estimate) && estimate >= MysqlConstant.APPROXIMATE_COUNT_MIN) {
+            return CountResult.of((int) Math.min(estimate, Integer.MAX_VALUE), CountSourceEnum.EXPLAIN);
+        }
+
+        Integer cached = CountEstimator.getCached(this.getCommonDao(), statement, filter);
+        if (Objects.nonNull(cached)) {
+            return CountResult.of(cached, CountSourceEnum.CACHE);
+        }
 
-        return this.getCommonDao().listCount(filter);
+        Integer count = exactCounter.get();
+        CountEstimator.putCached(this.getCommonDao(), statement, filter, count);
+        return CountResult.of(count, CountSourceEnum.EXACT);
     }
 
     /**
@@ -309,6 +918,6 @@ public interface ICommonCore<F, D, R> {
      * @return 字段的数量
      */
     default List listFieldCount(String field) {
-        return this.getCommonDao().listFieldCount(field);
+        return RoutingDataSource.read(() -> this.getCommonDao().listFieldCount(field));
     }
 }
@@ -0,0 +1,544 @@
+package com.bdmer.framework.base.core.support;
+
+import com.bdmer.framework.base.base.config.RoutingDataSource;
+import com.bdmer.framework.base.base.config.ServiceException;
+import com.bdmer.framework.base.common.constant.MysqlConstant;
+import com.bdmer.framework.base.common.enums.ChunkStatusEnum;
+import com.bdmer.framework.base.common.enums.CommonResponseCodesEnum;
+import com.bdmer.framework.base.common.util.SpringContextHolder;
+import com.bdmer.framework.base.dto.BatchResult;
+import com.bdmer.framework.base.dto.ChunkStat;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tomcat.jdbc.pool.ConnectionPool;
+import org.apache.tomcat.jdbc.pool.DataSourceProxy;
+import org.springframework.context.ApplicationContext;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+/**
+ * 自适应分片写入器
+ * 描述：替代原来分片之间固定Thread.sleep的做法。根据分片语句的实际耗时和连接池繁忙程度动态调整分片大小和并发数：
+ * 耗时低且连接池空闲时逐步增大，耗时高或连接池繁忙时减半，并且同时在途的分片数有上限。
+ * 调整状态按tag（一般为core类名+操作）保留，下次写入时继续使用。
+ * 注意：当前线程存在事务时，所有分片都在当前线程顺序执行，保证仍在同一个事务中；
+ * 并发执行时不保证分片之间的先后顺序。
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+@Slf4j
+public class AdaptiveChunkWriter {
+
+    private static class AdaptiveChunkWriterHolder {
+        private static final AdaptiveChunkWriter INSTANCE = new AdaptiveChunkWriter();
+    }
+
+    public static AdaptiveChunkWriter get() {
+        return AdaptiveChunkWriterHolder.INSTANCE;
+    }
+
+    /**
+     * MySQL错误码 - 死锁
+     */
+    private static final int MYSQL_DEADLOCK = 1213;
+
+    /**
+     * MySQL错误码 - 锁等待超时
+     */
+    private static final int MYSQL_LOCK_WAIT_TIMEOUT = 1205;
+
+    /**
+     * SQLState类别 - 数据异常
+     */
+    private static final String SQL_STATE_DATA = "22";
+
+    /**
+     * SQLState类别 - 违反完整性约束
+     */
+    private static final String SQL_STATE_CONSTRAINT = "23";
+
+    /**
+     * 每个tag对应的调整状态
+     */
+    private final ConcurrentHashMap<String, ChunkTuner> tunerMap = new ConcurrentHashMap<>();
+
+    /**
+     * 分片执行线程池，线程用满后由调用线程执行，形成天然的背压
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 连接池使用率 0~1
+     */
+    private volatile DoubleSupplier poolUsageSupplier = this::tomcatPoolUsage;
+
+    /**
+     * 主库的tomcat-jdbc连接池，Spring启动后获取一次，不是tomcat-jdbc时为null
+     */
+    private volatile DataSourceProxy tomcatDataSource;
+
+    /**
+     * 是否已获取过tomcatDataSource
+     */
+    private volatile boolean tomcatDataSourceResolved;
+
+    private AdaptiveChunkWriter() {
+        int threads = Math.max(MysqlConstant.MAX_CHUNK_IN_FLIGHT, Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadNo = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+            Thread thread = new Thread(r, "chunk-writer-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 设置连接池使用率的获取方式
+     *
+     * @param poolUsageSupplier 连接池使用率 0~1
+     */
+    public void setPoolUsageSupplier(DoubleSupplier poolUsageSupplier) {
+        this.poolUsageSupplier = Objects.requireNonNull(poolUsageSupplier);
+    }
+
+    /**
+     * 分片写入
+     *
+     * @param tag          调整状态的标识
+     * @param dataList     待写入数据
+     * @param maxChunkSize 分片大小上限
+     * @param writer       单个分片的写入方法，返回成功数
+     * @param <T>          数据类型
+     * @return 写入结果
+     */
+    public <T> BatchResult write(String tag, List<T> dataList, int maxChunkSize, Function<List<T>, Integer> writer) {
+        return this.write(tag, dataList, maxChunkSize, writer, null);
+    }
+
+    /**
+     * 分片写入 - 允许部分失败
+     * 描述：分片失败时不抛出异常，可重试的错误（死锁、锁等待超时等）按退避重试，仍失败且是数据错误时可以对半拆分找出出错的行，
+     * 结果中记录每个分片的状态、错误码以及失败的行范围，调用方只需要重传失败的行。
+     * 连接断开、数据库不可用、没有权限等非数据错误不拆分，整个分片直接失败
+     * 注意：当前线程存在事务时仍然遇错即抛出，因为出错后整个事务都会回滚，部分成功没有意义
+     *
+     * @param tag          调整状态的标识
+     * @param dataList     待写入数据
+     * @param maxChunkSize 分片大小上限
+     * @param writer       单个分片的写入方法，返回成功数
+     * @param bisect       重试后仍失败时是否拆分
+     * @param <T>          数据类型
+     * @return 写入结果
+     */
+    public <T> BatchResult writePartial(String tag, List<T> dataList, int maxChunkSize, Function<List<T>, Integer> writer, boolean bisect) {
+        return this.write(tag, dataList, maxChunkSize, writer, bisect);
+    }
+
+    /**
+     * 分片写入
+     *
+     * @param bisect null：遇错即抛出；否则允许部分失败，以及失败后是否拆分
+     */
+    private <T> BatchResult write(String tag, List<T> dataList, int maxChunkSize, Function<List<T>, Integer> writer, Boolean bisect) {
+        ChunkTuner tuner = this.tunerMap.computeIfAbsent(tag, k -> new ChunkTuner(maxChunkSize));
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        Boolean partialBisect = inTransaction ? null : bisect;
+
+        BatchResult result = new BatchResult();
+        result.setTotal(dataList.size());
+        long begin = System.currentTimeMillis();
+
+        Deque<Future<ChunkStat>> inFlight = new ArrayDeque<>();
+        RuntimeException error = null;
+        int fromIndex = 0;
+        int index = 0;
+        while (fromIndex < dataList.size() && Objects.isNull(error)) {
+            int toIndex = Math.min(dataList.size(), fromIndex + tuner.getChunkSize());
+            List<T> chunk = dataList.subList(fromIndex, toIndex);
+            ChunkStat stat = new ChunkStat();
+            stat.setIndex(index++);
+            stat.setFromIndex(fromIndex);
+            stat.setToIndex(toIndex);
+            fromIndex = toIndex;
+
+            // 事务中或者并发数为1时在当前线程执行
+            if (inTransaction) {
+                result.getChunkList().add(this.runChunk(tuner, stat, chunk, writer, partialBisect));
+                continue;
+            }
+
+            // 在途分片达到上限时等待最早的分片完成
+            while (!inFlight.isEmpty() && inFlight.size() >= tuner.getConcurrency()) {
+                error = this.await(inFlight.poll(), result, error);
+            }
+            if (Objects.nonNull(error)) {
+                break;
+            }
+
+            if (tuner.getConcurrency() <= 1) {
+                try {
+                    result.getChunkList().add(this.runChunk(tuner, stat, chunk, writer, partialBisect));
+                } catch (RuntimeException e) {
+                    error = e;
+                }
+            } else {
+                inFlight.add(this.executor.submit(() -> this.runChunk(tuner, stat, chunk, writer, partialBisect)));
+            }
+        }
+
+        // 等待剩余的分片
+        while (!inFlight.isEmpty()) {
+            error = this.await(inFlight.poll(), result, error);
+        }
+
+        result.getChunkList().sort((c1, c2) -> Integer.compare(c1.getIndex(), c2.getIndex()));
+        result.setSuccessCount(result.getChunkList().stream().mapToInt(ChunkStat::getSuccessCount).sum());
+        for (ChunkStat stat : result.getChunkList()) {
+            if (stat.getStatus() == ChunkStatusEnum.FAILED) {
+                result.getFailedList().add(stat);
+            } else if (stat.getStatus() == ChunkStatusEnum.PARTIAL) {
+                result.getFailedList().addAll(stat.getFailedList());
+            }
+        }
+        result.setFailedCount(result.getFailedList().stream().mapToInt(ChunkStat::getRows).sum());
+        result.setCostMillis(System.currentTimeMillis() - begin);
+        this.report(tag, result);
+
+        if (Objects.nonNull(error)) {
+            throw error;
+        }
+
+        return result;
+    }
+
+    /**
+     * 执行单个分片
+     */
+    private <T> ChunkStat runChunk(ChunkTuner tuner, ChunkStat stat, List<T> chunk, Function<List<T>, Integer> writer, Boolean bisect) {
+        stat.setConcurrency(tuner.getConcurrency());
+        stat.setAttempts(1);
+        long begin = System.nanoTime();
+        Integer successCount;
+        try {
+            successCount = writer.apply(chunk);
+        } catch (RuntimeException e) {
+            if (Objects.isNull(bisect)) {
+                throw e;
+            }
+            tuner.feedback(chunk.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin), this.poolUsage());
+            this.recover(stat, chunk, writer, bisect, e);
+            stat.setCostMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+            return stat;
+        }
+        long costMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+
+        stat.setStatus(ChunkStatusEnum.SUCCESS);
+        stat.setSuccessCount(Objects.isNull(successCount) ? 0 : successCount);
+        stat.setCostMillis(costMillis);
+        tuner.feedback(chunk.size(), costMillis, this.poolUsage());
+
+        return stat;
+    }
+
+    /**
+     * 分片失败后的处理：可重试的错误按退避重试，仍失败且是数据错误时拆分
+     */
+    private <T> void recover(ChunkStat stat, List<T> chunk, Function<List<T>, Integer> writer, boolean bisect, RuntimeException error) {
+        // 退避重试
+        long backoff = MysqlConstant.CHUNK_RETRY_BACKOFF_MILLIS;
+        while (isRetryable(error) && stat.getAttempts() <= MysqlConstant.CHUNK_MAX_RETRY) {
+            if (!sleep(backoff)) {
+                break;
+            }
+            backoff *= 2;
+            stat.setAttempts(stat.getAttempts() + 1);
+            try {
+                Integer successCount = writer.apply(chunk);
+                stat.setStatus(ChunkStatusEnum.SUCCESS);
+                stat.setSuccessCount(Objects.isNull(successCount) ? 0 : successCount);
+                return;
+            } catch (RuntimeException e) {
+                error = e;
+            }
+        }
+
+        log.warn("[AdaptiveChunkWriter] 分片:{}, 行:[{},{}) 写入失败, 执行次数:{}", stat.getIndex(), stat.getFromIndex(),
+                stat.getToIndex(), stat.getAttempts(), error);
+        this.fail(stat, error);
+        // 非数据错误拆分后每一段仍然会失败
+        if (!bisect || chunk.size() <= 1 || !isDataError(error)) {
+            return;
+        }
+
+        // 对半拆分，找出出错的行
+        List<ChunkStat> failedList = new ArrayList<>();
+        int successCount = this.bisect(chunk, stat.getFromIndex(), writer, failedList, new RuntimeException[1]);
+        stat.setSuccessCount(successCount);
+        stat.setFailedList(failedList);
+        if (!failedList.isEmpty() && failedList.stream().mapToInt(ChunkStat::getRows).sum() < chunk.size()) {
+            stat.setStatus(ChunkStatusEnum.PARTIAL);
+        } else if (failedList.isEmpty()) {
+            // 拆分后全部成功（如偶发错误），视为成功
+            stat.setStatus(ChunkStatusEnum.SUCCESS);
+            stat.setErrorCode(null);
+            stat.setErrorMsg(null);
+            stat.setFailedList(null);
+        }
+    }
+
+    /**
+     * 拆分写入，返回成功数，失败的行范围放入failedList。
+     * 出现非数据错误后剩余的行不再执行，都记为失败，fatal[0]为该错误
+     */
+    private <T> int bisect(List<T> chunk, int fromIndex, Function<List<T>, Integer> writer, List<ChunkStat> failedList,
+                           RuntimeException[] fatal) {
+        int middle = chunk.size() / 2;
+        int successCount = 0;
+        for (int[] range : new int[][]{{0, middle}, {middle, chunk.size()}}) {
+            List<T> part = chunk.subList(range[0], range[1]);
+            if (Objects.nonNull(fatal[0])) {
+                failedList.add(this.failedRange(fromIndex + range[0], fromIndex + range[1], fatal[0]));
+                continue;
+            }
+            try {
+                Integer count = writer.apply(part);
+                successCount += Objects.isNull(count) ? 0 : count;
+            } catch (RuntimeException e) {
+                boolean dataError = isDataError(e);
+                if (dataError && part.size() > 1) {
+                    successCount += this.bisect(part, fromIndex + range[0], writer, failedList, fatal);
+                    continue;
+                }
+                if (!dataError) {
+                    fatal[0] = e;
+                }
+                failedList.add(this.failedRange(fromIndex + range[0], fromIndex + range[1], e));
+            }
+        }
+
+        return successCount;
+    }
+
+    /**
+     * 失败的行范围
+     */
+    private ChunkStat failedRange(int fromIndex, int toIndex, Throwable error) {
+        ChunkStat failed = new ChunkStat();
+        failed.setFromIndex(fromIndex);
+        failed.setToIndex(toIndex);
+        failed.setSuccessCount(0);
+        failed.setAttempts(1);
+        this.fail(failed, error);
+        return failed;
+    }
+
+    /**
+     * 记录失败信息
+     */
+    private void fail(ChunkStat stat, Throwable error) {
+        stat.setStatus(ChunkStatusEnum.FAILED);
+        stat.setSuccessCount(0);
+        stat.setErrorCode(errorCodeOf(error));
+        stat.setErrorMsg(error instanceof ServiceException && Objects.nonNull(((ServiceException) error).getMsg())
+                ? ((ServiceException) error).getMsg() : error.getMessage());
+    }
+
+    /**
+     * 是否为可重试的错误：瞬时错误、死锁、锁等待超时
+     */
+    static boolean isRetryable(Throwable error) {
+        for (Throwable e = error; Objects.nonNull(e); e = e.getCause() == e ? null : e.getCause()) {
+            if (e instanceof TransientDataAccessException || e instanceof SQLTransientException) {
+                return true;
+            }
+            if (e instanceof SQLException) {
+                int code = ((SQLException) e).getErrorCode();
+                if (code == MYSQL_DEADLOCK || code == MYSQL_LOCK_WAIT_TIMEOUT) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 是否为数据错误：SQLState为22（数据异常，如超长、格式错误）或23（违反约束，如主键重复），
+     * 只有这类错误拆分后能找出出错的行
+     */
+    static boolean isDataError(Throwable error) {
+        for (Throwable e = error; Objects.nonNull(e); e = e.getCause() == e ? null : e.getCause()) {
+            if (e instanceof SQLException) {
+                String sqlState = ((SQLException) e).getSQLState();
+                if (Objects.nonNull(sqlState) && (sqlState.startsWith(SQL_STATE_DATA) || sqlState.startsWith(SQL_STATE_CONSTRAINT))) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 获取错误码：数据库错误为MySQL错误码，业务异常为subCode
+     */
+    static String errorCodeOf(Throwable error) {
+        for (Throwable e = error; Objects.nonNull(e); e = e.getCause() == e ? null : e.getCause()) {
+            if (e instanceof SQLException && ((SQLException) e).getErrorCode() != 0) {
+                return String.valueOf(((SQLException) e).getErrorCode());
+            }
+            if (e instanceof ServiceException && Objects.nonNull(((ServiceException) e).getSubCode())) {
+                return ((ServiceException) e).getSubCode();
+            }
+        }
+
+        return CommonResponseCodesEnum.ERROR.getSubCode();
+    }
+
+    /**
+     * 等待，被中断时返回false
+     */
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 等待在途分片完成，只保留第一个异常
+     */
+    private RuntimeException await(Future<ChunkStat> future, BatchResult result, RuntimeException error) {
+        try {
+            result.getChunkList().add(future.get());
+            return error;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Objects.isNull(error) ? new ServiceException("分片写入被中断", e) : error;
+        } catch (ExecutionException e) {
+            if (Objects.nonNull(error)) {
+                return error;
+            }
+            Throwable cause = e.getCause();
+            return cause instanceof RuntimeException ? (RuntimeException) cause : new ServiceException(cause);
+        }
+    }
+
+    /**
+     * 输出分片耗时
+     */
+    private void report(String tag, BatchResult result) {
+        log.info("[AdaptiveChunkWriter] {} 行数:{}, 成功数:{}, 分片数:{}, 总耗时:{}ms", tag, result.getTotal(),
+                result.getSuccessCount(), result.getChunkList().size(), result.getCostMillis());
+        if (log.isDebugEnabled()) {
+            for (ChunkStat stat : result.getChunkList()) {
+                log.debug("[AdaptiveChunkWriter] {} 分片:{}, 行:[{},{}), 并发:{}, 成功数:{}, 耗时:{}ms", tag, stat.getIndex(),
+                        stat.getFromIndex(), stat.getToIndex(), stat.getConcurrency(), stat.getSuccessCount(), stat.getCostMillis());
+            }
+        }
+    }
+
+    /**
+     * 获取连接池使用率，获取失败认为空闲
+     */
+    private double poolUsage() {
+        try {
+            return this.poolUsageSupplier.getAsDouble();
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 默认的连接池使用率 - tomcat-jdbc连接池
+     * 描述：每个分片都会调用，DataSource只在第一次获取，连接池可能延迟创建所以每次取getPool
+     */
+    private double tomcatPoolUsage() {
+        if (!this.tomcatDataSourceResolved) {
+            ApplicationContext applicationContext = SpringContextHolder.getApplicationContext();
+            if (Objects.isNull(applicationContext)) {
+                return 0;
+            }
+
+            // 获取失败时也不再重试
+            this.tomcatDataSourceResolved = true;
+            DataSource dataSource = applicationContext.getBean(DataSource.class);
+            if (dataSource instanceof RoutingDataSource) {
+                dataSource = ((RoutingDataSource) dataSource).getPrimary();
+            }
+            this.tomcatDataSource = dataSource instanceof DataSourceProxy ? (DataSourceProxy) dataSource : null;
+        }
+        if (Objects.isNull(this.tomcatDataSource)) {
+            return 0;
+        }
+
+        ConnectionPool pool = this.tomcatDataSource.getPool();
+        if (Objects.isNull(pool) || pool.getPoolProperties().getMaxActive() <= 0) {
+            return 0;
+        }
+
+        return (double) pool.getActive() / pool.getPoolProperties().getMaxActive();
+    }
+
+    /**
+     * 分片大小和并发数的调整状态
+     * 耗时超过目标或连接池繁忙：分片大小、并发数减半；
+     * 耗时低于目标一半且连接池空闲：分片大小增加10%（不超过上限），并发数加1（不超过上限）。
+     */
+    static class ChunkTuner {
+        private final int maxChunkSize;
+        private final int minChunkSize;
+        private volatile int chunkSize;
+        private volatile int concurrency = 1;
+
+        ChunkTuner(int maxChunkSize) {
+            this.maxChunkSize = Math.max(1, maxChunkSize);
+            this.minChunkSize = Math.min(this.maxChunkSize, MysqlConstant.MIN_CHUNK_NUM);
+            this.chunkSize = this.maxChunkSize;
+        }
+
+        int getChunkSize() {
+            return this.chunkSize;
+        }
+
+        int getConcurrency() {
+            return this.concurrency;
+        }
+
+        synchronized void feedback(int rows, long costMillis, double poolUsage) {
+            if (costMillis > MysqlConstant.CHUNK_TARGET_MILLIS || poolUsage >= MysqlConstant.POOL_BUSY_RATIO) {
+                this.chunkSize = Math.max(this.minChunkSize, this.chunkSize / 2);
+                this.concurrency = Math.max(1, this.concurrency / 2);
+                return;
+            }
+
+            // 只有满分片才能说明当前分片大小够用
+            if (costMillis * 2 < MysqlConstant.CHUNK_TARGET_MILLIS && rows >= this.chunkSize) {
+                this.chunkSize = Math.min(this.maxChunkSize, this.chunkSize + Math.max(1, this.maxChunkSize / 10));
+                this.concurrency = Math.min(MysqlConstant.MAX_CHUNK_IN_FLIGHT, this.concurrency + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.bdmer.framework.base.core.support;
+
+import com.bdmer.framework.base.base.config.ServiceException;
+import com.bdmer.framework.base.common.enums.BulkLoadModeEnum;
+import com.bdmer.framework.base.common.enums.CommonResponseCodesEnum;
+import com.bdmer.framework.base.common.util.DateUtil;
+import com.bdmer.framework.base.common.util.LogUtils;
+import com.bdmer.framework.base.common.util.ReflectionUtil;
+import com.bdmer.framework.base.common.util.SpringContextHolder;
+import com.bdmer.framework.base.common.util.Util;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * LOAD DATA LOCAL INFILE批量导入
+ * 描述：实体边读边序列化为制表符分隔的文本，通过MySQL驱动的setLocalInfileInputStream直接作为LOCAL INFILE的内容，
+ * 不生成临时文件，也不在内存中拼接整个文件。连接通过DataSourceUtils获取，当前线程有事务时使用同一个连接。
+ * LOCAL方式下主键重复、数据错误只产生警告，默认的STRICT方式检查导入行数和警告数，不一致时回滚并抛出异常，与insert一致；
+ * 需要忽略或替换重复的行时显式使用IGNORE、REPLACE。文件的字符集由配置bulk.load.charset指定，默认与表一致为utf8。
+ * 注意：数据库需要开启local_infile，连接串不能设置allowLoadLocalInfile=false；
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+public class BulkLoader {
+
+    private BulkLoader() {
+        throw new IllegalStateException("BulkLoader class");
+    }
+
+    /**
+     * 驱动中带setLocalInfileInputStream的Statement接口，依次为5.x、8.x
+     */
+    private static final String[] DRIVER_STATEMENT_CLASSES = {"com.mysql.jdbc.Statement", "com.mysql.cj.jdbc.JdbcStatement"};
+
+    /**
+     * 设置LOCAL INFILE内容的方法名
+     */
+    private static final String SET_STREAM_METHOD = "setLocalInfileInputStream";
+
+    /**
+     * 字符集的配置名称
+     */
+    private static final String CHARSET_CONFIG_KEY = "bulk.load.charset";
+
+    /**
+     * 默认字符集，与表一致
+     */
+    private static final String DEFAULT_CHARSET = "utf8";
+
+    /**
+     * NULL值
+     */
+    private static final String NULL_VALUE = "\\N";
+
+    /**
+     * 导入 - STRICT方式
+     *
+     * @param tableName  表名
+     * @param fieldNames 实体字段名，按驼峰转下划线对应表字段
+     * @param entityList 实体List
+     * @param <D>        实体类型
+     * @return 成功数
+     */
+    public static <D> Integer load(String tableName, String[] fieldNames, List<D> entityList) {
+        return load(tableName, fieldNames, entityList, BulkLoadModeEnum.STRICT);
+    }
+
+    /**
+     * 导入
+     *
+     * @param tableName  表名
+     * @param fieldNames 实体字段名，按驼峰转下划线对应表字段
+     * @param entityList 实体List
+     * @param mode       导入方式
+     * @param <D>        实体类型
+     * @return 成功数
+     */
+    public static <D> Integer load(String tableName, String[] fieldNames, List<D> entityList, BulkLoadModeEnum mode) {
+        if (Util.isNull(entityList)) {
+            return 0;
+        }
+
+        ApplicationContext applicationContext = SpringContextHolder.getApplicationContext();
+        if (Objects.isNull(applicationContext)) {
+            throw new ServiceException(CommonResponseCodesEnum.ERROR_DAO_METHOD_NO_IMPL);
+        }
+        DataSource dataSource = applicationContext.getBean(DataSource.class);
+        String charset = applicationContext.getEnvironment().getProperty(CHARSET_CONFIG_KEY, DEFAULT_CHARSET);
+
+        Field[] fields = fieldsOf(entityList.get(0).getClass(), fieldNames);
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        // STRICT且没有事务时自己开启事务，检查不通过时整体回滚
+        boolean localTransaction = mode == BulkLoadModeEnum.STRICT && !DataSourceUtils.isConnectionTransactional(connection, dataSource);
+        try (Statement statement = connection.createStatement()) {
+            if (localTransaction) {
+                connection.setAutoCommit(false);
+            }
+            setLocalInfileInputStream(statement, new TsvInputStream<>(entityList.iterator(), fields));
+            int count = statement.executeUpdate(buildSql(tableName, fieldNames, charset, mode));
+            if (mode == BulkLoadModeEnum.STRICT) {
+                checkComplete(entityList.size(), count, statement.getWarnings());
+            }
+            if (localTransaction) {
+                connection.commit();
+            }
+            return count;
+        } catch (SQLException | RuntimeException e) {
+            rollback(connection, localTransaction);
+            throw e instanceof ServiceException ? (ServiceException) e : new ServiceException(e);
+        } finally {
+            if (localTransaction) {
+                resetAutoCommit(connection);
+            }
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * 检查导入行数和警告数
+     */
+    static void checkComplete(int rows, int count, SQLWarning warning) {
+        int warningCount = 0;
+        for (SQLWarning w = warning; Objects.nonNull(w); w = w.getNextWarning()) {
+            warningCount++;
+        }
+        if (count != rows || warningCount > 0) {
+            throw new ServiceException(CommonResponseCodesEnum.ERROR_BULK_LOAD_INCOMPLETE, String.valueOf(rows),
+                    String.valueOf(count), String.valueOf(warningCount));
+        }
+    }
+
+    /**
+     * 构建LOAD DATA语句，文件名会被驱动忽略
+     */
+    static String buildSql(String tableName, String[] fieldNames, String charset, BulkLoadModeEnum mode) {
+        String columns = Stream.of(fieldNames).map(name -> "`" + Util.humpToLine(name) + "`").collect(Collectors.joining(","));
+        return "LOAD DATA LOCAL INFILE 'stream' " + mode.getKeyword() + "INTO TABLE `" + tableName + "` CHARACTER SET " + charset
+                + " FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n' (" + columns + ")";
+    }
+
+    private static void rollback(Connection connection, boolean localTransaction) {
+        if (!localTransaction) {
+            return;
+        }
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            LogUtils.logError("[BulkLoader] 回滚失败 e:" + e);
+        }
+    }
+
+    private static void resetAutoCommit(Connection connection) {
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            LogUtils.logError("[BulkLoader] 恢复自动提交失败 e:" + e);
+        }
+    }
+
+    /**
+     * 单个值转为LOAD DATA的文本格式
+     */
+    static String format(Object value) {
+        if (Objects.isNull(value)) {
+            return NULL_VALUE;
+        }
+
+        String text;
+        if (value instanceof Date) {
+            text = DateUtil.getDateTimeStr((Date) value);
+        } else if (value instanceof Boolean) {
+            text = (Boolean) value ? "1" : "0";
+        } else if (value instanceof Enum) {
+            text = ((Enum<?>) value).name();
+        } else {
+            text = value.toString();
+        }
+
+        // 转义 \ 制表符 换行 回车 \0
+        StringBuilder sb = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\0':
+                    sb.append("\\0");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * 获取实体字段
+     */
+    private static Field[] fieldsOf(Class<?> clazz, String[] fieldNames) {
+        Field[] fields = new Field[fieldNames.length];
+        for (int i = 0; i < fieldNames.length; i++) {
+            fields[i] = ReflectionUtil.getFiledByName(clazz, fieldNames[i]);
+            if (Objects.isNull(fields[i])) {
+                throw new ServiceException(CommonResponseCodesEnum.ERROR_REFLECTION_FIELD_IS_EMPTY);
+            }
+            fields[i].setAccessible(Boolean.TRUE);
+        }
+
+        return fields;
+    }
+
+    /**
+     * 通过反射调用驱动的setLocalInfileInputStream，连接池的Statement需要先unwrap
+     */
+    private static void setLocalInfileInputStream(Statement statement, InputStream inputStream) throws SQLException {
+        for (String className : DRIVER_STATEMENT_CLASSES) {
+            Class<?> driverClass;
+            try {
+                driverClass = Class.forName(className);
+            } catch (ClassNotFoundException e) {
+                continue;
+            }
+
+            if (!statement.isWrapperFor(driverClass)) {
+                continue;
+            }
+
+            try {
+                Method method = driverClass.getMethod(SET_STREAM_METHOD, InputStream.class);
+                method.invoke(statement.unwrap(driverClass), inputStream);
+                return;
+            } catch (ReflectiveOperationException e) {
+                throw new ServiceException(e);
+            }
+        }
+
+        throw new ServiceException("当前数据库驱动不支持LOAD DATA LOCAL INFILE流式导入");
+    }
+
+    /**
+     * 实体List转为制表符分隔文本的输入流，每次只序列化一行
+     */
+    static class TsvInputStream<D> extends InputStream {
+        private final Iterator<D> iterator;
+        private final Field[] fields;
+        private byte[] buffer = new byte[0];
+        private int position;
+
+        TsvInputStream(Iterator<D> iterator, Field[] fields) {
+            this.iterator = iterator;
+            this.fields = fields;
+        }
+
+        @Override
+        public int read() {
+            if (!this.fill()) {
+                return -1;
+            }
+
+            return this.buffer[this.position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!this.fill()) {
+                return -1;
+            }
+
+            int count = Math.min(length, this.buffer.length - this.position);
+            System.arraycopy(this.buffer, this.position, bytes, offset, count);
+            this.position += count;
+            return count;
+        }
+
+        /**
+         * 当前行读完时序列化下一行
+         *
+         * @return 是否还有数据
+         */
+        private boolean fill() {
+            while (this.position >= this.buffer.length) {
+                if (!this.iterator.hasNext()) {
+                    return false;
+                }
+
+                D entity = this.iterator.next();
+                StringBuilder line = new StringBuilder();
+                try {
+                    for (int i = 0; i < this.fields.length; i++) {
+                        if (i > 0) {
+                            line.append('\t');
+                        }
+                        line.append(format(this.fields[i].get(entity)));
+                    }
+                } catch (IllegalAccessException e) {
+                    throw new ServiceException(e);
+                }
+                line.append('\n');
+
+                this.buffer = line.toString().getBytes(StandardCharsets.UTF_8);
+                this.position = 0;
+            }
+
+            return true;
+        }
+    }
+}
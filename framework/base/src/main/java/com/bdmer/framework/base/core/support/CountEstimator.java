@@ -0,0 +1,139 @@
+package com.bdmer.framework.base.core.support;
+
+import com.bdmer.framework.base.base.config.RoutingDataSource;
+import com.bdmer.framework.base.common.cache.QueryResultCache;
+import com.bdmer.framework.base.common.cache.TinyLfuCache;
+import com.bdmer.framework.base.common.constant.MysqlConstant;
+import com.bdmer.framework.base.common.util.LogUtils;
+import com.bdmer.framework.base.common.util.SpringContextHolder;
+import com.bdmer.framework.base.dao.ICommonDao;
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+
+/**
+ * 统计估算
+ * 描述：没有筛选条件（Mapper生成的SQL不带参数）时执行EXPLAIN，取rows作为估算值，来自InnoDB的表统计信息，
+ * 误差一般在百分之几十以内；有筛选条件时缓存最近一次精确统计的结果，过期时间很短。
+ * 注意：rows不考虑is_deleted等常量条件，估算值偏大
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+public class CountEstimator {
+
+    private CountEstimator() {
+        throw new IllegalStateException("CountEstimator class");
+    }
+
+    /**
+     * 统计语句的参数名
+     */
+    private static final String FILTER_PARAM = "filter";
+
+    /**
+     * 语句id + 筛选条件 - 统计结果
+     */
+    private static final TinyLfuCache<String, long[]> COUNT_CACHE = new TinyLfuCache<>(MysqlConstant.COUNT_CACHE_SIZE);
+
+    /**
+     * 执行计划估算
+     *
+     * @param dao       对应的dao
+     * @param statement Mapper中的统计语句id
+     * @param filter    过滤条件
+     * @return 估算行数，有筛选条件或执行失败时返回null
+     */
+    public static Long explain(ICommonDao dao, String statement, Object filter) {
+        SqlSessionFactory sqlSessionFactory = SpringContextHolder.getBean(SqlSessionFactory.class);
+        if (Objects.isNull(sqlSessionFactory)) {
+            return null;
+        }
+
+        Configuration configuration = sqlSessionFactory.getConfiguration();
+        String statementId = JdbcBatchExecutor.namespaceOf(dao) + "." + statement;
+        if (!configuration.hasStatement(statementId)) {
+            return null;
+        }
+
+        MappedStatement mappedStatement = configuration.getMappedStatement(statementId);
+        BoundSql boundSql = mappedStatement.getBoundSql(paramOf(filter));
+        if (!boundSql.getParameterMappings().isEmpty()) {
+            return null;
+        }
+
+        DataSource dataSource = configuration.getEnvironment().getDataSource();
+        Connection connection = RoutingDataSource.read(() -> DataSourceUtils.getConnection(dataSource));
+        try (Statement explainStatement = connection.createStatement();
+             ResultSet resultSet = explainStatement.executeQuery("EXPLAIN " + boundSql.getSql())) {
+            return resultSet.next() ? resultSet.getLong("rows") : null;
+        } catch (SQLException e) {
+            LogUtils.logError("执行计划估算失败 e:", e);
+            return null;
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * 获取缓存的统计结果
+     *
+     * @param dao       对应的dao
+     * @param statement Mapper中的统计语句id
+     * @param filter    过滤条件
+     * @return 统计结果，没有或已过期时返回null
+     */
+    public static Integer getCached(ICommonDao dao, String statement, Object filter) {
+        String key = keyOf(dao, statement, filter);
+        long[] entry = COUNT_CACHE.get(key);
+        if (Objects.isNull(entry)) {
+            return null;
+        }
+        if (entry[1] <= System.currentTimeMillis()) {
+            COUNT_CACHE.invalidate(key);
+            return null;
+        }
+
+        return (int) entry[0];
+    }
+
+    /**
+     * 缓存统计结果
+     *
+     * @param dao       对应的dao
+     * @param statement Mapper中的统计语句id
+     * @param filter    过滤条件
+     * @param count     统计结果
+     */
+    public static void putCached(ICommonDao dao, String statement, Object filter, Integer count) {
+        if (Objects.isNull(count)) {
+            return;
+        }
+
+        COUNT_CACHE.put(keyOf(dao, statement, filter), new long[]{count, System.currentTimeMillis() + MysqlConstant.COUNT_CACHE_TTL_MILLIS});
+    }
+
+    private static String keyOf(ICommonDao dao, String statement, Object filter) {
+        return QueryResultCache.keyOf(JdbcBatchExecutor.namespaceOf(dao) + "." + statement, filter, null);
+    }
+
+    /**
+     * 与@Param("filter")生成的参数一致
+     */
+    private static Object paramOf(Object filter) {
+        MapperMethod.ParamMap<Object> param = new MapperMethod.ParamMap<>();
+        param.put(FILTER_PARAM, filter);
+        param.put("param1", filter);
+        return param;
+    }
+}
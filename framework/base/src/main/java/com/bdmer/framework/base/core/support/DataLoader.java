@@ -0,0 +1,232 @@
+package com.bdmer.framework.base.core.support;
+
+import com.bdmer.framework.base.common.util.Util;
+import com.bdmer.framework.base.core.ICommonCore;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 请求内按id批量加载
+ * 描述：每个core在一次请求中有一个实例，保存在request attribute中。load(id)只登记id并返回延迟获取的Supplier，
+ * 第一次调用任意Supplier的get()时，把登记的所有id合并为一次core.list(ids)查询，结果（包括不存在的id）在本次请求内复用。
+ * 典型用法：第一遍循环load，第二遍循环get，N次get(id)变为一次list(ids)。
+ * 没有请求、在DbExecutor中执行（沿用了提交线程的请求）或请求已结束时，每次获取都是新的实例，只在同一个实例内合并和复用。
+ * 不是线程安全的，只有clearAll可以在其他线程调用（在下一次使用时清空）
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+public class DataLoader<D> {
+
+    /**
+     * request attribute名前缀，后面为core的类名
+     */
+    private static final String ATTRIBUTE_PREFIX = DataLoader.class.getName() + ".";
+
+    private final ICommonCore<?, D, ?> core;
+
+    /**
+     * 已加载的id - 实体，不存在的id对应null
+     */
+    private final Map<Long, D> loadedMap = new HashMap<>();
+
+    /**
+     * 已登记还未查询的id
+     */
+    private final Set<Long> pendingSet = new LinkedHashSet<>();
+
+    /**
+     * 查询次数
+     */
+    private int dispatchCount;
+
+    /**
+     * clearAll的调用次数，可能在其他线程中增加
+     */
+    private final AtomicInteger clearCount = new AtomicInteger();
+
+    /**
+     * 已清空到的clearCount
+     */
+    private int appliedClearCount;
+
+    private DataLoader(ICommonCore<?, D, ?> core) {
+        this.core = core;
+    }
+
+    /**
+     * 获取当前请求中core对应的实例
+     *
+     * @param core 对应的core
+     * @param <D>  实体类型
+     * @return 实例
+     */
+    @SuppressWarnings("unchecked")
+    public static <D> DataLoader<D> of(ICommonCore<?, D, ?> core) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (Objects.isNull(attributes) || DbExecutor.isExecuting()) {
+            return new DataLoader<>(core);
+        }
+
+        String name = ATTRIBUTE_PREFIX + core.getClass().getName();
+        try {
+            DataLoader<D> loader = (DataLoader<D>) attributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST);
+            if (Objects.isNull(loader)) {
+                loader = new DataLoader<>(core);
+                attributes.setAttribute(name, loader, RequestAttributes.SCOPE_REQUEST);
+            }
+            return loader;
+        } catch (IllegalStateException e) {
+            // 请求已结束
+            return new DataLoader<>(core);
+        }
+    }
+
+    /**
+     * 清空当前请求中core对应实例已加载的数据，写入后调用
+     *
+     * @param core 对应的core
+     */
+    public static void clear(ICommonCore<?, ?, ?> core) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (Objects.isNull(attributes)) {
+            return;
+        }
+
+        Object loader;
+        try {
+            loader = attributes.getAttribute(ATTRIBUTE_PREFIX + core.getClass().getName(), RequestAttributes.SCOPE_REQUEST);
+        } catch (IllegalStateException e) {
+            // 请求已结束，不会再使用请求内的实例
+            return;
+        }
+        if (Objects.nonNull(loader)) {
+            ((DataLoader<?>) loader).clearAll();
+        }
+    }
+
+    /**
+     * 登记id
+     *
+     * @param id 实体Id
+     * @return 获取实体，第一次get()时查询所有已登记的id
+     */
+    public Supplier<D> load(Long id) {
+        this.applyClear();
+        if (Objects.isNull(id)) {
+            return () -> null;
+        }
+        if (!this.loadedMap.containsKey(id)) {
+            this.pendingSet.add(id);
+        }
+
+        return () -> this.get(id);
+    }
+
+    /**
+     * 获取实体，连同已登记的id一起查询
+     *
+     * @param id 实体Id
+     * @return 实体，不存在时返回null
+     */
+    public D get(Long id) {
+        this.applyClear();
+        if (Objects.isNull(id)) {
+            return null;
+        }
+        if (!this.loadedMap.containsKey(id)) {
+            this.pendingSet.add(id);
+            this.dispatch();
+        }
+
+        return this.loadedMap.get(id);
+    }
+
+    /**
+     * 批量获取实体，连同已登记的id一起查询
+     *
+     * @param ids 实体Id
+     * @return id - 实体，按ids的顺序，不包括不存在的id
+     */
+    public Map<Long, D> getAll(Collection<Long> ids) {
+        this.applyClear();
+        Map<Long, D> result = new LinkedHashMap<>();
+        if (Util.isNull(ids)) {
+            return result;
+        }
+
+        for (Long id : ids) {
+            if (Objects.nonNull(id) && !this.loadedMap.containsKey(id)) {
+                this.pendingSet.add(id);
+            }
+        }
+        this.dispatch();
+
+        for (Long id : ids) {
+            D entity = Objects.isNull(id) ? null : this.loadedMap.get(id);
+            if (Objects.nonNull(entity)) {
+                result.put(id, entity);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * 查询所有已登记的id
+     */
+    public void dispatch() {
+        if (this.pendingSet.isEmpty()) {
+            return;
+        }
+
+        Long[] ids = this.pendingSet.toArray(new Long[0]);
+        this.pendingSet.clear();
+        this.dispatchCount++;
+
+        List<D> entityList = this.core.list(ids);
+        Map<Long, D> entityMap = Util.listToMap(entityList, "id");
+        for (Long id : ids) {
+            this.loadedMap.put(id, entityMap.get(id));
+        }
+    }
+
+    /**
+     * 清空已加载的数据，已登记的id保留
+     * 描述：可以在其他线程调用（如DbExecutor中的写入），在下一次load、get时清空
+     */
+    public void clearAll() {
+        this.clearCount.incrementAndGet();
+    }
+
+    /**
+     * 执行clearAll
+     */
+    private void applyClear() {
+        int count = this.clearCount.get();
+        if (count != this.appliedClearCount) {
+            this.loadedMap.clear();
+            this.appliedClearCount = count;
+        }
+    }
+
+    /**
+     * 查询次数
+     *
+     * @return 查询次数
+     */
+    public int getDispatchCount() {
+        return this.dispatchCount;
+    }
+}
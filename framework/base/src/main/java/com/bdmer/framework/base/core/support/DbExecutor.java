@@ -0,0 +1,147 @@
+package com.bdmer.framework.base.core.support;
+
+import com.bdmer.framework.base.base.config.RoutingDataSource;
+import com.bdmer.framework.base.base.config.ServiceException;
+import com.bdmer.framework.base.common.constant.MysqlConstant;
+import com.bdmer.framework.base.common.enums.CommonResponseCodesEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 异步数据库线程池
+ * 描述：异步的service方法都在该线程池中执行，线程数、排队数都有上限，排满后直接拒绝，
+ * 不会像Tomcat工作线程那样被慢SQL一直占满。记录提交、完成、失败、拒绝数以及排队、执行耗时。
+ * 执行时沿用提交线程的RequestAttributes和提交时的sessionId，读写分离按同一个会话判断是否读主库，
+ * 请求结束后执行的写入也会记录到该会话。
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+@Slf4j
+public class DbExecutor {
+
+    private static class DbExecutorHolder {
+        private static final DbExecutor INSTANCE = new DbExecutor();
+    }
+
+    public static DbExecutor get() {
+        return DbExecutorHolder.INSTANCE;
+    }
+
+    /**
+     * 当前线程是否在执行DbExecutor的任务
+     */
+    private static final ThreadLocal<Boolean> EXECUTING_HOLDER = new ThreadLocal<>();
+
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong cancelledCount = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicLong runNanos = new AtomicLong();
+
+    private DbExecutor() {
+        int threads = MysqlConstant.DB_EXECUTOR_THREADS;
+        AtomicInteger threadNo = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(MysqlConstant.DB_EXECUTOR_QUEUE_SIZE), r -> {
+            Thread thread = new Thread(r, "db-executor-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 当前线程是否在执行DbExecutor的任务
+     * 描述：任务中的RequestAttributes是提交线程的，不能使用只属于请求线程的对象（如DataLoader）
+     *
+     * @return 是否在执行任务
+     */
+    public static boolean isExecuting() {
+        return Boolean.TRUE.equals(EXECUTING_HOLDER.get());
+    }
+
+    /**
+     * 异步执行
+     *
+     * @param tag      标识，用于日志
+     * @param supplier 执行内容
+     * @param <T>      返回类型
+     * @return 执行结果，线程池排满时为失败的结果；排队期间取消的不会执行
+     */
+    public <T> CompletableFuture<T> supply(String tag, Supplier<T> supplier) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long submitTime = System.nanoTime();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        // 请求结束后不能再可靠地获取session，在提交时获取
+        String sessionId = RoutingDataSource.currentSessionId();
+        try {
+            this.executor.execute(() -> {
+                long begin = System.nanoTime();
+                this.waitNanos.addAndGet(begin - submitTime);
+                // 排队期间已被取消的不再执行
+                if (future.isDone()) {
+                    this.cancelledCount.incrementAndGet();
+                    return;
+                }
+                RequestContextHolder.setRequestAttributes(attributes);
+                EXECUTING_HOLDER.set(Boolean.TRUE);
+                try {
+                    future.complete(RoutingDataSource.withSession(sessionId, supplier));
+                    this.completedCount.incrementAndGet();
+                } catch (Throwable e) {
+                    this.failedCount.incrementAndGet();
+                    future.completeExceptionally(e);
+                } finally {
+                    EXECUTING_HOLDER.remove();
+                    RequestContextHolder.resetRequestAttributes();
+                    this.runNanos.addAndGet(System.nanoTime() - begin);
+                }
+            });
+            this.submittedCount.incrementAndGet();
+        } catch (RejectedExecutionException e) {
+            this.rejectedCount.incrementAndGet();
+            log.warn("[DbExecutor] {} 被拒绝，活跃线程:{}, 排队数:{}", tag, this.executor.getActiveCount(), this.executor.getQueue().size());
+            future.completeExceptionally(new ServiceException(CommonResponseCodesEnum.ERROR_DB_EXECUTOR_BUSY, e));
+        }
+
+        return future;
+    }
+
+    /**
+     * 获取线程池统计
+     *
+     * @return 统计名 - 值
+     */
+    public Map<String, Object> getStat() {
+        long finished = this.completedCount.get() + this.failedCount.get();
+        Map<String, Object> stat = new LinkedHashMap<>();
+        stat.put("poolSize", this.executor.getPoolSize());
+        stat.put("activeCount", this.executor.getActiveCount());
+        stat.put("queueSize", this.executor.getQueue().size());
+        stat.put("submittedCount", this.submittedCount.get());
+        stat.put("completedCount", this.completedCount.get());
+        stat.put("failedCount", this.failedCount.get());
+        stat.put("rejectedCount", this.rejectedCount.get());
+        stat.put("cancelledCount", this.cancelledCount.get());
+        stat.put("avgWaitMillis", finished == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(this.waitNanos.get() / finished));
+        stat.put("avgRunMillis", finished == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(this.runNanos.get() / finished));
+        return stat;
+    }
+}
@@ -0,0 +1,271 @@
+package com.bdmer.framework.base.core.support;
+
+import com.bdmer.framework.base.base.config.ServiceException;
+import com.bdmer.framework.base.common.constant.MysqlConstant;
+import com.bdmer.framework.base.common.enums.CommonOperateEnum;
+import com.bdmer.framework.base.common.enums.CommonResponseCodesEnum;
+import com.bdmer.framework.base.common.util.ClassMeta;
+import com.bdmer.framework.base.common.util.PropertyAccessor;
+import com.bdmer.framework.base.common.util.TransactionUtil;
+import com.bdmer.framework.base.common.util.Util;
+import com.bdmer.framework.base.core.ICommonCore;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * 合并提交器
+ * 描述：把并发的单条添加（或更新）请求按core合并成小批次，每批最多MysqlConstant.GROUP_COMMIT_MAX_NUM条，
+ * 最多等待MysqlConstant.GROUP_COMMIT_WINDOW_MILLIS毫秒，整批在一个事务中通过batchAdd（或batchUpdate）写入。
+ * 每个请求拿到自己的结果：整批失败时逐条重试，只有出错的请求会失败。
+ * 排队数最多MysqlConstant.GROUP_COMMIT_QUEUE_SIZE，排满后直接拒绝；commit最多等待MysqlConstant.GROUP_COMMIT_TIMEOUT_MILLIS毫秒，
+ * 超时后取消该请求，还在排队的不再写入，已经在写入中的批次仍可能写入成功。
+ * 写入线程意外退出（被中断等）后，下一次提交时重新启动。
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+@Slf4j
+@SuppressWarnings("unchecked")
+public class GroupCommitter<D> {
+
+    /**
+     * core类名 + 操作 - 合并提交器
+     */
+    private static final Map<String, GroupCommitter<?>> COMMITTER_MAP = new ConcurrentHashMap<>();
+
+    private final ICommonCore core;
+
+    private final CommonOperateEnum operate;
+
+    private final BlockingQueue<GroupRequest<D>> queue = new ArrayBlockingQueue<>(MysqlConstant.GROUP_COMMIT_QUEUE_SIZE);
+
+    /**
+     * 写入线程
+     */
+    private Thread flusher;
+
+    private GroupCommitter(ICommonCore core, CommonOperateEnum operate) {
+        if (operate != CommonOperateEnum.ADD && operate != CommonOperateEnum.UPDATE) {
+            throw new IllegalArgumentException("GroupCommitter only supports ADD and UPDATE");
+        }
+        this.core = core;
+        this.operate = operate;
+        this.ensureFlusher();
+    }
+
+    /**
+     * 获取core对应操作的合并提交器
+     *
+     * @param core    对应core
+     * @param operate 操作，只支持ADD、UPDATE
+     * @param <D>     实体类型
+     * @return 合并提交器
+     */
+    public static <D> GroupCommitter<D> of(ICommonCore core, CommonOperateEnum operate) {
+        String key = core.getClass().getName() + "." + operate;
+        return (GroupCommitter<D>) COMMITTER_MAP.computeIfAbsent(key, k -> new GroupCommitter<>(core, operate));
+    }
+
+    /**
+     * 提交单条数据
+     *
+     * @param entity 实体
+     * @return 该条数据的成功数，排队已满时为失败的结果
+     */
+    public CompletableFuture<Integer> submit(D entity) {
+        this.ensureFlusher();
+        GroupRequest<D> request = new GroupRequest<>(entity);
+        if (!this.queue.offer(request)) {
+            log.warn("[GroupCommitter] {}{}排队已满，排队数:{}", this.core.getClass().getSimpleName(), this.operate, this.queue.size());
+            request.future.completeExceptionally(new ServiceException(CommonResponseCodesEnum.ERROR_GROUP_COMMIT_BUSY));
+        }
+        return request.future;
+    }
+
+    /**
+     * 提交单条数据并等待结果
+     * 注意：超时后请求被取消，还在排队的不再写入；已经在写入中的批次不能中止，仍可能写入成功
+     *
+     * @param entity 实体
+     * @return 该条数据的成功数
+     */
+    public Integer commit(D entity) {
+        CompletableFuture<Integer> future = this.submit(entity);
+        try {
+            return future.get(MysqlConstant.GROUP_COMMIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new ServiceException(cause);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new ServiceException(CommonResponseCodesEnum.ERROR_ASYNC_TIMEOUT, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException(e);
+        }
+    }
+
+    /**
+     * 写入线程不存在或已退出时启动
+     */
+    private synchronized void ensureFlusher() {
+        if (Objects.nonNull(this.flusher) && this.flusher.isAlive()) {
+            return;
+        }
+        if (Objects.nonNull(this.flusher)) {
+            log.warn("[GroupCommitter] {}{}写入线程已退出，重新启动", this.core.getClass().getSimpleName(), this.operate);
+        }
+
+        this.flusher = new Thread(this::loop, "group-commit-" + this.core.getClass().getSimpleName() + "-" + this.operate);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * 凑批并写入
+     */
+    private void loop() {
+        while (true) {
+            List<GroupRequest<D>> batch = new ArrayList<>();
+            try {
+                batch.add(this.queue.take());
+
+                // 在时间窗口内凑批
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MysqlConstant.GROUP_COMMIT_WINDOW_MILLIS);
+                while (batch.size() < MysqlConstant.GROUP_COMMIT_MAX_NUM) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    GroupRequest<D> request = this.queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (request == null) {
+                        break;
+                    }
+                    batch.add(request);
+                }
+                // 时间窗口内已经排队的也一起写入
+                this.queue.drainTo(batch, MysqlConstant.GROUP_COMMIT_MAX_NUM - batch.size());
+
+                this.flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(request -> request.future.completeExceptionally(e));
+                // 队列中剩余的请求在下一次提交重新启动写入线程后处理
+                return;
+            } catch (Throwable e) {
+                log.error("[GroupCommitter] 合并提交失败", e);
+                batch.forEach(request -> request.future.completeExceptionally(e));
+            }
+        }
+    }
+
+    /**
+     * 整批在一个事务中写入，失败后逐条写入
+     * 描述：排队期间已超时取消的请求不再写入
+     */
+    private void flush(List<GroupRequest<D>> batch) {
+        batch.removeIf(request -> request.future.isDone());
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<D> entityList = batch.stream().map(request -> request.entity).collect(Collectors.toList());
+        try {
+            if (this.operate == CommonOperateEnum.ADD) {
+                // 全部成功时每条为1；否则无法区分哪些没有写入（如INSERT IGNORE），回滚后逐条写入得到各自的成功数
+                TransactionUtil.execute(() -> {
+                    Integer successCount = this.core.batchAdd(entityList);
+                    if (Objects.isNull(successCount) || successCount < entityList.size()) {
+                        throw new ServiceException(CommonResponseCodesEnum.WARN, "合并添加成功数" + successCount + "小于条数" + entityList.size());
+                    }
+                    return successCount;
+                });
+                batch.forEach(request -> request.future.complete(1));
+                return;
+            }
+
+            int[] successCounts = TransactionUtil.execute(() -> this.updateBatch(entityList));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(successCounts[i]);
+            }
+        } catch (Exception e) {
+            log.warn("[GroupCommitter] {}批量{}失败，改为逐条写入，条数:{}", this.core.getClass().getSimpleName(), this.operate, batch.size());
+            for (GroupRequest<D> request : batch) {
+                try {
+                    Integer successCount = TransactionUtil.execute(() -> this.operate == CommonOperateEnum.ADD
+                            ? this.core.add(request.entity) : this.core.update(request.entity));
+                    request.future.complete(successCount);
+                } catch (Exception ex) {
+                    request.future.completeExceptionally(ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * 在当前事务中更新，返回每条的成功数。
+     * 同一个id只有第一条参与批量更新，其余的在批量之后按提交顺序逐条更新；
+     * 批量成功数小于条数时，不重新执行更新，而是锁定查询这些id，存在的记为1，不存在的记为0
+     */
+    private int[] updateBatch(List<D> entityList) {
+        int[] counts = new int[entityList.size()];
+        List<D> uniqueList = new ArrayList<>();
+        List<Integer> uniqueIndexList = new ArrayList<>();
+        List<Integer> repeatIndexList = new ArrayList<>();
+        PropertyAccessor idAccessor = ClassMeta.of(entityList.get(0).getClass()).getAccessor("id");
+        Object[] ids = new Object[entityList.size()];
+        Set<Object> idSet = new HashSet<>();
+        for (int i = 0; i < entityList.size(); i++) {
+            Object id = ids[i] = idAccessor.get(entityList.get(i));
+            if (idSet.add(id)) {
+                uniqueList.add(entityList.get(i));
+                uniqueIndexList.add(i);
+            } else {
+                repeatIndexList.add(i);
+            }
+        }
+
+        Integer successCount = this.core.batchUpdate(uniqueList);
+        if (Objects.nonNull(successCount) && successCount >= uniqueList.size()) {
+            uniqueIndexList.forEach(index -> counts[index] = 1);
+        } else {
+            List<Long> idList = Util.listEntityToList(uniqueList, "id");
+            List<D> existList = this.core.listForUpdate(idList.toArray(new Long[0]));
+            Set<Long> existIdSet = new HashSet<>(Util.listEntityToList(existList, "id"));
+            uniqueIndexList.forEach(index -> counts[index] = existIdSet.contains(ids[index]) ? 1 : 0);
+        }
+
+        for (Integer index : repeatIndexList) {
+            Integer count = this.core.update(entityList.get(index));
+            counts[index] = Objects.isNull(count) ? 0 : count;
+        }
+
+        return counts;
+    }
+
+    /**
+     * 单条请求
+     */
+    private static class GroupRequest<D> {
+        private final D entity;
+        private final CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        private GroupRequest(D entity) {
+            this.entity = entity;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.bdmer.framework.base.core.support;
+
+import com.bdmer.framework.base.base.config.ServiceException;
+import com.bdmer.framework.base.common.enums.CommonResponseCodesEnum;
+import com.bdmer.framework.base.common.util.SpringContextHolder;
+import com.bdmer.framework.base.dao.ICommonDao;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JDBC批处理执行器
+ * 描述：同一条预编译的单条语句通过MyBatis的ExecutorType.BATCH执行，每个分片flush一次，
+ * 不再依赖allowMultiQueries=true，也不用每次解析一条超长的拼接SQL。
+ * SqlSession使用Spring管理的事务，当前线程有事务时使用同一个连接，提交由事务管理器负责。
+ * 注意：1. 连接串需要rewriteBatchedStatements=true，驱动才会把一批语句合并发送；
+ * 2. Mapper中的单条update每一行的SQL文本必须相同，用<if>按字段是否为null拼接时SQL随行变化，
+ * 每次变化都会新开一个批次，只更新非null字段应写成col = ifnull(#{entity.col}, col)。
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+public class JdbcBatchExecutor {
+
+    private JdbcBatchExecutor() {
+        throw new IllegalStateException("JdbcBatchExecutor class");
+    }
+
+    /**
+     * DAO代理类 - Mapper命名空间
+     */
+    private static final Map<Class<?>, String> NAMESPACE_MAP = new ConcurrentHashMap<>();
+
+    /**
+     * 单条更新语句的id
+     */
+    private static final String UPDATE_STATEMENT = "update";
+
+    /**
+     * 单条语句的参数名
+     */
+    private static final String ENTITY_PARAM = "entity";
+
+    /**
+     * 批量更新 - 使用Mapper中的单条update
+     *
+     * @param dao        对应的dao
+     * @param entityList 实体List，一个分片
+     * @param <D>        实体类型
+     * @return 成功数，按每一行的影响行数累加
+     */
+    public static <D> Integer update(ICommonDao dao, List<D> entityList) {
+        return execute(dao, UPDATE_STATEMENT, entityList);
+    }
+
+    /**
+     * 批量执行同一条单条语句
+     *
+     * @param dao        对应的dao
+     * @param statement  Mapper中的语句id
+     * @param entityList 实体List，一个分片
+     * @param <D>        实体类型
+     * @return 成功数，按每一行的影响行数累加
+     */
+    public static <D> Integer execute(ICommonDao dao, String statement, List<D> entityList) {
+        SqlSessionFactory sqlSessionFactory = SpringContextHolder.getBean(SqlSessionFactory.class);
+        if (Objects.isNull(sqlSessionFactory)) {
+            throw new ServiceException(CommonResponseCodesEnum.ERROR_DAO_METHOD_NO_IMPL);
+        }
+
+        String statementId = namespaceOf(dao) + "." + statement;
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            for (D entity : entityList) {
+                Map<String, Object> param = new HashMap<>(2);
+                param.put(ENTITY_PARAM, entity);
+                sqlSession.update(statementId, param);
+            }
+
+            List<BatchResult> batchResultList = sqlSession.flushStatements();
+            sqlSession.commit();
+
+            return countOf(batchResultList);
+        }
+    }
+
+    /**
+     * 统计每一行的影响行数
+     * 驱动返回SUCCESS_NO_INFO时无法得知具体行数，按1计算
+     */
+    private static int countOf(List<BatchResult> batchResultList) {
+        int successCount = 0;
+        for (BatchResult batchResult : batchResultList) {
+            for (int updateCount : batchResult.getUpdateCounts()) {
+                if (updateCount == Statement.SUCCESS_NO_INFO) {
+                    successCount++;
+                } else if (updateCount > 0) {
+                    successCount += updateCount;
+                }
+            }
+        }
+
+        return successCount;
+    }
+
+    /**
+     * 获取DAO对应的Mapper命名空间，即继承ICommonDao的DAO接口全名
+     */
+    static String namespaceOf(ICommonDao dao) {
+        return NAMESPACE_MAP.computeIfAbsent(dao.getClass(), clazz -> {
+            for (Class<?> daoInterface : clazz.getInterfaces()) {
+                if (ICommonDao.class.isAssignableFrom(daoInterface)) {
+                    return daoInterface.getName();
+                }
+            }
+
+            throw new ServiceException(CommonResponseCodesEnum.ERROR_DAO_METHOD_NO_IMPL);
+        });
+    }
+}
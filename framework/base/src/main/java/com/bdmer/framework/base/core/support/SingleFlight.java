@@ -0,0 +1,110 @@
+package com.bdmer.framework.base.core.support;
+
+import com.bdmer.framework.base.base.config.ServiceException;
+import com.bdmer.framework.base.common.enums.CommonResponseCodesEnum;
+import com.bdmer.framework.base.common.util.ReflectionUtil;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 相同查询合并
+ * 描述：同一时刻键相同的查询只有第一个（leader）真正执行，之后到达的调用等待leader的结果，
+ * 缓存失效或冷启动时几百个相同的查询只会到达数据库一次。leader执行结束后立即移除，不缓存结果。
+ * 等待超过timeoutMillis抛出异常；leader失败时等待的调用收到同一个异常。
+ * 等待的调用各自拿到结果的拷贝（见ReflectionUtil.copyResult），List和其中的实体都不与leader或其它调用共用，
+ * 修改返回的实体互不影响；实体中Date等可变的字段值仍然共用
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+public class SingleFlight {
+
+    private final Map<String, CompletableFuture<Object>> flightMap = new ConcurrentHashMap<>();
+
+    private final long timeoutMillis;
+
+    private final AtomicLong leaderCount = new AtomicLong();
+    private final AtomicLong collapsedCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+
+    /**
+     * @param timeoutMillis 等待leader的超时时间（毫秒）
+     */
+    public SingleFlight(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * 执行查询，有相同键的查询正在执行时等待其结果
+     *
+     * @param key    查询键
+     * @param loader 查询方法
+     * @param <T>    结果类型
+     * @return 查询结果
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> loader) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = this.flightMap.putIfAbsent(key, flight);
+        if (existing == null) {
+            this.leaderCount.incrementAndGet();
+            try {
+                T value = loader.get();
+                // 等待的调用从快照拷贝，leader之后修改返回的结果不影响它们
+                flight.complete(ReflectionUtil.copyResult(value));
+                return value;
+            } catch (RuntimeException | Error e) {
+                flight.completeExceptionally(e);
+                throw e;
+            } finally {
+                this.flightMap.remove(key, flight);
+            }
+        }
+
+        this.collapsedCount.incrementAndGet();
+        try {
+            Object value = existing.get(this.timeoutMillis, TimeUnit.MILLISECONDS);
+            return (T) ReflectionUtil.copyResult(value);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ServiceException(e.getCause());
+        } catch (TimeoutException e) {
+            this.timeoutCount.incrementAndGet();
+            throw new ServiceException(CommonResponseCodesEnum.ERROR_SINGLE_FLIGHT_TIMEOUT, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException(e);
+        }
+    }
+
+    /**
+     * 写入后调用：正在执行的查询不再被之后的调用复用，已经在等待的不受影响
+     */
+    public void forgetAll() {
+        this.flightMap.clear();
+    }
+
+    /**
+     * 获取统计
+     *
+     * @return 统计名 - 值
+     */
+    public Map<String, Object> getStat() {
+        Map<String, Object> stat = new LinkedHashMap<>();
+        stat.put("inFlight", this.flightMap.size());
+        stat.put("leaderCount", this.leaderCount.get());
+        stat.put("collapsedCount", this.collapsedCount.get());
+        stat.put("timeoutCount", this.timeoutCount.get());
+        return stat;
+    }
+}
@@ -4,6 +4,7 @@ import com.bdmer.framework.base.base.config.ServiceException;
 import com.bdmer.framework.base.common.enums.CommonResponseCodesEnum;
 import com.bdmer.framework.base.dto.PageInfo;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.util.List;
 import java.util.Map;
@@ -30,6 +31,17 @@ public interface ICommonDao<F, D, R> {
         throw new ServiceException(CommonResponseCodesEnum.ERROR_DAO_METHOD_NO_IMPL);
     }
 
+    /**
+     * 批量新增或更新 - insert ... on duplicate key update
+     * 描述：返回影响行数，新增一行为1，更新一行为2
+     *
+     * @param entityList 实体数组
+     * @return 影响行数
+     */
+    default Integer batchUpsert(@Param("entityList") List<D> entityList) {
+        throw new ServiceException(CommonResponseCodesEnum.ERROR_DAO_METHOD_NO_IMPL);
+    }
+
     /**
      * 批量更新
      *
@@ -40,6 +52,29 @@ public interface ICommonDao<F, D, R> {
         throw new ServiceException(CommonResponseCodesEnum.ERROR_DAO_METHOD_NO_IMPL);
     }
 
+    /**
+     * 批量更新 - CASE WHEN单语句，批量更新方式为CASE_WHEN时才需要实现
+     * 描述：一个分片一条语句，set col = case id when #{id} then #{value} ... else col end where id in (...)，
+     * 只拼接实体中非null的字段
+     *
+     * @param entityList 实体数组
+     * @return 成功数
+     */
+    default Integer batchUpdateByCase(@Param("entityList") List<D> entityList) {
+        throw new ServiceException(CommonResponseCodesEnum.ERROR_DAO_METHOD_NO_IMPL);
+    }
+
+    /**
+     * 单条更新 - 批量更新方式为JDBC_BATCH、CASE_WHEN时才需要实现
+     * 描述：通过MyBatis的ExecutorType.BATCH批量执行，参数名为entity；每一行的SQL文本应相同（不要用<if>拼接），见JdbcBatchExecutor
+     *
+     * @param entity 实体
+     * @return 成功数
+     */
+    default Integer update(@Param("entity") D entity) {
+        throw new ServiceException(CommonResponseCodesEnum.ERROR_DAO_METHOD_NO_IMPL);
+    }
+
     /**
      * 批量逻辑删除 - 表结构必须有is_delete字段才需要实现
      *
@@ -70,6 +105,17 @@ public interface ICommonDao<F, D, R> {
         throw new ServiceException(CommonResponseCodesEnum.ERROR_DAO_METHOD_NO_IMPL);
     }
 
+    /**
+     * 批量获取实体并加锁 - select ... for update
+     * 描述：更新前的脏检查在事务中使用，默认与list一致不加锁
+     *
+     * @param ids 实体Ids
+     * @return 实体List
+     */
+    default List<D> listForUpdate(@Param("ids") Long[] ids) {
+        return this.list(ids);
+    }
+
     /**
      * 批量根据条件获取实体
      * 描述：可以根据cols按需获取字段，也可以通过withDeleted来获取逻辑删除的数据，默认不查询删除的
@@ -81,6 +127,19 @@ public interface ICommonDao<F, D, R> {
         throw new ServiceException(CommonResponseCodesEnum.ERROR_DAO_METHOD_NO_IMPL);
     }
 
+    /**
+     * 根据条件流式获取实体
+     * 描述：与listByFilter条件一致但不分页，Mapper中需要设置fetchSize="-2147483648"，MySQL驱动逐行读取结果，
+     * 每读到一行交给handler处理，不会在内存中保存整个结果集
+     * 注意：handler中不能再使用同一个连接执行SQL
+     *
+     * @param filter  过滤条件
+     * @param handler 行处理
+     */
+    default void streamByFilter(@Param("filter") F filter, ResultHandler<D> handler) {
+        throw new ServiceException(CommonResponseCodesEnum.ERROR_DAO_METHOD_NO_IMPL);
+    }
+
     /**
      * 批量根据条件统计数量
      * 描述：可以根据cols按需获取字段，也可以通过withDeleted来获取逻辑删除的数据，默认不查询删除的
@@ -0,0 +1,69 @@
+package com.bdmer.framework.base.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量写入结果
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+@Data
+public class BatchResult {
+    /**
+     * 总行数
+     */
+    private Integer total = 0;
+    /**
+     * 成功数
+     */
+    private Integer successCount = 0;
+    /**
+     * 失败数
+     */
+    private Integer failedCount = 0;
+    /**
+     * 失败的行范围，按起始下标排序，重传时只需要传这些行
+     */
+    private List<ChunkStat> failedList = new ArrayList<>();
+    /**
+     * 总耗时（毫秒）
+     */
+    private Long costMillis = 0L;
+    /**
+     * 每个分片的统计，按分片序号排序
+     */
+    private List<ChunkStat> chunkList = new ArrayList<>();
+
+    /**
+     * 过滤掉失败的行
+     *
+     * @param dataList 写入时的原List
+     * @param <T>      数据类型
+     * @return 成功的行
+     */
+    public <T> List<T> excludeFailed(List<T> dataList) {
+        if (this.failedList.isEmpty()) {
+            return dataList;
+        }
+
+        boolean[] failed = new boolean[dataList.size()];
+        for (ChunkStat stat : this.failedList) {
+            for (int i = stat.getFromIndex(); i < stat.getToIndex() && i < failed.length; i++) {
+                failed[i] = true;
+            }
+        }
+
+        List<T> result = new ArrayList<>();
+        for (int i = 0; i < dataList.size(); i++) {
+            if (!failed[i]) {
+                result.add(dataList.get(i));
+            }
+        }
+
+        return result;
+    }
+}
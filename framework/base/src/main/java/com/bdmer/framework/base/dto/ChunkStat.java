@@ -0,0 +1,69 @@
+package com.bdmer.framework.base.dto;
+
+import com.bdmer.framework.base.common.enums.ChunkStatusEnum;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 分片写入统计
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+@Data
+public class ChunkStat {
+    /**
+     * 分片序号，从0开始
+     */
+    private Integer index;
+    /**
+     * 分片在原List中的起始下标（包含）
+     */
+    private Integer fromIndex;
+    /**
+     * 分片在原List中的结束下标（不包含）
+     */
+    private Integer toIndex;
+    /**
+     * 成功数
+     */
+    private Integer successCount;
+    /**
+     * 耗时（毫秒）
+     */
+    private Long costMillis;
+    /**
+     * 执行时的并发数
+     */
+    private Integer concurrency;
+    /**
+     * 状态
+     */
+    private ChunkStatusEnum status;
+    /**
+     * 执行次数，包含重试
+     */
+    private Integer attempts;
+    /**
+     * 失败时的错误码：数据库错误为MySQL错误码，业务异常为subCode
+     */
+    private String errorCode;
+    /**
+     * 失败时的错误信息
+     */
+    private String errorMsg;
+    /**
+     * 拆分后失败的行范围，没有拆分时为null
+     */
+    private List<ChunkStat> failedList;
+
+    /**
+     * 分片行数
+     *
+     * @return 行数
+     */
+    public int getRows() {
+        return this.toIndex - this.fromIndex;
+    }
+}
@@ -0,0 +1,34 @@
+package com.bdmer.framework.base.dto;
+
+import com.bdmer.framework.base.common.enums.CountSourceEnum;
+import lombok.Data;
+
+/**
+ * 统计结果
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+@Data
+public class CountResult {
+    /**
+     * 数量
+     */
+    private Integer count;
+    /**
+     * 是否精确
+     */
+    private Boolean exact;
+    /**
+     * 来源
+     */
+    private CountSourceEnum source;
+
+    public static CountResult of(Integer count, CountSourceEnum source) {
+        CountResult result = new CountResult();
+        result.setCount(count);
+        result.setSource(source);
+        result.setExact(source == CountSourceEnum.EXACT);
+        return result;
+    }
+}
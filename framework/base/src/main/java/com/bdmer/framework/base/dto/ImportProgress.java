@@ -0,0 +1,34 @@
+package com.bdmer.framework.base.dto;
+
+import lombok.Data;
+
+/**
+ * 流式导入进度
+ * 描述：每写入一个分片输出一条，最后输出一条finished为true的汇总
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+@Data
+public class ImportProgress {
+    /**
+     * 当前分片，汇总时为null
+     */
+    private ChunkStat chunk;
+    /**
+     * 已处理行数
+     */
+    private Integer processed = 0;
+    /**
+     * 已成功数
+     */
+    private Integer successCount = 0;
+    /**
+     * 错误信息
+     */
+    private String errorMsg;
+    /**
+     * 是否结束
+     */
+    private Boolean finished = Boolean.FALSE;
+}
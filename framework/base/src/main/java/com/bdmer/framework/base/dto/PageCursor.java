@@ -0,0 +1,73 @@
+package com.bdmer.framework.base.dto;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.bdmer.framework.base.base.config.ServiceException;
+import com.bdmer.framework.base.common.enums.CommonResponseCodesEnum;
+import com.bdmer.framework.base.common.util.DateUtil;
+import com.bdmer.framework.base.common.util.Util;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Objects;
+
+/**
+ * 游标分页的游标
+ * 描述：记录上一页最后一行的排序字段值和id，编码为不透明的字符串返回给客户端，下一页原样传回。
+ * Mapper据此生成 where (排序字段, id) > (?, ?)，每一页的代价与页码无关；排序字段值为null时单独按id定位null行
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+@Data
+public class PageCursor {
+    /**
+     * 上一页最后一行的排序字段值，没有排序字段时为null
+     */
+    private Object sortValue;
+    /**
+     * 上一页最后一行的id
+     */
+    private Long id;
+
+    /**
+     * 编码
+     * 注意：时间按yyyy-MM-dd HH:mm:ss编码，便于与datetime字段比较
+     *
+     * @param sortValue 排序字段值
+     * @param id        id
+     * @return 游标
+     */
+    public static String encode(Object sortValue, Long id) {
+        Object value = sortValue instanceof Date ? DateUtil.getDateTimeStr((Date) sortValue) : sortValue;
+        String json = JSON.toJSONString(new Object[]{value, id});
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码
+     *
+     * @param cursor 游标
+     * @return 游标，为空时返回null
+     */
+    public static PageCursor decode(String cursor) {
+        if (Util.isNotString(cursor)) {
+            return null;
+        }
+
+        try {
+            JSONArray array = JSON.parseArray(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+            PageCursor pageCursor = new PageCursor();
+            pageCursor.setSortValue(array.get(0));
+            pageCursor.setId(array.getLong(1));
+            if (Objects.isNull(pageCursor.getId())) {
+                throw new IllegalArgumentException("cursor id is empty");
+            }
+            return pageCursor;
+        } catch (Exception e) {
+            throw new ServiceException(CommonResponseCodesEnum.WARN, "分页游标无效");
+        }
+    }
+}
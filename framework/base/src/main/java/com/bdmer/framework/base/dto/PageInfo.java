@@ -25,6 +25,12 @@ public class PageInfo {
     /** 总条数 **/
     private Integer total;
 
+    /** 游标分页的游标，不为null时使用游标分页（第一页传空字符串），忽略pageIndex **/
+    private String cursor;
+
+    /** 解码后的游标 **/
+    private transient PageCursor pageCursor;
+
     public enum Sort {
         /** 降序 **/
         DESC, ASC
@@ -78,4 +84,58 @@ public class PageInfo {
     public void setTotal(Integer total) {
         this.total = total;
     }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+        this.pageCursor = PageCursor.decode(cursor);
+    }
+
+    /**
+     * 游标分页 - 上一页最后一行的排序字段值
+     *
+     * @return 排序字段值，第一页为null
+     */
+    public Object getCursorValue() {
+        return pageCursor == null ? null : pageCursor.getSortValue();
+    }
+
+    /**
+     * 游标分页 - 上一页最后一行的id
+     *
+     * @return id，第一页为null
+     */
+    public Long getCursorId() {
+        return pageCursor == null ? null : pageCursor.getId();
+    }
+
+    /**
+     * 游标分页 - 排序字段
+     *
+     * @return 排序字段
+     */
+    public String getCursorSortField() {
+        return sortField;
+    }
+
+    /**
+     * 游标分页 - 是否降序
+     *
+     * @return 是否降序
+     */
+    public boolean isCursorDesc() {
+        return Sort.DESC.toString().equalsIgnoreCase(sortOrder);
+    }
+
+    /**
+     * 游标分页 - 查询行数，多查一行用于判断是否还有下一页
+     *
+     * @return 查询行数
+     */
+    public int getCursorLimit() {
+        return pageSize + 1;
+    }
 }
@@ -0,0 +1,100 @@
+package com.bdmer.framework.base.dto;
+
+import com.bdmer.framework.base.common.util.LogUtils;
+import com.bdmer.framework.base.common.util.ReflectionUtil;
+import com.bdmer.framework.base.common.util.Util;
+import lombok.Data;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 分页结果
+ * 描述：游标分页时有nextCursor、hasMore，页码分页时有total
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+@Data
+public class PageResult<T> {
+    /**
+     * 当前页数据
+     */
+    private List<T> list = new ArrayList<>();
+    /**
+     * 下一页的游标，没有下一页时为null
+     */
+    private String nextCursor;
+    /**
+     * 是否还有下一页
+     */
+    private Boolean hasMore = Boolean.FALSE;
+    /**
+     * 总条数，游标分页时为null
+     */
+    private Integer total;
+
+    /**
+     * 页码分页的结果
+     *
+     * @param list  当前页数据
+     * @param total 总条数
+     * @param <T>   数据类型
+     * @return 分页结果
+     */
+    public static <T> PageResult<T> withTotal(List<T> list, Integer total) {
+        PageResult<T> result = new PageResult<>();
+        if (Objects.nonNull(list)) {
+            result.setList(list);
+        }
+        result.setTotal(total);
+        return result;
+    }
+
+    /**
+     * 根据多查询一行的结果构建
+     * 注意：结果中需要包含id和排序字段，否则无法生成下一页的游标
+     *
+     * @param rowList   查询结果，最多pageSize + 1行
+     * @param pageSize  每页大小
+     * @param sortField 排序字段，没有时按id
+     * @param <T>       数据类型
+     * @return 分页结果
+     */
+    public static <T> PageResult<T> of(List<T> rowList, int pageSize, String sortField) {
+        PageResult<T> result = new PageResult<>();
+        if (Util.isNull(rowList)) {
+            return result;
+        }
+
+        boolean hasMore = rowList.size() > pageSize;
+        result.setList(new ArrayList<>(hasMore ? rowList.subList(0, pageSize) : rowList));
+        result.setHasMore(hasMore);
+        if (!hasMore || result.getList().isEmpty()) {
+            return result;
+        }
+
+        // 最后一行的排序字段值和id
+        T last = Util.getLastElement(result.getList());
+        try {
+            Field idField = ReflectionUtil.getFiledByName(last.getClass(), "id");
+            Field sortValueField = Util.isString(sortField) ? ReflectionUtil.getFiledByName(last.getClass(), sortField) : null;
+            if (Objects.isNull(idField)) {
+                return result;
+            }
+            idField.setAccessible(Boolean.TRUE);
+            Object sortValue = null;
+            if (Objects.nonNull(sortValueField)) {
+                sortValueField.setAccessible(Boolean.TRUE);
+                sortValue = sortValueField.get(last);
+            }
+            result.setNextCursor(PageCursor.encode(sortValue, (Long) idField.get(last)));
+        } catch (IllegalAccessException e) {
+            LogUtils.logError("生成分页游标失败 e:", e);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,68 @@
+package com.bdmer.framework.base.dto;
+
+import com.bdmer.framework.base.common.util.ColumnProjector;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * 按需返回字段的List
+ * 描述：不复制数据，Jackson序列化时每行直接通过投影写出，不创建Map；
+ * 其他地方按List使用时get(i)才投影成Map，每次get都会新建
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+@JsonSerialize(using = ProjectedList.ProjectedListSerializer.class)
+public class ProjectedList extends AbstractList<Map<String, Object>> implements RandomAccess {
+
+    private final List<?> rowList;
+
+    private final ColumnProjector projector;
+
+    public ProjectedList(List<?> rowList, ColumnProjector projector) {
+        this.rowList = rowList;
+        this.projector = projector;
+    }
+
+    @Override
+    public Map<String, Object> get(int index) {
+        Object row = this.rowList.get(index);
+        return row == null ? null : this.projector.project(row);
+    }
+
+    @Override
+    public int size() {
+        return this.rowList.size();
+    }
+
+    /**
+     * 直接写出投影后的行
+     */
+    public static class ProjectedListSerializer extends StdSerializer<ProjectedList> {
+
+        public ProjectedListSerializer() {
+            super(ProjectedList.class);
+        }
+
+        @Override
+        public void serialize(ProjectedList value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartArray(value.size());
+            for (Object row : value.rowList) {
+                if (row == null) {
+                    generator.writeNull();
+                } else {
+                    value.projector.write(row, generator, provider);
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -2,18 +2,13 @@ package com.bdmer.framework.base.dto;
 
 import com.bdmer.framework.base.common.enums.CommonResponseCodesEnum;
 import com.bdmer.framework.base.common.enums.ResponseCode;
+import com.bdmer.framework.base.common.util.ColumnProjector;
 import com.bdmer.framework.base.common.util.Util;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
-import java.lang.reflect.Field;
 import java.text.MessageFormat;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * 返回JSON结果基本方法
@@ -237,52 +232,20 @@ public class R {
 
     /**
      * 返回成功 - 附带成功码 - 按需返回字段
+     * 注意：data是ProjectedList，序列化时才按投影取值
      *
      * @param t    返回数据
      * @param cols 需要哪些字段
      * @return 返回包装数据
      */
-    @SuppressWarnings("unckecked")
     public static <T> CommonResponse<Object> success(List<T> t, String[] cols) {
         if (Util.isNull(cols) || Util.isNull(t)) {
             return R.success(CommonResponseCodesEnum.SUCCESS, t);
         }
 
-        try {
-            // 获取继承链路上所有字段
-            List<Field> fieldList = new ArrayList<>();
-            Class tempClass = t.get(0).getClass();
-            // 当父类为null的时候说明到达了最上层的父类(Object类)
-            while (tempClass != null) {
-                fieldList.addAll(Arrays.asList(tempClass.getDeclaredFields()));
-                // 得到父类,然后赋给自己
-                tempClass = tempClass.getSuperclass();
-            }
-
-            List<String> colList = Arrays.stream(cols).collect(Collectors.toList());
-            // 按需返回字段
-
-            List<Map> response = new ArrayList<>();
-            for (Object o : t) {
-                // 字段数量一般再20左右
-                Map<String, Object> responseMap = new HashMap<>(32);
-
-                for (Field field : fieldList) {
-                    field.setAccessible(true);
-                    if (colList.contains(field.getName())) {
-                        responseMap.put(field.getName(), field.get(o));
-                    }
-                    field.setAccessible(false);
-                }
-                response.add(responseMap);
-            }
-
-            return R.success(CommonResponseCodesEnum.SUCCESS, response);
-        } catch (Exception e) {
-            log.error("[R - success] 按需返回字段 e:{}", e.getMessage());
-        }
-
-        return R.success(CommonResponseCodesEnum.SUCCESS, t);
+        // 按(类, cols)缓存的投影
+        ColumnProjector projector = ColumnProjector.of(t.get(0).getClass(), cols);
+        return R.success(CommonResponseCodesEnum.SUCCESS, new ProjectedList(t, projector));
     }
 
     /**
@@ -299,50 +262,16 @@ public class R {
             return R.success(CommonResponseCodesEnum.SUCCESS, t);
         }
 
-        // 获取继承链路上所有字段
-        List<Field> fieldList = new ArrayList<>();
-
-        Class tempClass = clazz;
-        // 当父类为null的时候说明到达了最上层的父类(Object类)
-        while (tempClass != null) {
-            fieldList.addAll(Arrays.asList(tempClass.getDeclaredFields()));
-            // 得到父类,然后赋给自己
-            tempClass = tempClass.getSuperclass();
-        }
-
-        List<String> colList = Arrays.stream(cols).collect(Collectors.toList());
-        // 按需返回字段
+        // 按(类, cols)缓存的投影
+        ColumnProjector projector = ColumnProjector.of(clazz, cols);
         try {
             // t属于数组类型
             if (t instanceof List) {
-                List<Map> response = new ArrayList<>();
-                for (Object o : (List) t) {
-                    // 字段数量一般再20左右
-                    Map<String, Object> responseMap = new HashMap<>(32);
-
-                    for (Field field : fieldList) {
-                        field.setAccessible(true);
-                        if (colList.contains(field.getName())) {
-                            responseMap.put(field.getName(), field.get(o));
-                        }
-                        field.setAccessible(false);
-                    }
-                    response.add(responseMap);
-                }
-
-                return R.success(CommonResponseCodesEnum.SUCCESS, response);
+                return R.success(CommonResponseCodesEnum.SUCCESS, new ProjectedList((List) t, projector));
             }
 
             // t数据单对象类型
-            // 字段数量一般再20左右
-            Map<String, Object> response = new HashMap<>(32);
-            for (Field field : fieldList) {
-                if (colList.contains(field.getName())) {
-                    response.put(field.getName(), field.get(t));
-                }
-            }
-
-            return R.success(CommonResponseCodesEnum.SUCCESS, response);
+            return R.success(CommonResponseCodesEnum.SUCCESS, projector.project(t));
         } catch (Exception e) {
             log.error("[R - success] 按需返回字段 e:{}", e.getMessage());
         }
@@ -0,0 +1,51 @@
+package com.bdmer.framework.base.dto;
+
+import lombok.Data;
+
+/**
+ * 批量新增或更新结果
+ * 描述：根据insert ... on duplicate key update的影响行数计算新增和更新的数量，不需要事先查询。
+ * MySQL中新增一行影响行数为1，更新一行为2；驱动默认返回found rows（useAffectedRows=false），
+ * 已存在但值没有变化的行计为1，因此会被算作新增数，调用方需要知道这一点。
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+@Data
+public class UpsertResult {
+    /**
+     * 总行数
+     */
+    private Integer total = 0;
+    /**
+     * 影响行数
+     */
+    private Integer affectedRows = 0;
+    /**
+     * 新增数
+     */
+    private Integer insertCount = 0;
+    /**
+     * 更新数
+     */
+    private Integer updateCount = 0;
+
+    /**
+     * 根据总行数和影响行数计算新增、更新数
+     *
+     * @param total        总行数
+     * @param affectedRows 影响行数
+     * @return 结果
+     */
+    public static UpsertResult of(int total, int affectedRows) {
+        UpsertResult result = new UpsertResult();
+        result.setTotal(total);
+        result.setAffectedRows(affectedRows);
+
+        int updateCount = Math.min(total, Math.max(0, affectedRows - total));
+        result.setUpdateCount(updateCount);
+        result.setInsertCount(Math.max(0, Math.min(total, affectedRows) - updateCount));
+
+        return result;
+    }
+}
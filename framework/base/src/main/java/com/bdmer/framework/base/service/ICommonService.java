@@ -1,21 +1,35 @@
 package com.bdmer.framework.base.service;
 
 import com.bdmer.framework.base.base.config.ServiceException;
+import com.bdmer.framework.base.common.constant.MysqlConstant;
 import com.bdmer.framework.base.common.enums.CommonOperateEnum;
 import com.bdmer.framework.base.common.enums.CommonResponseCodesEnum;
+import com.bdmer.framework.base.common.enums.CountSourceEnum;
+import com.bdmer.framework.base.common.util.ClassMeta;
 import com.bdmer.framework.base.common.util.LogUtils;
-import com.bdmer.framework.base.common.util.ReflectionUtil;
+import com.bdmer.framework.base.common.util.PropertyAccessor;
+import com.bdmer.framework.base.common.util.TransactionUtil;
 import com.bdmer.framework.base.common.util.Util;
 import com.bdmer.framework.base.core.ICommonCore;
+import com.bdmer.framework.base.core.support.DbExecutor;
+import com.bdmer.framework.base.core.support.GroupCommitter;
+import com.bdmer.framework.base.dto.BatchResult;
 import com.bdmer.framework.base.dto.CommonResponse;
+import com.bdmer.framework.base.dto.CountResult;
 import com.bdmer.framework.base.dto.PageInfo;
+import com.bdmer.framework.base.dto.PageResult;
 import com.bdmer.framework.base.dto.R;
+import com.bdmer.framework.base.dto.UpsertResult;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 /**
  * 公共服务接口
@@ -35,6 +49,27 @@ public interface ICommonService<F, D, E> {
      */
     ICommonCore getCommonCore();
 
+    /**
+     * 是否开启合并提交
+     * 描述：开启后Controller的单条add、update会走groupAdd、groupUpdate，
+     * 并发的单条请求被合并成小批次在一个事务中写入。默认不开启
+     *
+     * @return 是否开启
+     */
+    default boolean isGroupCommit() {
+        return false;
+    }
+
+    /**
+     * 是否开启更新前的脏检查
+     * 描述：开启后batchUpdate根据旧实体逐行比较，只更新有变化的字段，没有变化的行不再发送到数据库。默认开启
+     *
+     * @return 是否开启
+     */
+    default boolean isDirtyCheck() {
+        return true;
+    }
+
     /**
      * 记录业务日志
      *
@@ -47,6 +82,17 @@ public interface ICommonService<F, D, E> {
         }
     }
 
+    /**
+     * 记录新增或更新的业务日志
+     * 描述：新增、更新数由影响行数计算得到，默认按UPSERT操作记录日志
+     *
+     * @param upsertResult 新增、更新数
+     * @param entityList   实体数组
+     */
+    default void writeUpsertLog(UpsertResult upsertResult, List<E> entityList) {
+        this.writeCommonLog(CommonOperateEnum.UPSERT, entityList);
+    }
+
     /**
      * 查询条件的准备 - FilterDTO
      * 注意：不仅仅对Filter作NPE过滤，最主要的是主表的关联操作在这里实现。
@@ -84,6 +130,32 @@ public interface ICommonService<F, D, E> {
         return this.batchAdd(entityList);
     }
 
+    /**
+     * 添加 - 合并提交
+     * 注意：不能加@Transactional，否则每个请求在等待凑批时都会占用一个连接，事务由合并提交器开启
+     *
+     * @param entity 实体
+     * @return 成功数
+     */
+    default CommonResponse<Object> groupAdd(D entity) {
+        if (Objects.isNull(entity)) {
+            throw new ServiceException(CommonResponseCodesEnum.ERROR_PARAM_IS_EMPTY);
+        }
+
+        Integer result = GroupCommitter.<D>of(this.getCommonCore(), CommonOperateEnum.ADD).commit(entity);
+
+        // 成功后记录日志
+        try {
+            if (Objects.nonNull(result) && result > 0) {
+                this.writeCommonLog(CommonOperateEnum.ADD, (List<E>) Collections.singletonList(entity));
+            }
+        } catch (Exception e) {
+            LogUtils.logError("[ICommonService - groupAdd] 记录日志错误：", e);
+        }
+
+        return R.success(result);
+    }
+
     /**
      * 批量添加
      *
@@ -130,8 +202,47 @@ public interface ICommonService<F, D, E> {
         return this.batchUpdate(entityList);
     }
 
+    /**
+     * 更新 - 合并提交
+     * 注意：不能加@Transactional，否则每个请求在等待凑批时都会占用一个连接，事务由合并提交器开启
+     *
+     * @param entity 实体
+     * @return 成功数
+     */
+    default CommonResponse<Object> groupUpdate(D entity) {
+        if (Objects.isNull(entity)) {
+            throw new ServiceException(CommonResponseCodesEnum.ERROR_PARAM_IS_EMPTY);
+        }
+
+        // 获取旧实体
+        PropertyAccessor idAccessor = this.getIdAccessor(entity);
+        Object oldEntity = null;
+        try {
+            oldEntity = this.getCommonCore().get((Long) idAccessor.get(entity));
+        } catch (Exception e) {
+            LogUtils.logError("[ICommonService - groupUpdate] - 获取旧实体出错：", e);
+        }
+
+        Integer result = GroupCommitter.<D>of(this.getCommonCore(), CommonOperateEnum.UPDATE).commit(entity);
+
+        // 成功后记录日志
+        try {
+            if (Objects.nonNull(result) && result > 0 && Objects.nonNull(oldEntity)) {
+                this.writeCommonLog(CommonOperateEnum.UPDATE, (List<E>) Collections.singletonList(oldEntity));
+            }
+        } catch (Exception e) {
+            LogUtils.logError("[ICommonService - groupUpdate] 记录日志错误：", e);
+        }
+
+        return R.success(result);
+    }
+
     /**
      * 批量更新
+     * 描述：开启脏检查时只更新有变化的字段，没有变化的行跳过但计入成功数。
+     * 脏检查按MAX_UPDATE_NUM分片，每个分片在自己的事务中加锁读取旧实体、比较并更新，
+     * 行锁只持有到该分片提交，不会一次锁住全部输入。
+     * 注意：分片之间不是原子的，某个分片失败时前面的分片已经提交；调用方已有事务时所有分片加入该事务
      *
      * @param entityList 实体s
      * @return 成功数
@@ -141,45 +252,198 @@ public interface ICommonService<F, D, E> {
             throw new ServiceException(CommonResponseCodesEnum.ERROR_PARAM_IS_EMPTY);
         }
 
-        // 通过反射获取id的值
-        Field idField = ReflectionUtil.getFiledByName(entityList.get(0).getClass(), "id");
-        if (Objects.isNull(idField)) {
-            throw new ServiceException(CommonResponseCodesEnum.ERROR_ID_IS_EMPTY);
+        if (!this.isDirtyCheck()) {
+            return this.batchUpdate(entityList, this.listOldEntity(entityList));
         }
-        idField.setAccessible(Boolean.TRUE);
 
-        // 获取idList
-        List<Long> idList = new ArrayList<>();
+        int successCount = 0;
+        for (int fromIndex = 0; fromIndex < entityList.size(); fromIndex += MysqlConstant.MAX_UPDATE_NUM) {
+            List<D> chunk = entityList.subList(fromIndex, Math.min(fromIndex + MysqlConstant.MAX_UPDATE_NUM, entityList.size()));
+            CommonResponse<Object> response = TransactionUtil.execute(() -> this.batchUpdate(chunk, this.listOldEntity(chunk)));
+            successCount += (Integer) response.getData();
+        }
+        return R.success(successCount);
+    }
+
+    /**
+     * 批量更新 - 已获取旧实体
+     *
+     * @param entityList    实体s
+     * @param oldEntityList 旧实体s，获取失败时为null
+     * @return 成功数
+     */
+    default CommonResponse<Object> batchUpdate(List<D> entityList, List<E> oldEntityList) {
+        // 脏检查：只保留有变化的行和字段
+        int unchangedCount = 0;
+        if (this.isDirtyCheck() && !Util.isNull(oldEntityList)) {
+            Map<Object, E> oldEntityMap = Util.listToMap(oldEntityList, "id");
+            PropertyAccessor idAccessor = this.getIdAccessor(entityList.get(0));
+            List<D> changedList = new ArrayList<>();
+            List<E> changedOldList = new ArrayList<>();
+            for (D entity : entityList) {
+                E oldEntity = oldEntityMap.get(idAccessor.get(entity));
+                D changedEntity = Util.getChangedEntity(oldEntity, entity, "id");
+                if (Objects.isNull(changedEntity)) {
+                    unchangedCount++;
+                    continue;
+                }
+                changedList.add(changedEntity);
+                if (Objects.nonNull(oldEntity)) {
+                    changedOldList.add(oldEntity);
+                }
+            }
+            entityList = changedList;
+            oldEntityList = changedOldList;
+        }
+
+        // 全部没有变化
+        if (entityList.isEmpty()) {
+            return R.success(unchangedCount);
+        }
+
+        // 开始更新
+        Integer result = this.getCommonCore().batchUpdate(entityList);
+
+        // 成功后记录日志
         try {
-            for (D e : entityList) {
-                idList.add((Long) idField.get(e));
+            if (Objects.nonNull(result) && result > 0 && !Util.isNull(oldEntityList)) {
+                this.writeCommonLog(CommonOperateEnum.UPDATE, oldEntityList);
             }
-        } catch (IllegalAccessException e) {
-            LogUtils.logError(e);
+        } catch (Exception e) {
+            LogUtils.logError("[ICommonService - batchUpdate] 记录日志错误：", e);
+        }
+
+        // 没有变化的行与MySQL默认返回匹配行数的行为一致，计入成功数
+        return R.success(Objects.isNull(result) ? unchangedCount : result + unchangedCount);
+    }
+
+    /**
+     * 根据实体的id获取旧实体，用于脏检查和更新日志
+     * 描述：直接查询数据库，不使用按id缓存，有事务时加锁读取
+     *
+     * @param entityList 实体s
+     * @return 旧实体s，获取失败时为null
+     */
+    default List<E> listOldEntity(List<D> entityList) {
+        // 获取idList
+        PropertyAccessor idAccessor = this.getIdAccessor(entityList.get(0));
+        List<Long> idList = new ArrayList<>(entityList.size());
+        for (D e : entityList) {
+            idList.add((Long) idAccessor.get(e));
         }
         if (Util.isNull(idList)) {
             throw new ServiceException(CommonResponseCodesEnum.ERROR_ID_IS_EMPTY);
         }
-        idField.setAccessible(Boolean.FALSE);
 
         // 获取旧实体
-        List<E> oldEntityList = null;
         try {
-            oldEntityList = this.getCommonCore().list(Util.listToArray(idList));
+            return this.getCommonCore().listForUpdate(Util.listToArray(idList));
         } catch (Exception e) {
-            LogUtils.logError("[ICommonService - batchUpdate] - 获取旧实体出错：", e);
+            LogUtils.logError("[ICommonService - listOldEntity] - 获取旧实体出错：", e);
         }
 
+        return null;
+    }
+
+    /**
+     * 获取实体id的访问器
+     *
+     * @param entity 实体
+     * @return id访问器
+     */
+    default PropertyAccessor getIdAccessor(Object entity) {
+        PropertyAccessor idAccessor = ClassMeta.of(entity.getClass()).getAccessor("id");
+        if (Objects.isNull(idAccessor)) {
+            throw new ServiceException(CommonResponseCodesEnum.ERROR_ID_IS_EMPTY);
+        }
+        return idAccessor;
+    }
+
+    /**
+     * 批量添加 - 允许部分失败
+     * 描述：返回每个分片的状态和失败的行范围，只为成功的行记录日志
+     *
+     * @param entityList 实体s
+     * @param bisect     重试后仍失败时是否拆分
+     * @return 写入结果
+     */
+    default CommonResponse<Object> batchAddPartial(List<D> entityList, boolean bisect) {
+        if (Util.isNull(entityList)) {
+            throw new ServiceException(CommonResponseCodesEnum.ERROR_PARAM_IS_EMPTY);
+        }
+
+        BatchResult result = this.getCommonCore().batchAddPartial(entityList, bisect);
+
+        // 成功的行记录日志
+        try {
+            if (result.getSuccessCount() > 0) {
+                this.writeCommonLog(CommonOperateEnum.ADD, (List<E>) result.excludeFailed(entityList));
+            }
+        } catch (Exception e) {
+            LogUtils.logError("[ICommonService - batchAddPartial] 记录日志错误：", e);
+        }
+
+        return R.success(result);
+    }
+
+    /**
+     * 批量更新 - 允许部分失败
+     * 描述：返回每个分片的状态和失败的行范围，只为成功的行记录日志
+     *
+     * @param entityList 实体s
+     * @param bisect     重试后仍失败时是否拆分
+     * @return 写入结果
+     */
+    default CommonResponse<Object> batchUpdatePartial(List<D> entityList, boolean bisect) {
+        if (Util.isNull(entityList)) {
+            throw new ServiceException(CommonResponseCodesEnum.ERROR_PARAM_IS_EMPTY);
+        }
+
+        // 获取旧实体
+        List<E> oldEntityList = this.listOldEntity(entityList);
+
         // 开始更新
-        Integer result = this.getCommonCore().batchUpdate(entityList);
+        BatchResult result = this.getCommonCore().batchUpdatePartial(entityList, bisect);
+
+        // 成功的行记录日志
+        try {
+            if (result.getSuccessCount() > 0 && !Util.isNull(oldEntityList)) {
+                Map<Object, E> oldEntityMap = Util.listToMap(oldEntityList, "id");
+                List<E> logList = new ArrayList<>();
+                for (Object id : Util.listEntityToList(result.excludeFailed(entityList), "id")) {
+                    if (oldEntityMap.containsKey(id)) {
+                        logList.add(oldEntityMap.get(id));
+                    }
+                }
+                this.writeCommonLog(CommonOperateEnum.UPDATE, logList);
+            }
+        } catch (Exception e) {
+            LogUtils.logError("[ICommonService - batchUpdatePartial] 记录日志错误：", e);
+        }
+
+        return R.success(result);
+    }
+
+    /**
+     * 批量新增或更新
+     *
+     * @param entityList 实体s
+     * @return 新增、更新数
+     */
+    default CommonResponse<Object> batchUpsert(List<D> entityList) {
+        if (Util.isNull(entityList)) {
+            throw new ServiceException(CommonResponseCodesEnum.ERROR_PARAM_IS_EMPTY);
+        }
+
+        UpsertResult result = this.getCommonCore().batchUpsert(entityList);
 
         // 成功后记录日志
         try {
-            if (Objects.nonNull(result) && result > 0 && !Util.isNull(oldEntityList)) {
-                this.writeCommonLog(CommonOperateEnum.UPDATE, oldEntityList);
+            if (Objects.nonNull(result) && result.getAffectedRows() > 0) {
+                this.writeUpsertLog(result, (List<E>) entityList);
             }
         } catch (Exception e) {
-            LogUtils.logError("[ICommonService - batchUpdate] 记录日志错误：", e);
+            LogUtils.logError("[ICommonService - batchUpsert] 记录日志错误：", e);
         }
 
         return R.success(result);
@@ -243,6 +507,36 @@ public interface ICommonService<F, D, E> {
         return R.success(this.getCommonCore().listByFilter(filter));
     }
 
+    /**
+     * 根据条件流式查询
+     * 描述：不分页，逐行交给consumer处理，不会把整个结果集放在内存中
+     *
+     * @param filter   查询条件
+     * @param consumer 行处理
+     * @return 行数
+     */
+    default CommonResponse<Integer> streamByFilter(F filter, Consumer<D> consumer) {
+        return this.streamByFilter(filter, consumer, () -> false);
+    }
+
+    /**
+     * 根据条件流式查询 - 可以中途停止
+     * 描述：每处理一行后检查stopped，为true时停止读取，如写入响应失败（客户端已断开）时
+     *
+     * @param filter   查询条件
+     * @param consumer 行处理
+     * @param stopped  是否停止
+     * @return 已处理的行数
+     */
+    default CommonResponse<Integer> streamByFilter(F filter, Consumer<D> consumer, BooleanSupplier stopped) {
+        // 查询条件准备
+        if (!this.checkFilter(filter)) {
+            return R.success(0);
+        }
+
+        return R.success(this.getCommonCore().streamByFilter(filter, consumer, stopped));
+    }
+
     /**
      * 根据条件统计
      * 描述：与listByFilter配套使用，可以通过withDeleted来统计逻辑删除的数据，默认不统计删除的
@@ -259,6 +553,23 @@ public interface ICommonService<F, D, E> {
         return R.success(this.getCommonCore().countByFilter(filter));
     }
 
+    /**
+     * 根据条件统计 - 允许估算
+     * 描述：界面只显示大约多少条时使用，结果中的exact表示是否精确
+     *
+     * @param filter 查询条件
+     * @param exact  是否需要精确统计
+     * @return 统计结果
+     */
+    default CommonResponse<CountResult> countByFilter(F filter, boolean exact) {
+        // 查询条件准备
+        if (!this.checkFilter(filter)) {
+            return R.success(CountResult.of(0, CountSourceEnum.EXACT));
+        }
+
+        return R.success(this.getCommonCore().countByFilter(filter, exact));
+    }
+
     /**
      * 获取主页面结果
      * 描述：不会获取删除的数据
@@ -280,6 +591,54 @@ public interface ICommonService<F, D, E> {
         return R.success(this.getCommonCore().listMain(filter, pageInfo));
     }
 
+    /**
+     * 获取主页面结果和总条数
+     * 描述：一次请求代替listMain + listCount，两个查询同时执行
+     *
+     * @param filter   查询条件
+     * @param pageInfo 分页信息
+     * @return 分页结果，包含list和total
+     */
+    default CommonResponse<PageResult> listMainWithTotal(F filter, PageInfo pageInfo) {
+        // 查询条件准备
+        if (!this.checkFilter(filter)) {
+            return R.success(PageResult.withTotal(new ArrayList<>(), 0));
+        }
+
+        return R.success(this.getCommonCore().listMainWithTotal(filter, pageInfo));
+    }
+
+    /**
+     * 获取主页面结果 - 游标分页
+     *
+     * @param filter   查询条件
+     * @param pageInfo 分页信息，cursor为上一页返回的nextCursor，第一页为空
+     * @return 分页结果
+     */
+    default CommonResponse<PageResult> listMainByCursor(F filter, PageInfo pageInfo) {
+        // 查询条件准备
+        if (!this.checkFilter(filter)) {
+            return R.success(new PageResult());
+        }
+
+        return R.success(this.getCommonCore().listMainByCursor(filter, pageInfo));
+    }
+
+    /**
+     * 根据条件查询 - 游标分页
+     *
+     * @param filter 查询条件，cursor为上一页返回的nextCursor，第一页为空
+     * @return 分页结果
+     */
+    default CommonResponse<PageResult> listByFilterByCursor(F filter) {
+        // 查询条件准备
+        if (!this.checkFilter(filter)) {
+            return R.success(new PageResult());
+        }
+
+        return R.success(this.getCommonCore().listByFilterByCursor(filter));
+    }
+
     /**
      * 获取主页面结果条数
      *
@@ -296,6 +655,22 @@ public interface ICommonService<F, D, E> {
         return R.success(this.getCommonCore().listCount(filter));
     }
 
+    /**
+     * 获取主页面结果条数 - 允许估算
+     *
+     * @param filter 查询条件
+     * @param exact  是否需要精确统计
+     * @return 统计结果
+     */
+    default CommonResponse<CountResult> listCount(F filter, boolean exact) {
+        // 查询条件准备
+        if (!this.checkFilter(filter)) {
+            return R.success(CountResult.of(0, CountSourceEnum.EXACT));
+        }
+
+        return R.success(this.getCommonCore().listCount(filter, exact));
+    }
+
     /**
      * 统计字段的数量
      * 描述：不会统计删除的数据
@@ -306,7 +681,116 @@ public interface ICommonService<F, D, E> {
     default CommonResponse<List> listFieldCount(String field) {
         return R.success(this.getCommonCore().listFieldCount(field));
     }
-}
 
+    /**
+     * 添加 - 异步
+     * 描述：异步方法都在DbExecutor中执行，不占用调用线程。其它线程不经过@Transactional代理，需要事务的用TransactionUtil开启
+     *
+     * @param entity 实体
+     * @return 成功数
+     */
+    default CompletableFuture<CommonResponse<Object>> addAsync(D entity) {
+        return DbExecutor.get().supply(this.getClass().getSimpleName() + ".addAsync", () -> TransactionUtil.execute(() -> this.add(entity)));
+    }
+
+    /**
+     * 批量添加 - 异步
+     *
+     * @param entityList 实体s
+     * @return 成功数
+     */
+    default CompletableFuture<CommonResponse<Object>> batchAddAsync(List<D> entityList) {
+        return DbExecutor.get().supply(this.getClass().getSimpleName() + ".batchAddAsync", () -> this.batchAdd(entityList));
+    }
 
+    /**
+     * 更新 - 异步
+     *
+     * @param entity 实体
+     * @return 成功数
+     */
+    default CompletableFuture<CommonResponse<Object>> updateAsync(D entity) {
+        return DbExecutor.get().supply(this.getClass().getSimpleName() + ".updateAsync", () -> TransactionUtil.execute(() -> this.update(entity)));
+    }
+
+    /**
+     * 批量更新 - 异步
+     *
+     * @param entityList 实体s
+     * @return 成功数
+     */
+    default CompletableFuture<CommonResponse<Object>> batchUpdateAsync(List<D> entityList) {
+        return DbExecutor.get().supply(this.getClass().getSimpleName() + ".batchUpdateAsync", () -> this.batchUpdate(entityList));
+    }
+
+    /**
+     * 批量删除 - 异步
+     *
+     * @param ids Id数组
+     * @return 成功数
+     */
+    default CompletableFuture<CommonResponse<Object>> batchDeleteAsync(Long[] ids) {
+        return DbExecutor.get().supply(this.getClass().getSimpleName() + ".batchDeleteAsync", () -> this.batchDelete(ids));
+    }
+
+    /**
+     * 根据id获取 - 异步
+     *
+     * @param id 主键id
+     * @return 实体
+     */
+    default CompletableFuture<CommonResponse<Object>> getAsync(Long id) {
+        return DbExecutor.get().supply(this.getClass().getSimpleName() + ".getAsync", () -> this.get(id));
+    }
 
+    /**
+     * 根据条件查询 - 异步
+     *
+     * @param filter 查询条件
+     * @return 实体List
+     */
+    default CompletableFuture<CommonResponse<List>> listByFilterAsync(F filter) {
+        return DbExecutor.get().supply(this.getClass().getSimpleName() + ".listByFilterAsync", () -> this.listByFilter(filter));
+    }
+
+    /**
+     * 根据条件统计 - 异步
+     *
+     * @param filter 查询条件
+     * @return 实体List数量
+     */
+    default CompletableFuture<CommonResponse<Integer>> countByFilterAsync(F filter) {
+        return DbExecutor.get().supply(this.getClass().getSimpleName() + ".countByFilterAsync", () -> this.countByFilter(filter));
+    }
+
+    /**
+     * 获取主页面结果 - 异步
+     *
+     * @param filter   查询条件
+     * @param pageInfo 分页信息
+     * @return 主页面结果List
+     */
+    default CompletableFuture<CommonResponse<List>> listMainAsync(F filter, PageInfo pageInfo) {
+        return DbExecutor.get().supply(this.getClass().getSimpleName() + ".listMainAsync", () -> this.listMain(filter, pageInfo));
+    }
+
+    /**
+     * 获取主页面结果条数 - 异步
+     *
+     * @param filter 查询条件
+     * @return 主页面结果数量
+     */
+    default CompletableFuture<CommonResponse<Integer>> listCountAsync(F filter) {
+        return DbExecutor.get().supply(this.getClass().getSimpleName() + ".listCountAsync", () -> this.listCount(filter));
+    }
+
+    /**
+     * 统计字段的数量 - 异步
+     *
+     * @param field 对应归类字段
+     * @return 字段的数量
+     */
+    default CompletableFuture<CommonResponse<List>> listFieldCountAsync(String field) {
+        return DbExecutor.get().supply(this.getClass().getSimpleName() + ".listFieldCountAsync", () -> this.listFieldCount(field));
+    }
+}
@@ -189,7 +189,6 @@ public interface IDetailService<DD> {
 
             return Objects.nonNull(value) && (Long) value > 0;
         }).collect(Collectors.toList());
-        idField.setAccessible(Boolean.FALSE);
 
         Object updateResult = null;
         if (!updateEntityList.isEmpty()) {
@@ -0,0 +1,262 @@
+package com.bdmer.framework.base;
+
+import com.bdmer.framework.base.common.cache.IdCache;
+import com.bdmer.framework.base.common.util.ReflectionUtil;
+import com.bdmer.framework.base.core.ICommonCore;
+import com.bdmer.framework.base.dao.ICommonDao;
+import com.bdmer.framework.base.dto.PageInfo;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 测试公用的实体、筛选条件、内存表和core
+ *
+ * @author agent
+ * @since 2026/10/18
+ */
+public final class RowFixture {
+
+    private RowFixture() {
+    }
+
+    /**
+     * 测试实体
+     */
+    public static class Row {
+        private Long id;
+
+        private String name;
+
+        private Integer age;
+
+        public Row() {
+        }
+
+        public Row(Long id) {
+            this.id = id;
+        }
+
+        public Row(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public Row(Long id, String name, Integer age) {
+            this.id = id;
+            this.name = name;
+            this.age = age;
+        }
+
+        public Long getId() {
+            return this.id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getAge() {
+            return this.age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+    }
+
+    /**
+     * 测试筛选条件
+     */
+    public static class RowFilter {
+        private String name;
+
+        public RowFilter() {
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * 内存表：按id排序，读取返回拷贝；添加时已存在的id忽略（INSERT IGNORE），更新时只更新存在的行的非null字段。
+     * 记录每次调用的参数，线程安全
+     */
+    public static class RowDao implements ICommonDao<RowFilter, Row, Row> {
+        private final Map<Long, Row> table = new ConcurrentSkipListMap<>();
+        private final List<Long[]> listIdsList = Collections.synchronizedList(new ArrayList<>());
+        private final List<List<Row>> addBatchList = Collections.synchronizedList(new ArrayList<>());
+        private final List<List<Row>> updateBatchList = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger streamCount = new AtomicInteger();
+        private volatile RowFilter mainFilter;
+        private volatile RowFilter countFilter;
+
+        /**
+         * 放入行
+         *
+         * @param rows 行
+         * @return this
+         */
+        public RowDao put(Row... rows) {
+            for (Row row : rows) {
+                this.table.put(row.id, ReflectionUtil.shallowCopy(row));
+            }
+            return this;
+        }
+
+        @Override
+        public List<Row> list(Long[] ids) {
+            this.listIdsList.add(ids);
+            List<Row> rowList = new ArrayList<>();
+            for (Long id : ids) {
+                Row row = Objects.isNull(id) ? null : this.table.get(id);
+                if (Objects.nonNull(row)) {
+                    rowList.add(ReflectionUtil.shallowCopy(row));
+                }
+            }
+            return rowList;
+        }
+
+        @Override
+        public Integer batchAdd(List<Row> entityList) {
+            this.addBatchList.add(new ArrayList<>(entityList));
+            int count = 0;
+            for (Row row : entityList) {
+                if (Objects.isNull(row.id) || Objects.isNull(this.table.putIfAbsent(row.id, ReflectionUtil.shallowCopy(row)))) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public Integer batchUpdate(List<Row> entityList) {
+            this.updateBatchList.add(new ArrayList<>(entityList));
+            int count = 0;
+            for (Row row : entityList) {
+                Row updated = this.table.computeIfPresent(row.id, (id, old) -> {
+                    Row copy = ReflectionUtil.shallowCopy(old);
+                    if (Objects.nonNull(row.name)) {
+                        copy.name = row.name;
+                    }
+                    if (Objects.nonNull(row.age)) {
+                        copy.age = row.age;
+                    }
+                    return copy;
+                });
+                if (Objects.nonNull(updated)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public void streamByFilter(RowFilter filter, ResultHandler<Row> handler) {
+            DefaultResultContext<Row> context = new DefaultResultContext<>();
+            for (Row row : this.table.values()) {
+                if (context.isStopped()) {
+                    return;
+                }
+                this.streamCount.incrementAndGet();
+                context.nextResultObject(ReflectionUtil.shallowCopy(row));
+                handler.handleResult(context);
+            }
+        }
+
+        @Override
+        public List<Row> listMain(RowFilter filter, PageInfo pageInfo) {
+            this.mainFilter = filter;
+            List<Row> rowList = new ArrayList<>(this.table.values());
+            return rowList.subList(0, Math.min(pageInfo.getPageSize(), rowList.size()));
+        }
+
+        @Override
+        public Integer listCount(RowFilter filter) {
+            this.countFilter = filter;
+            return this.table.size();
+        }
+
+        public Map<Long, Row> getTable() {
+            return this.table;
+        }
+
+        public List<Long[]> getListIdsList() {
+            return this.listIdsList;
+        }
+
+        public List<List<Row>> getAddBatchList() {
+            return this.addBatchList;
+        }
+
+        public List<List<Row>> getUpdateBatchList() {
+            return this.updateBatchList;
+        }
+
+        public int getStreamCount() {
+            return this.streamCount.get();
+        }
+
+        public RowFilter getMainFilter() {
+            return this.mainFilter;
+        }
+
+        public RowFilter getCountFilter() {
+            return this.countFilter;
+        }
+    }
+
+    /**
+     * 使用RowDao的core，默认不使用缓存
+     */
+    public static class RowCore implements ICommonCore<RowFilter, Row, Row> {
+        private final RowDao dao;
+        private volatile IdCache<Row> idCache;
+
+        public RowCore() {
+            this(new RowDao());
+        }
+
+        public RowCore(RowDao dao) {
+            this.dao = dao;
+        }
+
+        @Override
+        public ICommonDao getCommonDao() {
+            return this.dao;
+        }
+
+        @Override
+        public IdCache<Row> getIdCache() {
+            return this.idCache;
+        }
+
+        public void setIdCache(IdCache<Row> idCache) {
+            this.idCache = idCache;
+        }
+
+        public RowDao getDao() {
+            return this.dao;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.bdmer.framework.base.base.config;
+
+import com.bdmer.framework.base.core.support.DbExecutor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+public class RoutingDataSourceTest {
+
+    /**
+     * 模拟的数据库，记录获取连接的次数
+     */
+    private static class StubDataSource extends AbstractDataSource {
+        private final String name;
+        private int connectionCount;
+        private boolean down;
+
+        private StubDataSource(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (this.down) {
+                throw new SQLException(this.name + " is down");
+            }
+            this.connectionCount++;
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class[]{Connection.class},
+                    (proxy, method, args) -> "getCatalog".equals(method.getName()) ? this.name : null);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return this.getConnection();
+        }
+    }
+
+    private final StubDataSource primary = new StubDataSource("primary");
+    private final StubDataSource replica1 = new StubDataSource("replica1");
+    private final StubDataSource replica2 = new StubDataSource("replica2");
+    private final RoutingDataSource dataSource = new RoutingDataSource(primary, Arrays.asList(replica1, replica2), 60000L);
+
+    @After
+    public void clean() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void readUsesLeastOutstandingReplica() throws SQLException {
+        Connection first = RoutingDataSource.read(this::connect);
+        Connection second = RoutingDataSource.read(this::connect);
+        Assert.assertNotEquals(first.getCatalog(), second.getCatalog());
+        Assert.assertTrue(first.getCatalog().startsWith("replica"));
+
+        // replica1、replica2各有一个在途连接，关闭后再读取应选择空闲的那个
+        String freed = first.getCatalog();
+        first.close();
+        Assert.assertEquals(freed, RoutingDataSource.read(this::connect).getCatalog());
+
+        Assert.assertEquals("primary", this.dataSource.getConnection().getCatalog());
+    }
+
+    @Test
+    public void replicaDownFallsBack() throws SQLException {
+        this.replica1.down = true;
+        Assert.assertEquals("replica2", RoutingDataSource.read(this::connect).getCatalog());
+
+        this.replica2.down = true;
+        Assert.assertEquals("primary", RoutingDataSource.read(this::connect).getCatalog());
+    }
+
+    @Test
+    public void readYourWrites() throws SQLException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.getSession(true);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        Assert.assertTrue(RoutingDataSource.read(this::connect).getCatalog().startsWith("replica"));
+        // 不在write(...)中获取的主库连接不算写入
+        this.dataSource.getConnection();
+        Assert.assertTrue(RoutingDataSource.read(this::connect).getCatalog().startsWith("replica"));
+        RoutingDataSource.write(this::connect);
+        Assert.assertEquals("primary", RoutingDataSource.read(this::connect).getCatalog());
+
+        // 异步线程中的读取按同一个会话判断
+        Assert.assertEquals("primary", DbExecutor.get().supply("readYourWrites",
+                () -> catalogOf(RoutingDataSource.read(this::connect))).join());
+
+        // 同一个session的下一次请求
+        MockHttpServletRequest nextRequest = new MockHttpServletRequest();
+        nextRequest.setSession(request.getSession());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(nextRequest));
+        Assert.assertEquals("primary", RoutingDataSource.read(this::connect).getCatalog());
+
+        // 其他session不受影响
+        MockHttpServletRequest otherRequest = new MockHttpServletRequest();
+        otherRequest.getSession(true);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(otherRequest));
+        Assert.assertTrue(RoutingDataSource.read(this::connect).getCatalog().startsWith("replica"));
+    }
+
+    @Test
+    public void asyncWriteAfterRequestCompleted() throws SQLException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.getSession(true);
+        ServletRequestAttributes attributes = new ServletRequestAttributes(request);
+        RequestContextHolder.setRequestAttributes(attributes);
+
+        // 请求结束后异步任务才写入，不能设置request attribute，仍要记录到提交时的会话
+        DbExecutor.get().supply("asyncWriteAfterRequestCompleted", () -> {
+            attributes.requestCompleted();
+            return RoutingDataSource.write(this::connect);
+        }).join();
+
+        MockHttpServletRequest nextRequest = new MockHttpServletRequest();
+        nextRequest.setSession(request.getSession());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(nextRequest));
+        Assert.assertEquals("primary", RoutingDataSource.read(this::connect).getCatalog());
+    }
+
+    private static String catalogOf(Connection connection) {
+        try {
+            return connection.getCatalog();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Connection connect() {
+        try {
+            return this.dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
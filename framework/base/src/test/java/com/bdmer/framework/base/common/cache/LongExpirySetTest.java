@@ -0,0 +1,53 @@
+package com.bdmer.framework.base.common.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class LongExpirySetTest {
+
+    @Test
+    public void randomAddRemove() {
+        LongExpirySet set = new LongExpirySet(1000);
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+
+        // key范围小，制造大量探测冲突和前移
+        for (int i = 0; i < 100000; i++) {
+            long key = random.nextInt(600);
+            if (random.nextBoolean()) {
+                set.add(key, 0L, Long.MAX_VALUE);
+                expected.add(key);
+            } else {
+                set.remove(key);
+                expected.remove(key);
+            }
+        }
+
+        Assert.assertEquals(expected.size(), set.size());
+        for (long key = 0; key < 600; key++) {
+            Assert.assertEquals(expected.contains(key), set.contains(key, 0L));
+        }
+    }
+
+    @Test
+    public void expireAndPurge() {
+        LongExpirySet set = new LongExpirySet(4);
+        set.add(1L, 0L, 100L);
+        set.add(2L, 0L, 100L);
+        set.add(3L, 0L, 300L);
+        set.add(4L, 0L, 300L);
+        Assert.assertFalse(set.contains(1L, 100L));
+
+        // 满了先清理过期的
+        set.add(5L, 200L, 400L);
+        set.add(6L, 200L, 400L);
+        Assert.assertEquals(4, set.size());
+        Assert.assertFalse(set.contains(2L, 200L));
+        Assert.assertTrue(set.contains(3L, 200L));
+        Assert.assertTrue(set.contains(6L, 200L));
+    }
+}
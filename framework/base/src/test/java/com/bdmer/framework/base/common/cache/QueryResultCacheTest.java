@@ -0,0 +1,62 @@
+package com.bdmer.framework.base.common.cache;
+
+import com.bdmer.framework.base.RowFixture.Row;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class QueryResultCacheTest {
+
+    @Test
+    public void keyIgnoresFieldAndColsOrder() {
+        Map<String, Object> filter1 = new LinkedHashMap<>();
+        filter1.put("name", "a");
+        filter1.put("cols", new String[]{"id", "name"});
+        Map<String, Object> filter2 = new LinkedHashMap<>();
+        filter2.put("cols", new String[]{"name", "id"});
+        filter2.put("name", "a");
+
+        Assert.assertEquals(QueryResultCache.keyOf("listByFilter", filter1, null), QueryResultCache.keyOf("listByFilter", filter2, null));
+    }
+
+    @Test
+    public void tableWriteInvalidates() {
+        QueryResultCache cache = new QueryResultCache("test_query_cache", 100, 60000L);
+        AtomicInteger loadCount = new AtomicInteger();
+        Map<String, Object> filter = new HashMap<>();
+        filter.put("name", "a");
+
+        cache.get("countByFilter", filter, null, loadCount::incrementAndGet);
+        cache.get("countByFilter", filter, null, loadCount::incrementAndGet);
+        Assert.assertEquals(1, loadCount.get());
+
+        QueryResultCache.invalidateTable("test_query_cache");
+        Assert.assertEquals(Integer.valueOf(2), cache.get("countByFilter", filter, null, loadCount::incrementAndGet));
+    }
+
+    @Test
+    public void returnCopies() {
+        QueryResultCache cache = new QueryResultCache("test_query_cache_copy", 100, 60000L);
+        Map<String, Object> filter = new HashMap<>();
+        filter.put("name", "a");
+
+        List<Row> loaded = cache.get("listByFilter", filter, null, () -> new ArrayList<>(Collections.singletonList(new Row(null, "a"))));
+        loaded.get(0).setName("changed");
+
+        // 命中时返回新的List和实体，调用方的修改不影响缓存
+        List<Row> hit = cache.get("listByFilter", filter, null, ArrayList::new);
+        Assert.assertEquals("a", hit.get(0).getName());
+        hit.get(0).setName("changed");
+        hit.add(new Row(null, "b"));
+        List<Row> hitAgain = cache.get("listByFilter", filter, null, ArrayList::new);
+        Assert.assertEquals(1, hitAgain.size());
+        Assert.assertEquals("a", hitAgain.get(0).getName());
+    }
+}
@@ -0,0 +1,73 @@
+package com.bdmer.framework.base.common.cache;
+
+import com.bdmer.framework.base.RowFixture.Row;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TinyLfuCacheTest {
+
+    @Test
+    public void boundedSize() {
+        TinyLfuCache<Long, String> cache = new TinyLfuCache<>(100);
+        for (long i = 0; i < 1000; i++) {
+            cache.put(i, "v" + i);
+        }
+
+        Assert.assertTrue(cache.size() <= 100);
+    }
+
+    @Test
+    public void hotKeysSurviveScan() {
+        TinyLfuCache<Long, String> cache = new TinyLfuCache<>(100);
+        for (long i = 0; i < 50; i++) {
+            cache.put(i, "hot" + i);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (long i = 0; i < 50; i++) {
+                cache.get(i);
+            }
+        }
+
+        // 一次性扫描大量冷数据
+        for (long i = 1000; i < 5000; i++) {
+            cache.put(i, "cold" + i);
+        }
+
+        int hotCount = 0;
+        for (long i = 0; i < 50; i++) {
+            if (cache.get(i) != null) {
+                hotCount++;
+            }
+        }
+        // 纯LRU时会全部被挤出；仍在窗口区、试用段的少数热点可能被淘汰
+        Assert.assertTrue(hotCount >= 45);
+    }
+
+    @Test
+    public void stampRejectsStalePut() {
+        TinyLfuIdCache<Row> cache = new TinyLfuIdCache<>(100, 60000L);
+        long stamp = cache.getStamp();
+        cache.invalidate(new Long[]{1L});
+        cache.put(1L, new Row(null, "old"), stamp);
+        Assert.assertNull(cache.get(1L));
+        // 其它id的删除不影响
+        cache.put(2L, new Row(null, "other"), stamp);
+        Assert.assertEquals("other", cache.get(2L).getName());
+
+        cache.put(1L, new Row(null, "new"), cache.getStamp());
+        Assert.assertEquals("new", cache.get(1L).getName());
+    }
+
+    @Test
+    public void copyAndExpire() throws InterruptedException {
+        TinyLfuIdCache<Row> cache = new TinyLfuIdCache<>(100, 50L);
+        Row row = new Row(null, "a");
+        cache.put(1L, row, cache.getStamp());
+        row.setName("b");
+        cache.get(1L).setName("c");
+        Assert.assertEquals("a", cache.get(1L).getName());
+
+        Thread.sleep(80L);
+        Assert.assertNull(cache.get(1L));
+    }
+}
@@ -0,0 +1,76 @@
+package com.bdmer.framework.base.common.meta;
+
+import com.bdmer.framework.base.common.util.ClassMeta;
+import com.bdmer.framework.base.common.util.Util;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+public class EntityMetaProcessorTest {
+
+    @Test
+    public void generatedMeta() {
+        EntityMeta<MetaSampleEntity> meta = EntityMetas.of(MetaSampleEntity.class);
+        Assert.assertNotNull(meta);
+        Assert.assertSame(meta, EntityMetas.of(MetaSampleEntity.class));
+        Assert.assertNull(EntityMetas.of(String.class));
+
+        Assert.assertEquals(Arrays.asList("id", "userName", "amount", "gmtCreate", "count", "isDeleted"), meta.getFieldNames());
+
+        MetaSampleEntity entity = new MetaSampleEntity();
+        meta.setter("id").accept(entity, 1L);
+        meta.setter("count").accept(entity, 3);
+        meta.setter("count").accept(entity, null);
+        meta.setter("isDeleted").accept(entity, true);
+        Assert.assertEquals(1L, meta.getter("id").apply(entity));
+        Assert.assertEquals(3, meta.getter("count").apply(entity));
+        Assert.assertEquals(true, meta.getter("isDeleted").apply(entity));
+        Assert.assertNull(meta.getter("none"));
+    }
+
+    @Test
+    public void defaults() {
+        MetaSampleEntity entity = Util.checkProperty(new MetaSampleEntity());
+        Assert.assertEquals(Long.valueOf(0L), entity.getId());
+        Assert.assertEquals("", entity.getUserName());
+        Assert.assertEquals(BigDecimal.ZERO, entity.getAmount());
+        Assert.assertNull(entity.getGmtCreate());
+
+        // 反射的访问器也使用生成的getter/setter
+        Assert.assertTrue(ClassMeta.of(MetaSampleEntity.class).getAccessor("isDeleted").isGenerated());
+    }
+
+    @Test
+    public void columnMapDiffProject() {
+        EntityMeta<MetaSampleEntity> meta = EntityMetas.of(MetaSampleEntity.class);
+        Assert.assertEquals("user_name", meta.getColumnMap().get("userName"));
+        Assert.assertEquals("is_deleted", meta.getColumnMap().get("isDeleted"));
+        Assert.assertFalse(meta.getColumnMap().containsKey("none"));
+
+        MetaSampleEntity oldEntity = new MetaSampleEntity();
+        oldEntity.setId(1L);
+        oldEntity.setUserName("a");
+        oldEntity.setAmount(new BigDecimal("1.0"));
+        MetaSampleEntity newEntity = new MetaSampleEntity();
+        newEntity.setId(1L);
+        newEntity.setUserName("b");
+        newEntity.setAmount(new BigDecimal("1.00"));
+        // BigDecimal按数值比较，null不算修改
+        Assert.assertEquals(Collections.singletonList("userName"), meta.diff(oldEntity, newEntity));
+
+        MetaSampleEntity changed = Util.getChangedEntity(oldEntity, newEntity, "id");
+        Assert.assertEquals(Long.valueOf(1L), changed.getId());
+        Assert.assertEquals("b", changed.getUserName());
+        Assert.assertNull(changed.getAmount());
+        newEntity.setUserName("a");
+        Assert.assertNull(Util.getChangedEntity(oldEntity, newEntity, "id"));
+
+        Map<String, Object> row = meta.project(oldEntity, new String[]{"userName", "none", "id"});
+        Assert.assertEquals(Arrays.asList("userName", "id"), Arrays.asList(row.keySet().toArray()));
+        Assert.assertEquals("a", row.get("userName"));
+    }
+}
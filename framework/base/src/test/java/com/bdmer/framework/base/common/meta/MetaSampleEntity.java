@@ -0,0 +1,25 @@
+package com.bdmer.framework.base.common.meta;
+
+import com.bdmer.framework.base.common.annotation.GenerateEntityMeta;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+@Data
+@GenerateEntityMeta
+public class MetaSampleEntity {
+    private static final String TYPE = "sample";
+
+    private Long id;
+
+    private String userName;
+
+    private BigDecimal amount;
+
+    private Date gmtCreate;
+
+    private int count;
+
+    private boolean isDeleted;
+}
@@ -0,0 +1,58 @@
+package com.bdmer.framework.base.common.util;
+
+import com.bdmer.framework.base.common.annotation.EntityFieldInfo;
+import com.bdmer.framework.base.common.enums.PropertyTypeEnum;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public class ClassMetaTest {
+
+    static class Parent {
+        private static final String TYPE = "parent";
+
+        private Long id;
+
+        private String name;
+    }
+
+    static class Child extends Parent {
+        @EntityFieldInfo(desc = "名称")
+        private String name;
+
+        private Integer age;
+
+        private int count;
+    }
+
+    @Test
+    public void fieldTable() throws Exception {
+        ClassMeta classMeta = ClassMeta.of(Child.class);
+        Assert.assertSame(classMeta, ClassMeta.of(Child.class));
+
+        // 子类在前，同名字段子类优先
+        Assert.assertEquals(Arrays.asList("name", "age", "count", "TYPE", "id"),
+                classMeta.getFieldList().stream().map(Field::getName).collect(Collectors.toList()));
+        Assert.assertEquals(Child.class, classMeta.getField("name").getDeclaringClass());
+        Assert.assertEquals(4, classMeta.getInstanceFieldList().size());
+
+        Assert.assertEquals(PropertyTypeEnum.LONG, classMeta.getPropertyType("id"));
+        Assert.assertEquals(PropertyTypeEnum.INTEGER, classMeta.getPropertyType("age"));
+        Assert.assertNull(classMeta.getPropertyType("count"));
+        Assert.assertEquals("名称", classMeta.getFieldInfo("name").desc());
+        Assert.assertNull(classMeta.getFieldInfo("age"));
+
+        // 已打开私有访问
+        Child child = new Child();
+        classMeta.getField("id").set(child, 1L);
+        Assert.assertEquals(1L, ReflectionUtil.getFiledByName(Child.class, "id").get(child));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void unmodifiable() {
+        ReflectionUtil.listAllField(Child.class).remove("id");
+    }
+}
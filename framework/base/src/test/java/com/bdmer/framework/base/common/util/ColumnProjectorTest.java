@@ -0,0 +1,36 @@
+package com.bdmer.framework.base.common.util;
+
+import com.bdmer.framework.base.RowFixture.Row;
+import com.bdmer.framework.base.dto.ProjectedList;
+import com.bdmer.framework.base.dto.R;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class ColumnProjectorTest {
+
+    @Test
+    public void projectAndWrite() throws Exception {
+        String[] cols = {"name", "id", "none"};
+        ColumnProjector projector = ColumnProjector.of(Row.class, cols);
+        Assert.assertSame(projector, ColumnProjector.of(Row.class, cols));
+        // 按类中的声明顺序，不存在的字段忽略
+        Assert.assertArrayEquals(new String[]{"id", "name"}, projector.getNames());
+
+        List<Row> rowList = Arrays.asList(new Row(1L, "a", 10), null, new Row(2L, null, 20));
+        Object data = R.success(rowList, cols).getData();
+        Assert.assertTrue(data instanceof ProjectedList);
+
+        String json = new ObjectMapper().writeValueAsString(data);
+        Assert.assertEquals("[{\"id\":1,\"name\":\"a\"},null,{\"id\":2,\"name\":null}]", json);
+
+        // 按List使用时投影成Map
+        Map<String, Object> row = ((ProjectedList) data).get(0);
+        Assert.assertEquals(1L, row.get("id"));
+        Assert.assertFalse(row.containsKey("age"));
+    }
+}
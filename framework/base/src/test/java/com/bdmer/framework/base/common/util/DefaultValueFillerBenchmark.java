@@ -0,0 +1,105 @@
+package com.bdmer.framework.base.common.util;
+
+import com.bdmer.framework.base.common.enums.PropertyTypeEnum;
+import com.bdmer.framework.base.common.meta.MetaSampleEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 默认值填充基准测试 - 原来每次遍历继承链路、按类型名判断的checkProperty与DefaultValueFiller
+ * 运行：mvn test-compile后执行main方法
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DefaultValueFillerBenchmark {
+
+    /**
+     * 没有编译时生成的元数据
+     */
+    public static class Row {
+        private Long id;
+
+        private String name;
+
+        private Integer count;
+
+        private BigDecimal amount;
+
+        private Date gmtCreate;
+    }
+
+    @Benchmark
+    public Object legacyRow() throws IllegalAccessException {
+        return legacyCheckProperty(new Row());
+    }
+
+    @Benchmark
+    public Object fillerRow() {
+        return Util.checkProperty(new Row());
+    }
+
+    @Benchmark
+    public Object legacyGenerated() throws IllegalAccessException {
+        return legacyCheckProperty(new MetaSampleEntity());
+    }
+
+    @Benchmark
+    public Object fillerGenerated() {
+        return Util.checkProperty(new MetaSampleEntity());
+    }
+
+    /**
+     * 原来的Util.checkProperty：每次获取继承链路上的字段，按类型名查找默认值
+     */
+    private static <T> T legacyCheckProperty(T target) throws IllegalAccessException {
+        List<Field> fieldList = new ArrayList<>();
+        Class<?> clazz = target.getClass();
+        while (clazz != null) {
+            fieldList.addAll(Arrays.asList(clazz.getDeclaredFields()));
+            clazz = clazz.getSuperclass();
+        }
+
+        for (Field field : fieldList) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            field.setAccessible(true);
+            PropertyTypeEnum propertyType = PropertyTypeEnum.getEnumByName(field.getType().getTypeName());
+            if (propertyType == null || propertyType.getDefaultValue() == null) {
+                continue;
+            }
+            if (field.get(target) == null) {
+                field.set(target, propertyType.getDefaultValue());
+            }
+        }
+
+        return target;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DefaultValueFillerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,63 @@
+package com.bdmer.framework.base.common.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+public class DefaultValueFillerTest {
+
+    static class Base {
+        private Long id;
+    }
+
+    static class Sample extends Base {
+        private static final String TYPE = "sample";
+
+        private Byte status;
+
+        private Integer count;
+
+        private Double rate;
+
+        private String name = "a";
+
+        private BigDecimal amount;
+
+        private Date gmtCreate;
+
+        private int size;
+    }
+
+    @Test
+    public void fill() {
+        DefaultValueFiller filler = DefaultValueFiller.of(Sample.class);
+        Assert.assertSame(filler, DefaultValueFiller.of(Sample.class));
+        // 只有有默认值的非static字段
+        Assert.assertEquals(6, filler.size());
+
+        Sample sample = Util.checkProperty(new Sample());
+        Assert.assertEquals(Long.valueOf(0L), ((Base) sample).id);
+        Assert.assertEquals(Byte.valueOf((byte) 0), sample.status);
+        Assert.assertEquals(Integer.valueOf(0), sample.count);
+        Assert.assertEquals(Double.valueOf(0), sample.rate);
+        Assert.assertEquals("a", sample.name);
+        Assert.assertEquals(BigDecimal.ZERO, sample.amount);
+        Assert.assertNull(sample.gmtCreate);
+    }
+
+    @Test
+    public void fillAll() {
+        Sample sample = new Sample();
+        sample.count = 5;
+        List<Sample> sampleList = Arrays.asList(sample, null, new Sample());
+        Util.checkProperty(sampleList);
+
+        Assert.assertEquals(Integer.valueOf(5), sample.count);
+        Assert.assertEquals(BigDecimal.ZERO, sample.amount);
+        Assert.assertEquals(Integer.valueOf(0), sampleList.get(2).count);
+    }
+}
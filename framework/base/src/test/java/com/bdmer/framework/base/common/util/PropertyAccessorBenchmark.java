@@ -0,0 +1,102 @@
+package com.bdmer.framework.base.common.util;
+
+import com.bdmer.framework.base.common.meta.MetaSampleEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PropertyAccessor基准测试 - 直接调用getter/setter、Field反射、LambdaMetafactory生成的访问器、编译时生成的访问器
+ * 运行：mvn test-compile后执行main方法
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PropertyAccessorBenchmark {
+
+    /**
+     * 没有编译时生成的元数据，访问器使用LambdaMetafactory
+     */
+    public static class Row {
+        private String name = "a";
+
+        public String getName() {
+            return this.name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    private Row row;
+
+    private MetaSampleEntity sample;
+
+    private Field field;
+
+    private PropertyAccessor lambdaAccessor;
+
+    private PropertyAccessor generatedAccessor;
+
+    @Setup
+    public void setup() throws NoSuchFieldException {
+        this.row = new Row();
+        this.sample = new MetaSampleEntity();
+        this.sample.setUserName("a");
+        this.field = Row.class.getDeclaredField("name");
+        this.field.setAccessible(Boolean.TRUE);
+        this.lambdaAccessor = ClassMeta.of(Row.class).getAccessor("name");
+        this.generatedAccessor = ClassMeta.of(MetaSampleEntity.class).getAccessor("userName");
+    }
+
+    @Benchmark
+    public Object directGet() {
+        return this.row.getName();
+    }
+
+    @Benchmark
+    public Object fieldGet() throws IllegalAccessException {
+        return this.field.get(this.row);
+    }
+
+    @Benchmark
+    public Object lambdaGet() {
+        return this.lambdaAccessor.get(this.row);
+    }
+
+    @Benchmark
+    public Object generatedGet() {
+        return this.generatedAccessor.get(this.sample);
+    }
+
+    @Benchmark
+    public void fieldSet() throws IllegalAccessException {
+        this.field.set(this.row, "b");
+    }
+
+    @Benchmark
+    public void lambdaSet() {
+        this.lambdaAccessor.set(this.row, "b");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PropertyAccessorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
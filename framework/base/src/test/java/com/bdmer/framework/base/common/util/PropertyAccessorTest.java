@@ -0,0 +1,96 @@
+package com.bdmer.framework.base.common.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class PropertyAccessorTest {
+
+    public static class Item {
+        private Long id;
+
+        private int count;
+
+        private BigDecimal amount;
+
+        private String remark;
+
+        public Item() {
+        }
+
+        Item(Long id, int count, BigDecimal amount) {
+            this.id = id;
+            this.count = count;
+            this.amount = amount;
+        }
+
+        public Long getId() {
+            return this.id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public int getCount() {
+            return this.count;
+        }
+
+        public Item setCount(int count) {
+            this.count = count;
+            return this;
+        }
+
+        public BigDecimal getAmount() {
+            return this.amount;
+        }
+
+        public void setAmount(BigDecimal amount) {
+            this.amount = amount;
+        }
+    }
+
+    @Test
+    public void generatedAccessor() {
+        ClassMeta classMeta = ClassMeta.of(Item.class);
+        Item item = new Item();
+
+        PropertyAccessor id = classMeta.getAccessor("id");
+        Assert.assertTrue(id.isGenerated());
+        id.set(item, 1L);
+        Assert.assertEquals(1L, id.get(item));
+        Assert.assertSame(id, classMeta.getAccessor("id"));
+
+        // 基本类型装箱、链式setter
+        PropertyAccessor count = classMeta.getAccessor("count");
+        Assert.assertTrue(count.isGenerated());
+        count.set(item, 3);
+        Assert.assertEquals(3, count.get(item));
+
+        // 没有getter/setter退回Field
+        PropertyAccessor remark = classMeta.getAccessor("remark");
+        Assert.assertFalse(remark.isGenerated());
+        remark.set(item, "a");
+        Assert.assertEquals("a", remark.get(item));
+
+        Assert.assertNull(classMeta.getAccessor("none"));
+    }
+
+    @Test
+    public void utilHelpers() {
+        List<Item> itemList = Arrays.asList(new Item(1L, 1, BigDecimal.ONE), new Item(2L, 1, BigDecimal.TEN),
+                new Item(2L, 2, null));
+
+        Map<Long, Item> itemMap = Util.listToMap(itemList, "id");
+        Assert.assertEquals(2, itemMap.size());
+        Assert.assertEquals(Arrays.asList(1L, 2L), Util.listEntityToList(itemList, "id"));
+        Assert.assertEquals(2, Util.<Integer, Item>listToGroupMap(itemList, "count").get(1).size());
+        Assert.assertEquals(0, new BigDecimal("11").compareTo(Util.sumList(itemList, "amount")));
+        Assert.assertEquals(2, Util.listDistinctByField(itemList, "id").size());
+        Assert.assertEquals(3, Util.listDistinctByFields(itemList, new String[]{"id", "count"}).size());
+    }
+}
@@ -0,0 +1,41 @@
+package com.bdmer.framework.base.common.util;
+
+import com.bdmer.framework.base.RowFixture.Row;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class UtilTest {
+
+    @Test
+    public void mergeById() {
+        List<Row> noRepeatList = Arrays.asList(new Row(1L, "a", null), new Row(2L, "b", null));
+        Assert.assertSame(noRepeatList, Util.mergeById(noRepeatList, "id"));
+
+        Row first = new Row(1L, "a", 10);
+        List<Row> mergedList = Util.mergeById(Arrays.asList(first, new Row(2L, "b", null), new Row(1L, "c", null)), "id");
+        Assert.assertEquals(2, mergedList.size());
+
+        // 后面的非null字段覆盖前面的，与逐条更新一致
+        Row merged = mergedList.get(0);
+        Assert.assertEquals(Long.valueOf(1L), merged.getId());
+        Assert.assertEquals("c", merged.getName());
+        Assert.assertEquals(Integer.valueOf(10), merged.getAge());
+        Assert.assertEquals(Long.valueOf(2L), mergedList.get(1).getId());
+
+        // 原实体不变
+        Assert.assertEquals("a", first.getName());
+    }
+
+    @Test
+    public void withCols() {
+        // 获取全部字段时不补充
+        Assert.assertNull(Util.withCols(null, "id"));
+
+        String[] cols = {"name", "id"};
+        Assert.assertSame(cols, Util.withCols(cols, "id", null));
+        Assert.assertArrayEquals(new String[]{"name", "id", "gmtCreate"}, Util.withCols(cols, "id", "gmtCreate"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.bdmer.framework.base.controller;
+
+import com.bdmer.framework.base.RowFixture.Row;
+import com.bdmer.framework.base.RowFixture.RowCore;
+import com.bdmer.framework.base.RowFixture.RowFilter;
+import com.bdmer.framework.base.common.constant.MysqlConstant;
+import com.bdmer.framework.base.service.ICommonService;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import javax.servlet.AsyncEvent;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.util.concurrent.CompletableFuture;
+
+public class ICommonControllerTest {
+
+    /**
+     * 客户端已断开：写入响应总是失败
+     */
+    private static class BrokenResponse extends MockHttpServletResponse {
+        private final PrintWriter writer = new PrintWriter(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        });
+
+        @Override
+        public PrintWriter getWriter() {
+            return this.writer;
+        }
+    }
+
+    @Test
+    public void streamStopsWhenClientGone() {
+        RowCore core = new RowCore();
+        for (long i = 0; i < MysqlConstant.STREAM_CHECK_ERROR_ROWS * 10; i++) {
+            core.getDao().put(new Row(i));
+        }
+        ICommonService<RowFilter, Row, Row> service = () -> core;
+        ICommonController<RowFilter, Row> controller = () -> service;
+
+        try {
+            controller.streamByFilter(new RowFilter(), null, null, new BrokenResponse());
+            Assert.fail();
+        } catch (IOException e) {
+            // 第一次检查时发现写入失败，停止读取
+            Assert.assertEquals(MysqlConstant.STREAM_CHECK_ERROR_ROWS.intValue(), core.getDao().getStreamCount());
+        }
+    }
+
+    @Test
+    public void timeoutCancelsFuture() throws Exception {
+        ICommonController<RowFilter, Row> controller = () -> null;
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        DeferredResult<Integer> deferredResult = controller.toDeferredResult(future);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        StandardServletAsyncWebRequest asyncWebRequest = new StandardServletAsyncWebRequest(request, new MockHttpServletResponse());
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(asyncWebRequest);
+        asyncManager.startDeferredResultProcessing(deferredResult);
+
+        // 容器触发超时：返回超时错误，同时取消还在排队的任务
+        asyncWebRequest.onTimeout(new AsyncEvent(request.getAsyncContext()));
+        Assert.assertTrue(future.isCancelled());
+        Assert.assertTrue(deferredResult.isSetOrExpired());
+    }
+}
@@ -0,0 +1,60 @@
+package com.bdmer.framework.base.core;
+
+import com.bdmer.framework.base.RowFixture.Row;
+import com.bdmer.framework.base.RowFixture.RowCore;
+import com.bdmer.framework.base.RowFixture.RowFilter;
+import com.bdmer.framework.base.dto.CountResult;
+import com.bdmer.framework.base.dto.PageInfo;
+import com.bdmer.framework.base.dto.PageResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ICommonCoreTest {
+
+    /**
+     * checkFilter修改filter并计数，表中有100行
+     */
+    private static class CheckCore extends RowCore {
+        private final AtomicInteger checkCount = new AtomicInteger();
+
+        private CheckCore() {
+            for (long i = 1; i <= 100; i++) {
+                this.getDao().put(new Row(i));
+            }
+        }
+
+        @Override
+        public RowFilter checkFilter(RowFilter filter) {
+            this.checkCount.incrementAndGet();
+            filter.setName(Thread.currentThread().getName());
+            return filter;
+        }
+    }
+
+    @Test
+    public void countUsesFilterCopy() {
+        CheckCore core = new CheckCore();
+        RowFilter filter = new RowFilter();
+        filter.setName("a");
+        PageInfo pageInfo = new PageInfo();
+        pageInfo.setPageSize(10);
+
+        PageResult<Row> result = core.listMainWithTotal(filter, pageInfo);
+        Assert.assertEquals(Integer.valueOf(100), result.getTotal());
+
+        // listCount在DbExecutor中执行，拿到的是拷贝，checkFilter的修改不影响当前线程的filter
+        Assert.assertSame(filter, core.getDao().getMainFilter());
+        Assert.assertNotSame(filter, core.getDao().getCountFilter());
+        Assert.assertEquals(Thread.currentThread().getName(), filter.getName());
+    }
+
+    @Test
+    public void exactCountChecksFilterOnce() {
+        CheckCore core = new CheckCore();
+        CountResult result = core.listCount(new RowFilter(), true);
+        Assert.assertEquals(Integer.valueOf(100), result.getCount());
+        Assert.assertEquals(1, core.checkCount.get());
+    }
+}
@@ -0,0 +1,109 @@
+package com.bdmer.framework.base.core.support;
+
+import com.bdmer.framework.base.dto.BatchResult;
+import com.bdmer.framework.base.dto.ChunkStat;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AdaptiveChunkWriterTest {
+
+    @Test
+    public void writeAllRows() {
+        List<Integer> dataList = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            dataList.add(i);
+        }
+
+        AtomicInteger written = new AtomicInteger();
+        BatchResult result = AdaptiveChunkWriter.get().write("AdaptiveChunkWriterTest.writeAllRows", dataList, 1000, chunk -> {
+            written.addAndGet(chunk.size());
+            return chunk.size();
+        });
+
+        Assert.assertEquals(5000, written.get());
+        Assert.assertEquals(Integer.valueOf(5000), result.getSuccessCount());
+
+        // 分片连续且不重叠
+        int next = 0;
+        for (ChunkStat stat : result.getChunkList()) {
+            Assert.assertEquals(next, stat.getFromIndex().intValue());
+            next = stat.getToIndex();
+        }
+        Assert.assertEquals(5000, next);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rethrowChunkError() {
+        List<Integer> dataList = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            dataList.add(i);
+        }
+
+        AdaptiveChunkWriter.get().write("AdaptiveChunkWriterTest.rethrowChunkError", dataList, 1000, chunk -> {
+            if (chunk.contains(1500)) {
+                throw new IllegalStateException("chunk error");
+            }
+            return chunk.size();
+        });
+    }
+
+    @Test
+    public void partialBisect() {
+        List<Integer> dataList = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            dataList.add(i);
+        }
+
+        BatchResult result = AdaptiveChunkWriter.get().writePartial("AdaptiveChunkWriterTest.partialBisect", dataList, 1000, chunk -> {
+            if (chunk.contains(1500) || chunk.contains(2999)) {
+                throw new IllegalStateException(new SQLIntegrityConstraintViolationException("Duplicate entry", "23000", 1062));
+            }
+            return chunk.size();
+        }, true);
+
+        Assert.assertEquals(Integer.valueOf(2998), result.getSuccessCount());
+        Assert.assertEquals(Integer.valueOf(2), result.getFailedCount());
+        Assert.assertEquals(1500, result.getFailedList().get(0).getFromIndex().intValue());
+        Assert.assertEquals(2999, result.getFailedList().get(1).getFromIndex().intValue());
+        Assert.assertEquals(2998, result.excludeFailed(dataList).size());
+    }
+
+    @Test
+    public void noBisectOnConnectionError() {
+        List<Integer> dataList = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            dataList.add(i);
+        }
+
+        AtomicInteger calls = new AtomicInteger();
+        BatchResult result = AdaptiveChunkWriter.get().writePartial("AdaptiveChunkWriterTest.noBisectOnConnectionError", dataList, 1000, chunk -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException(new SQLException("Communications link failure", "08S01"));
+        }, true);
+
+        Assert.assertEquals(1, calls.get());
+        Assert.assertEquals(Integer.valueOf(0), result.getSuccessCount());
+        Assert.assertEquals(Integer.valueOf(1000), result.getFailedCount());
+    }
+
+    @Test
+    public void tunerShrinkAndGrow() {
+        AdaptiveChunkWriter.ChunkTuner tuner = new AdaptiveChunkWriter.ChunkTuner(1000);
+
+        // 连接池繁忙时减半
+        tuner.feedback(1000, 10, 0.9);
+        Assert.assertEquals(500, tuner.getChunkSize());
+        Assert.assertEquals(1, tuner.getConcurrency());
+
+        // 耗时低时增大
+        tuner.feedback(500, 10, 0.1);
+        Assert.assertEquals(600, tuner.getChunkSize());
+        Assert.assertEquals(2, tuner.getConcurrency());
+    }
+}
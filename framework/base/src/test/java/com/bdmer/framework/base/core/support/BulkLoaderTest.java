@@ -0,0 +1,75 @@
+package com.bdmer.framework.base.core.support;
+
+import com.bdmer.framework.base.RowFixture.Row;
+import com.bdmer.framework.base.base.config.ServiceException;
+import com.bdmer.framework.base.common.enums.BulkLoadModeEnum;
+import com.bdmer.framework.base.common.enums.CommonResponseCodesEnum;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLWarning;
+import java.util.Arrays;
+import java.util.List;
+
+public class BulkLoaderTest {
+
+    @Test
+    public void formatEscape() {
+        Assert.assertEquals("\\N", BulkLoader.format(null));
+        Assert.assertEquals("1", BulkLoader.format(Boolean.TRUE));
+        Assert.assertEquals("a\\tb\\nc\\\\d", BulkLoader.format("a\tb\nc\\d"));
+    }
+
+    @Test
+    public void streamRows() throws Exception {
+        Field idField = Row.class.getDeclaredField("id");
+        Field nameField = Row.class.getDeclaredField("name");
+        idField.setAccessible(true);
+        nameField.setAccessible(true);
+
+        List<Row> rowList = Arrays.asList(new Row(1L, "张三"), new Row(2L, null));
+        InputStream inputStream = new BulkLoader.TsvInputStream<>(rowList.iterator(), new Field[]{idField, nameField});
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[3];
+        int length;
+        while ((length = inputStream.read(buffer)) != -1) {
+            out.write(buffer, 0, length);
+        }
+
+        Assert.assertEquals("1\t张三\n2\t\\N\n", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void buildSql() {
+        String sql = BulkLoader.buildSql("b_tbk_user", new String[]{"id", "gmtCreate"}, "utf8", BulkLoadModeEnum.STRICT);
+        Assert.assertTrue(sql.startsWith("LOAD DATA LOCAL INFILE 'stream' INTO TABLE `b_tbk_user` CHARACTER SET utf8 "));
+        Assert.assertTrue(sql.endsWith("(`id`,`gmt_create`)"));
+
+        sql = BulkLoader.buildSql("b_tbk_user", new String[]{"id"}, "utf8mb4", BulkLoadModeEnum.REPLACE);
+        Assert.assertTrue(sql.contains("'stream' REPLACE INTO TABLE `b_tbk_user` CHARACTER SET utf8mb4 "));
+    }
+
+    @Test
+    public void checkComplete() {
+        BulkLoader.checkComplete(2, 2, null);
+        // 主键重复被跳过
+        try {
+            BulkLoader.checkComplete(2, 1, null);
+            Assert.fail();
+        } catch (ServiceException e) {
+            Assert.assertEquals(CommonResponseCodesEnum.ERROR_BULK_LOAD_INCOMPLETE.getSubCode(), e.getSubCode());
+        }
+        // 数据被截断
+        try {
+            BulkLoader.checkComplete(2, 2, new SQLWarning("Data truncated"));
+            Assert.fail();
+        } catch (ServiceException e) {
+            Assert.assertEquals(CommonResponseCodesEnum.ERROR_BULK_LOAD_INCOMPLETE.getSubCode(), e.getSubCode());
+        }
+    }
+}
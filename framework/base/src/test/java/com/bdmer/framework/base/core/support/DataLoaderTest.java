@@ -0,0 +1,92 @@
+package com.bdmer.framework.base.core.support;
+
+import com.bdmer.framework.base.RowFixture.Row;
+import com.bdmer.framework.base.RowFixture.RowCore;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+public class DataLoaderTest {
+
+    /**
+     * 表中只有奇数id
+     */
+    private static RowCore newCore() {
+        RowCore core = new RowCore();
+        for (long id = 1; id <= 9; id += 2) {
+            core.getDao().put(new Row(id));
+        }
+        return core;
+    }
+
+    @Test
+    public void batchAndMemoize() {
+        RowCore core = newCore();
+        DataLoader<Row> loader = DataLoader.of(core);
+
+        List<Supplier<Row>> supplierList = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            supplierList.add(loader.load(id));
+        }
+        Assert.assertEquals(Long.valueOf(1), supplierList.get(0).get().getId());
+        Assert.assertNull(supplierList.get(1).get());
+        Assert.assertEquals(Long.valueOf(5), supplierList.get(4).get().getId());
+        Assert.assertEquals(1, core.getDao().getListIdsList().size());
+        Assert.assertEquals(5, core.getDao().getListIdsList().get(0).length);
+
+        // 已加载的（包括不存在的）不再查询
+        Assert.assertEquals(2, loader.getAll(Arrays.asList(3L, 4L, 5L)).size());
+        Assert.assertEquals(1, loader.getDispatchCount());
+
+        Assert.assertEquals(Long.valueOf(7), loader.get(7L).getId());
+        Assert.assertEquals(2, loader.getDispatchCount());
+    }
+
+    @Test
+    public void asyncWriteAfterRequestCompleted() {
+        RowCore core = newCore();
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        try {
+            DataLoader<Row> loader = DataLoader.of(core);
+            Assert.assertSame(loader, DataLoader.of(core));
+            Assert.assertEquals(Long.valueOf(1), loader.get(1L).getId());
+
+            // DbExecutor中不使用请求线程的实例
+            Assert.assertNotSame(loader, DbExecutor.get().supply("DataLoaderTest.executor", () -> DataLoader.of(core)).join());
+
+            // 请求已结束（如DeferredResult的第一次dispatch返回后）的异步写入正常执行
+            CompletableFuture<Integer> future = DbExecutor.get().supply("DataLoaderTest.write", () -> {
+                attributes.requestCompleted();
+                return core.evictCache(new Long[]{1L}, () -> 1);
+            });
+            Assert.assertEquals(Integer.valueOf(1), future.join());
+            Assert.assertNotSame(loader, DataLoader.of(core));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    public void clearFromOtherThread() {
+        RowCore core = newCore();
+        DataLoader<Row> loader = DataLoader.of(core);
+        loader.get(1L);
+
+        // 其他线程清空后，下一次get重新查询
+        DbExecutor.get().supply("DataLoaderTest.clear", () -> {
+            loader.clearAll();
+            return null;
+        }).join();
+        loader.get(1L);
+        Assert.assertEquals(2, loader.getDispatchCount());
+    }
+}
@@ -0,0 +1,152 @@
+package com.bdmer.framework.base.core.support;
+
+import com.bdmer.framework.base.RowFixture.Row;
+import com.bdmer.framework.base.RowFixture.RowCore;
+import com.bdmer.framework.base.RowFixture.RowDao;
+import com.bdmer.framework.base.common.enums.CommonOperateEnum;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+public class GroupCommitterTest {
+
+    /**
+     * 更新blockId时阻塞到release
+     */
+    private static class BlockingDao extends RowDao {
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final Long blockId;
+
+        private BlockingDao(Long blockId) {
+            this.blockId = blockId;
+        }
+
+        @Override
+        public Integer batchUpdate(List<Row> entityList) {
+            if (entityList.stream().anyMatch(row -> Objects.equals(row.getId(), this.blockId))) {
+                this.blocked.countDown();
+                try {
+                    this.release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.batchUpdate(entityList);
+        }
+    }
+
+    /**
+     * 合并提交器按core类名区分，每个测试使用不同的core类；表中有id 1、2
+     */
+    private static class UpdateCore extends RowCore {
+        private UpdateCore() {
+            this(new RowDao());
+        }
+
+        private UpdateCore(RowDao dao) {
+            super(dao);
+            dao.put(new Row(1L), new Row(2L));
+        }
+    }
+
+    private static class InterruptCore extends UpdateCore {
+    }
+
+    private static class CancelCore extends UpdateCore {
+        private CancelCore(BlockingDao dao) {
+            super(dao);
+        }
+    }
+
+    private static class AddCore extends UpdateCore {
+    }
+
+    private static List<List<Long>> batchIdListOf(RowCore core) {
+        List<List<Long>> batchIdList = new ArrayList<>();
+        synchronized (core.getDao().getUpdateBatchList()) {
+            for (List<Row> batch : core.getDao().getUpdateBatchList()) {
+                batchIdList.add(batch.stream().map(Row::getId).collect(Collectors.toList()));
+            }
+        }
+        return batchIdList;
+    }
+
+    @Test
+    public void attributeWithoutRerun() {
+        UpdateCore core = new UpdateCore();
+        GroupCommitter<Row> committer = GroupCommitter.of(core, CommonOperateEnum.UPDATE);
+
+        CompletableFuture<Integer> first = committer.submit(new Row(1L, "a"));
+        CompletableFuture<Integer> missing = committer.submit(new Row(3L, "c"));
+        CompletableFuture<Integer> repeat = committer.submit(new Row(1L, "b"));
+        Assert.assertEquals(Integer.valueOf(1), first.join());
+        Assert.assertEquals(Integer.valueOf(0), missing.join());
+        Assert.assertEquals(Integer.valueOf(1), repeat.join());
+
+        // 每个请求只更新一次，同一批中不会出现重复的id
+        List<Long> updatedIdList = new ArrayList<>();
+        for (List<Long> idList : batchIdListOf(core)) {
+            Assert.assertEquals(idList.size(), new HashSet<>(idList).size());
+            updatedIdList.addAll(idList);
+        }
+        Collections.sort(updatedIdList);
+        Assert.assertEquals(Arrays.asList(1L, 1L, 3L), updatedIdList);
+    }
+
+    @Test
+    public void restartAfterInterrupt() throws InterruptedException {
+        GroupCommitter<Row> committer = GroupCommitter.of(new InterruptCore(), CommonOperateEnum.UPDATE);
+        Assert.assertEquals(Integer.valueOf(1), committer.commit(new Row(2L, "a")));
+
+        Thread flusher = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> Objects.equals(thread.getName(), "group-commit-InterruptCore-" + CommonOperateEnum.UPDATE))
+                .findFirst().orElseThrow(IllegalStateException::new);
+        flusher.interrupt();
+        flusher.join(1000L);
+        Assert.assertFalse(flusher.isAlive());
+
+        Assert.assertEquals(Integer.valueOf(1), committer.commit(new Row(2L, "b")));
+    }
+
+    @Test
+    public void cancelledRequestNotWritten() throws InterruptedException {
+        BlockingDao dao = new BlockingDao(1L);
+        CancelCore core = new CancelCore(dao);
+        GroupCommitter<Row> committer = GroupCommitter.of(core, CommonOperateEnum.UPDATE);
+
+        // 第一批阻塞在写入中，第二条在排队期间超时取消
+        CompletableFuture<Integer> writing = committer.submit(new Row(1L, "a"));
+        dao.blocked.await();
+        CompletableFuture<Integer> timeout = committer.submit(new Row(2L, "b"));
+        timeout.cancel(false);
+        dao.release.countDown();
+
+        Assert.assertEquals(Integer.valueOf(1), writing.join());
+        Assert.assertEquals(Integer.valueOf(0), committer.commit(new Row(3L, "c")));
+        for (List<Long> idList : batchIdListOf(core)) {
+            Assert.assertFalse(idList.contains(2L));
+        }
+        Assert.assertNull(dao.getTable().get(2L).getName());
+    }
+
+    @Test
+    public void addCountsFromBatchResult() {
+        GroupCommitter<Row> committer = GroupCommitter.of(new AddCore(), CommonOperateEnum.ADD);
+
+        // id 1已存在，被忽略
+        CompletableFuture<Integer> added = committer.submit(new Row(null, "a"));
+        CompletableFuture<Integer> ignored = committer.submit(new Row(1L, "dup"));
+        Assert.assertEquals(Integer.valueOf(1), added.join());
+        Assert.assertEquals(Integer.valueOf(0), ignored.join());
+    }
+}
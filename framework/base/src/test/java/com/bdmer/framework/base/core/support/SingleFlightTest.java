@@ -0,0 +1,127 @@
+package com.bdmer.framework.base.core.support;
+
+import com.bdmer.framework.base.RowFixture.Row;
+import com.bdmer.framework.base.base.config.ServiceException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SingleFlightTest {
+
+    @Test
+    public void collapseConcurrentCalls() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(5000L);
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<List<Integer>>> futureList = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futureList.add(executor.submit(() -> singleFlight.execute("listMain|{}", () -> {
+                loadCount.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Collections.singletonList(1);
+            })));
+        }
+
+        // 等所有调用都进入等待后再放行leader
+        long deadline = System.currentTimeMillis() + 5000L;
+        while ((long) singleFlight.getStat().get("collapsedCount") < 7 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5L);
+        }
+        release.countDown();
+
+        for (Future<List<Integer>> future : futureList) {
+            Assert.assertEquals(Collections.singletonList(1), future.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        Assert.assertEquals(1, loadCount.get());
+        Assert.assertEquals(7L, singleFlight.getStat().get("collapsedCount"));
+        Assert.assertEquals(0, singleFlight.getStat().get("inFlight"));
+    }
+
+    @Test
+    public void followerTimeout() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(50L);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread leader = new Thread(() -> singleFlight.execute("get|1", () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 1;
+        }));
+        leader.start();
+        started.await();
+
+        try {
+            singleFlight.execute("get|1", () -> 2);
+            Assert.fail();
+        } catch (ServiceException e) {
+            Assert.assertEquals(1L, singleFlight.getStat().get("timeoutCount"));
+        } finally {
+            release.countDown();
+            leader.join();
+        }
+    }
+
+    @Test
+    public void followersGetCopies() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(5000L);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Future<List<Row>> leader = executor.submit(() -> singleFlight.execute("list|[1]", () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Collections.singletonList(new Row(1L, "a"));
+        }));
+        started.await();
+        List<Future<List<Row>>> followerList = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            followerList.add(executor.submit(() -> singleFlight.execute("list|[1]", () -> Collections.<Row>emptyList())));
+        }
+        long deadline = System.currentTimeMillis() + 5000L;
+        while ((long) singleFlight.getStat().get("collapsedCount") < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5L);
+        }
+        release.countDown();
+
+        // 并发的等待者各自拿到实体的拷贝，修改互不影响
+        Row leaderRow = leader.get(5, TimeUnit.SECONDS).get(0);
+        leaderRow.setName("leader");
+        List<Row> followerRowList = new ArrayList<>();
+        for (Future<List<Row>> future : followerList) {
+            Row row = future.get(5, TimeUnit.SECONDS).get(0);
+            Assert.assertEquals("a", row.getName());
+            Assert.assertNotSame(leaderRow, row);
+            row.setName("follower");
+            followerRowList.add(row);
+        }
+        executor.shutdown();
+        Assert.assertEquals(3, followerRowList.stream().distinct().count());
+    }
+}
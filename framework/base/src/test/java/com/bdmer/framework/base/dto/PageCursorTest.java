@@ -0,0 +1,47 @@
+package com.bdmer.framework.base.dto;
+
+import com.bdmer.framework.base.base.config.ServiceException;
+import com.bdmer.framework.base.common.enums.CommonResponseCodesEnum;
+import com.bdmer.framework.base.common.util.DateUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Date;
+
+public class PageCursorTest {
+
+    @Test
+    public void encodeDecode() {
+        PageCursor cursor = PageCursor.decode(PageCursor.encode("张三", 12L));
+        Assert.assertEquals("张三", cursor.getSortValue());
+        Assert.assertEquals(Long.valueOf(12L), cursor.getId());
+
+        // 排序字段值为null的行
+        cursor = PageCursor.decode(PageCursor.encode(null, 13L));
+        Assert.assertNull(cursor.getSortValue());
+        Assert.assertEquals(Long.valueOf(13L), cursor.getId());
+
+        // 时间按yyyy-MM-dd HH:mm:ss编码
+        Date date = new Date();
+        cursor = PageCursor.decode(PageCursor.encode(date, 14L));
+        Assert.assertEquals(DateUtil.getDateTimeStr(date), cursor.getSortValue());
+    }
+
+    @Test
+    public void decodeEmpty() {
+        Assert.assertNull(PageCursor.decode(null));
+        Assert.assertNull(PageCursor.decode(""));
+    }
+
+    @Test
+    public void decodeInvalid() {
+        for (String cursor : new String[]{"not a cursor", PageCursor.encode("a", null)}) {
+            try {
+                PageCursor.decode(cursor);
+                Assert.fail();
+            } catch (ServiceException e) {
+                Assert.assertEquals(CommonResponseCodesEnum.WARN.getSubCode(), e.getSubCode());
+            }
+        }
+    }
+}
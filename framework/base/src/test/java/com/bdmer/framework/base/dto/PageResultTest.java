@@ -0,0 +1,42 @@
+package com.bdmer.framework.base.dto;
+
+import com.bdmer.framework.base.RowFixture.Row;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class PageResultTest {
+
+    @Test
+    public void hasMore() {
+        // 多查的一行不返回，游标为最后一行的排序字段值和id
+        List<Row> rowList = Arrays.asList(new Row(1L, null), new Row(2L, "a"), new Row(3L, "b"));
+        PageResult<Row> result = PageResult.of(rowList, 2, "name");
+        Assert.assertEquals(2, result.getList().size());
+        Assert.assertTrue(result.getHasMore());
+
+        PageCursor cursor = PageCursor.decode(result.getNextCursor());
+        Assert.assertEquals("a", cursor.getSortValue());
+        Assert.assertEquals(Long.valueOf(2L), cursor.getId());
+
+        // 没有排序字段时只按id
+        cursor = PageCursor.decode(PageResult.of(rowList, 1, null).getNextCursor());
+        Assert.assertNull(cursor.getSortValue());
+        Assert.assertEquals(Long.valueOf(1L), cursor.getId());
+    }
+
+    @Test
+    public void lastPage() {
+        PageResult<Row> result = PageResult.of(Arrays.asList(new Row(1L, "a"), new Row(2L, "b")), 2, "name");
+        Assert.assertEquals(2, result.getList().size());
+        Assert.assertFalse(result.getHasMore());
+        Assert.assertNull(result.getNextCursor());
+
+        result = PageResult.of(new ArrayList<Row>(), 2, "name");
+        Assert.assertTrue(result.getList().isEmpty());
+        Assert.assertFalse(result.getHasMore());
+    }
+}
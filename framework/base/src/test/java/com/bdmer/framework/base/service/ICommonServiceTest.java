@@ -0,0 +1,57 @@
+package com.bdmer.framework.base.service;
+
+import com.bdmer.framework.base.RowFixture.Row;
+import com.bdmer.framework.base.RowFixture.RowCore;
+import com.bdmer.framework.base.RowFixture.RowFilter;
+import com.bdmer.framework.base.common.cache.TinyLfuIdCache;
+import com.bdmer.framework.base.common.constant.MysqlConstant;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class ICommonServiceTest {
+
+    @Test
+    public void dirtyCheckIgnoresStaleCache() {
+        RowCore core = new RowCore();
+        core.setIdCache(new TinyLfuIdCache<>(16, 60000L));
+        ICommonService<RowFilter, Row, Row> service = () -> core;
+
+        // 缓存中是旧数据a，数据库已被其它实例改为b
+        core.getIdCache().put(1L, new Row(1L, "a"), core.getIdCache().getStamp());
+        core.getDao().put(new Row(1L, "b"));
+
+        // 改回a：与缓存相同，但与数据库不同，必须更新
+        service.batchUpdate(Collections.singletonList(new Row(1L, "a")));
+        Assert.assertEquals(1, core.getDao().getUpdateBatchList().size());
+        Assert.assertEquals("a", core.getDao().getUpdateBatchList().get(0).get(0).getName());
+
+        // 数据库已更新为a，再次更新为a时跳过
+        core.getDao().getUpdateBatchList().clear();
+        service.batchUpdate(Collections.singletonList(new Row(1L, "a")));
+        Assert.assertTrue(core.getDao().getUpdateBatchList().isEmpty());
+    }
+
+    @Test
+    public void dirtyCheckReadsPerChunk() {
+        RowCore core = new RowCore();
+        ICommonService<RowFilter, Row, Row> service = () -> core;
+
+        List<Row> entityList = new ArrayList<>();
+        for (long i = 1; i <= MysqlConstant.MAX_UPDATE_NUM + 1; i++) {
+            entityList.add(new Row(i, "a"));
+            core.getDao().put(new Row(i, "b"));
+        }
+
+        // 旧实体按分片读取，不会一次读取（加锁）全部输入
+        Assert.assertEquals(entityList.size(), service.batchUpdate(entityList).getData());
+        List<Integer> readSizeList = core.getDao().getListIdsList().stream().map(ids -> ids.length).collect(Collectors.toList());
+        Assert.assertEquals(Arrays.asList(MysqlConstant.MAX_UPDATE_NUM, 1), readSizeList);
+        Assert.assertEquals(entityList.size(), core.getDao().getUpdateBatchList().stream().mapToInt(List::size).sum());
+    }
+}
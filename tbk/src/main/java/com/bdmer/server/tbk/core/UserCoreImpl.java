@@ -1,10 +1,16 @@
 package com.bdmer.server.tbk.core;
 
 import com.bdmer.framework.base.base.config.ServiceException;
+import com.bdmer.framework.base.common.cache.IdCache;
+import com.bdmer.framework.base.common.cache.QueryResultCache;
+import com.bdmer.framework.base.common.cache.TinyLfuIdCache;
+import com.bdmer.framework.base.common.constant.MysqlConstant;
+import com.bdmer.framework.base.common.enums.BatchUpdateModeEnum;
 import com.bdmer.framework.base.common.enums.CommonResponseCodesEnum;
 import com.bdmer.framework.base.common.util.IdGenUtil;
 import com.bdmer.framework.base.common.util.Util;
 import com.bdmer.framework.base.core.ICommonCore;
+import com.bdmer.framework.base.core.support.SingleFlight;
 import com.bdmer.framework.base.dao.ICommonDao;
 import com.bdmer.server.tbk.dao.UserDao;
 import com.bdmer.server.tbk.dto.UserFilterDTO;
@@ -27,6 +33,23 @@ public class UserCoreImpl implements ICommonCore<UserFilterDTO, UserEntity, User
     @Autowired
     private UserDao userDao;
 
+    /**
+     * 按id缓存用户，几秒后过期，不存在的id短时间内不再查询
+     */
+    private final IdCache<UserEntity> idCache = new TinyLfuIdCache<>(MysqlConstant.ID_CACHE_SIZE,
+            MysqlConstant.ID_CACHE_TTL_MILLIS, MysqlConstant.ID_CACHE_ABSENT_TTL_MILLIS);
+
+    /**
+     * 用户查询结果缓存
+     */
+    private final QueryResultCache queryCache = new QueryResultCache("b_tbk_user",
+            MysqlConstant.QUERY_CACHE_SIZE, MysqlConstant.QUERY_CACHE_TTL_MILLIS);
+
+    /**
+     * 合并相同的用户查询
+     */
+    private final SingleFlight singleFlight = new SingleFlight(MysqlConstant.SINGLE_FLIGHT_TIMEOUT_MILLIS);
+
      /**
       * 获取对应dao
       *
@@ -37,6 +60,66 @@ public class UserCoreImpl implements ICommonCore<UserFilterDTO, UserEntity, User
          return this.userDao;
      }
 
+     /**
+      * 按id缓存实体
+      *
+      * @return 缓存
+      */
+     @Override
+     public IdCache<UserEntity> getIdCache() {
+         return this.idCache;
+     }
+
+     /**
+      * 查询结果缓存
+      *
+      * @return 缓存
+      */
+     @Override
+     public QueryResultCache getQueryCache() {
+         return this.queryCache;
+     }
+
+     /**
+      * 相同查询合并
+      *
+      * @return 相同查询合并
+      */
+     @Override
+     public SingleFlight getSingleFlight() {
+         return this.singleFlight;
+     }
+
+     /**
+      * 批量更新方式 - 窄列使用CASE WHEN，否则JDBC批处理
+      *
+      * @return 批量更新方式
+      */
+     @Override
+     public BatchUpdateModeEnum getBatchUpdateMode() {
+         return BatchUpdateModeEnum.CASE_WHEN;
+     }
+
+     /**
+      * LOAD DATA LOCAL INFILE导入的表名
+      *
+      * @return 表名
+      */
+     @Override
+     public String getBulkLoadTable() {
+         return "b_tbk_user";
+     }
+
+     /**
+      * LOAD DATA LOCAL INFILE导入的字段 - 与batchAdd一致
+      *
+      * @return 实体字段名
+      */
+     @Override
+     public String[] getBulkLoadFields() {
+         return new String[]{"id", "name"};
+     }
+
      /**
       * 检查过滤条件
       *
@@ -64,11 +147,29 @@ public class UserCoreImpl implements ICommonCore<UserFilterDTO, UserEntity, User
             if (Objects.isNull(e.getId())) {
                 e.setId(IdGenUtil.getId());
             }
-
-            // 设置默认值
-            Util.checkProperty(e);
         });
 
+        // 批量设置默认值
+        Util.checkProperty(entityList);
+    }
+
+    /**
+     * 新增或更新操作 - 批量数据校验
+     * 描述：不设置默认值，已存在的行只更新传入的字段
+     *
+     * @param entityList 实体List
+     */
+    @Override
+    public void checkDataForUpsert(List<UserEntity> entityList) {
+        // 先调用（父类）接口的校验
+        ICommonCore.super.checkDataForUpsert(entityList);
+
+        entityList.forEach(e -> {
+            // 添加id
+            if (Objects.isNull(e.getId())) {
+                e.setId(IdGenUtil.getId());
+            }
+        });
     }
 
     /**
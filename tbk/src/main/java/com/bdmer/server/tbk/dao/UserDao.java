@@ -6,6 +6,7 @@ import com.bdmer.server.tbk.dto.UserFilterDTO;
 import com.bdmer.server.tbk.dto.UserResultDTO;
 import com.bdmer.server.tbk.entity.UserEntity;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.util.List;
 import java.util.Map;
@@ -27,6 +28,15 @@ public interface UserDao extends ICommonDao<UserFilterDTO, UserEntity, UserResul
     @Override
     Integer batchAdd(@Param("entityList") List<UserEntity> entityList);
 
+    /**
+     * 批量新增或更新
+     *
+     * @param entityList 实体数组
+     * @return 影响行数
+     */
+    @Override
+    Integer batchUpsert(@Param("entityList") List<UserEntity> entityList);
+
     /**
      * 批量更新
      *
@@ -36,6 +46,24 @@ public interface UserDao extends ICommonDao<UserFilterDTO, UserEntity, UserResul
     @Override
     Integer batchUpdate(@Param("entityList") List<UserEntity> entityList);
 
+    /**
+     * 批量更新 - CASE WHEN单语句
+     *
+     * @param entityList 实体数组
+     * @return 成功数
+     */
+    @Override
+    Integer batchUpdateByCase(@Param("entityList") List<UserEntity> entityList);
+
+    /**
+     * 单条更新
+     *
+     * @param entity 实体
+     * @return 成功数
+     */
+    @Override
+    Integer update(@Param("entity") UserEntity entity);
+
     /**
      * 批量删除
      *
@@ -54,6 +82,15 @@ public interface UserDao extends ICommonDao<UserFilterDTO, UserEntity, UserResul
     @Override
     List<UserEntity> list(@Param("ids") Long[] ids);
 
+    /**
+     * 批量获取并加锁
+     *
+     * @param ids 主键数组
+     * @return 实体数组
+     */
+    @Override
+    List<UserEntity> listForUpdate(@Param("ids") Long[] ids);
+
     /**
      * 批量根据条件获取实体
      *
@@ -63,6 +100,15 @@ public interface UserDao extends ICommonDao<UserFilterDTO, UserEntity, UserResul
     @Override
     List<UserEntity> listByFilter(@Param("filter") UserFilterDTO filter);
 
+    /**
+     * 根据条件流式获取实体
+     *
+     * @param filter  过滤条件
+     * @param handler 行处理
+     */
+    @Override
+    void streamByFilter(@Param("filter") UserFilterDTO filter, ResultHandler<UserEntity> handler);
+
     /**
      * 批量根据条件获取实体
      *
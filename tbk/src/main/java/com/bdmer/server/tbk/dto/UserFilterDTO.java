@@ -1,5 +1,6 @@
 package com.bdmer.server.tbk.dto;
 
+import com.bdmer.framework.base.dto.PageCursor;
 import com.bdmer.server.tbk.entity.UserEntity;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -48,6 +49,14 @@ public class UserFilterDTO extends UserEntity {
      * 标识s
      */
     private Long[] ids;
+    /**
+     * 游标分页的游标，不为null时使用游标分页（第一页传空字符串），忽略pageIndex
+     */
+    private String cursor;
+    /**
+     * 解码后的游标
+     */
+    private transient PageCursor pageCursor;
 
     // 扩展查询字段
     /**
@@ -61,7 +70,7 @@ public class UserFilterDTO extends UserEntity {
 
 
     /**
-     * 获取offset
+     * 获取offset - 按pageIndex、pageSize计算，不修改字段（Util中的方法也会调用getter）
      *
      * @return offest
      */
@@ -69,11 +78,57 @@ public class UserFilterDTO extends UserEntity {
         if (Objects.isNull(this.pageSize)) {
             return 0;
         }
-        if (Objects.isNull(this.pageIndex)) {
-            this.pageIndex = 0;
-        }
 
-        this.offset = this.pageIndex * this.pageSize;
-        return this.offset;
+        return Objects.isNull(this.pageIndex) ? 0 : this.pageIndex * this.pageSize;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+        this.pageCursor = PageCursor.decode(cursor);
+    }
+
+    /**
+     * 游标分页 - 上一页最后一行的排序字段值
+     *
+     * @return 排序字段值，第一页为null
+     */
+    public Object getCursorValue() {
+        return Objects.isNull(this.pageCursor) ? null : this.pageCursor.getSortValue();
+    }
+
+    /**
+     * 游标分页 - 上一页最后一行的id
+     *
+     * @return id，第一页为null
+     */
+    public Long getCursorId() {
+        return Objects.isNull(this.pageCursor) ? null : this.pageCursor.getId();
+    }
+
+    /**
+     * 游标分页 - 排序字段，取sortFields的第一个
+     *
+     * @return 排序字段
+     */
+    public String getCursorSortField() {
+        return Objects.isNull(this.sortFields) || this.sortFields.length == 0 ? null : this.sortFields[0];
+    }
+
+    /**
+     * 游标分页 - 是否降序
+     *
+     * @return 是否降序
+     */
+    public boolean isCursorDesc() {
+        return "DESC".equalsIgnoreCase(this.sortOrder);
+    }
+
+    /**
+     * 游标分页 - 查询行数，多查一行用于判断是否还有下一页
+     *
+     * @return 查询行数
+     */
+    public int getCursorLimit() {
+        return (Objects.isNull(this.pageSize) ? 50 : this.pageSize) + 1;
     }
-}
\ No newline at end of file
+}
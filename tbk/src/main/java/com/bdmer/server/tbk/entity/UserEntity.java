@@ -1,6 +1,7 @@
 package com.bdmer.server.tbk.entity;
 
 import com.bdmer.framework.base.common.annotation.EntityFieldInfo;
+import com.bdmer.framework.base.common.annotation.GenerateEntityMeta;
 import lombok.Data;
 
 import java.util.Date;
@@ -13,6 +14,7 @@ import java.util.Date;
  * @since  2020年06月01日
  */
 @Data
+@GenerateEntityMeta
 public class UserEntity {
     /**
      * 标识